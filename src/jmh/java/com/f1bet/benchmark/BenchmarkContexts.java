@@ -0,0 +1,51 @@
+package com.f1bet.benchmark;
+
+import com.f1bet.Main;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Boots the application on its own in-memory H2 database so a benchmark can drive the real
+ * services and repositories, without the web layer unless it goes through HTTP.
+ */
+final class BenchmarkContexts {
+
+    private BenchmarkContexts() {
+    }
+
+    static ConfigurableApplicationContext start(String databaseName, String... extraProperties) {
+        return start(WebApplicationType.NONE, databaseName, extraProperties);
+    }
+
+    /**
+     * Same as {@link #start}, with Tomcat listening on a free port, read back from the
+     * {@code local.server.port} property.
+     */
+    static ConfigurableApplicationContext startWeb(String databaseName, String... extraProperties) {
+        List<String> properties = new ArrayList<>(List.of(extraProperties));
+        properties.add("server.port=0");
+        return start(WebApplicationType.SERVLET, databaseName, properties.toArray(String[]::new));
+    }
+
+    private static ConfigurableApplicationContext start(WebApplicationType webApplicationType, String databaseName,
+                                                        String... extraProperties) {
+        List<String> args = new ArrayList<>(List.of(
+                "--spring.datasource.url=jdbc:h2:mem:" + databaseName + ";DB_CLOSE_DELAY=-1",
+                "--spring.jpa.show-sql=false",
+                "--spring.h2.console.enabled=false",
+                "--logging.level.root=WARN",
+                "--f1bet.catalog.enabled=false"
+        ));
+        for (String property : extraProperties) {
+            args.add("--" + property);
+        }
+        // Passed as command line arguments so they take precedence over application.yml.
+        return new SpringApplicationBuilder(Main.class)
+                .web(webApplicationType)
+                .run(args.toArray(String[]::new));
+    }
+}
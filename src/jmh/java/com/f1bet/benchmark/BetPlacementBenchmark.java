@@ -0,0 +1,121 @@
+package com.f1bet.benchmark;
+
+import com.f1bet.controller.request.PlaceBetRequest;
+import com.f1bet.controller.response.PlaceBetResponse;
+import com.f1bet.mapper.BetMapper;
+import com.f1bet.model.BetStatus;
+import com.f1bet.repository.BetRepository;
+import com.f1bet.repository.UserRepository;
+import com.f1bet.service.BetService;
+import com.f1bet.service.DriverEligibilityIndex;
+import com.f1bet.service.DriverEligibilityProperties;
+import com.f1bet.service.ExposureTracker;
+import com.f1bet.service.MarketEngine;
+import com.f1bet.service.Wallet;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManager;
+import jakarta.validation.Validator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Places single bets through {@link BetService#placeBet} on H2 with {@code existingBets} bets
+ * already stored, each in its own transaction: eligibility check, pricing, debit and insert.
+ * Bets go to a random user of 1000 on a random driver of one of 20 sessions; OpenF1 is replaced
+ * by {@link InMemoryF1APIClient} so the eligibility index and markets are warm after the first calls.
+ * The long warmup is what the JIT needs to settle on this call path; shorter runs report a fraction
+ * of the steady-state throughput.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 8, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class BetPlacementBenchmark {
+
+    private static final int USERS = 1_000;
+    private static final int SESSIONS = 20;
+    private static final BigDecimal STAKE = new BigDecimal("1.00");
+
+    @Param({"0", "100000"})
+    public int existingBets;
+
+    private ConfigurableApplicationContext context;
+    private BetService betService;
+
+    @Setup(Level.Trial)
+    public void startContext() {
+        context = BenchmarkContexts.start("placement");
+        seed(context.getBean(JdbcTemplate.class));
+
+        DriverEligibilityIndex eligibilityIndex = new DriverEligibilityIndex(new InMemoryF1APIClient(SESSIONS),
+                new DriverEligibilityProperties(Duration.ofMinutes(5), SESSIONS));
+        betService = new BetService(context.getBean(BetRepository.class), context.getBean(UserRepository.class),
+                context.getBean(Wallet.class), eligibilityIndex, context.getBean(MarketEngine.class),
+                context.getBean(BetMapper.class), context.getBean(EntityManager.class), context.getBean(Validator.class),
+                context.getBean(ExposureTracker.class), context.getBean(PlatformTransactionManager.class),
+                context.getBean(MeterRegistry.class));
+    }
+
+    private void seed(JdbcTemplate jdbcTemplate) {
+        List<Object[]> users = new ArrayList<>(USERS);
+        for (long id = 1_000; id < 1_000 + USERS; id++) {
+            users.add(new Object[]{id, BigDecimal.valueOf(1_000_000_000)});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO users (id, balance) VALUES (?, ?)", users);
+
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        List<Object[]> bets = new ArrayList<>(existingBets);
+        for (int i = 0; i < existingBets; i++) {
+            bets.add(new Object[]{
+                    i + 1L,
+                    1_000L + random.nextInt(USERS),
+                    String.valueOf(1 + random.nextInt(SESSIONS)),
+                    1 + random.nextInt(InMemoryF1APIClient.GRID_SIZE),
+                    STAKE,
+                    2,
+                    BetStatus.PENDING.name()
+            });
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO bets (id, user_id, event_id, driver_id, amount, odds, status) VALUES (?, ?, ?, ?, ?, ?, ?)", bets);
+        jdbcTemplate.execute("ALTER SEQUENCE bets_seq RESTART WITH " + (existingBets + 1_000));
+    }
+
+    @TearDown(Level.Trial)
+    public void stopContext() {
+        context.close();
+    }
+
+    @Benchmark
+    public PlaceBetResponse placeBet() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        PlaceBetRequest request = new PlaceBetRequest(
+                1_000L + random.nextInt(USERS),
+                String.valueOf(1 + random.nextInt(SESSIONS)),
+                1 + random.nextInt(InMemoryF1APIClient.GRID_SIZE),
+                STAKE);
+        return betService.placeBet(request);
+    }
+}
@@ -0,0 +1,79 @@
+package com.f1bet.benchmark;
+
+import com.f1bet.controller.response.EventResponse;
+import com.f1bet.mapper.EventMapper;
+import com.f1bet.service.DriverMarketLoader;
+import com.f1bet.service.DriverMarketProperties;
+import com.f1bet.service.EventService;
+import com.f1bet.service.MarketEngine;
+import com.f1bet.service.SessionCatalogService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Lists the first and the last page of {@code sessionCount} sessions through
+ * {@link EventService#getEvents} with the session catalog disabled, so every call pages the
+ * OpenF1 session list, fills in driver markets and prices them. OpenF1 is replaced by
+ * {@link InMemoryF1APIClient}; markets are priced by the real engine on H2, which only writes
+ * the first version of each session and serves it from memory afterwards.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class EventServiceBenchmark {
+
+    private static final int PAGE_SIZE = 20;
+
+    @Param({"100", "1000", "10000"})
+    public int sessionCount;
+
+    private ConfigurableApplicationContext context;
+    private DriverMarketLoader driverMarketLoader;
+    private EventService eventService;
+    private int lastPage;
+
+    @Setup(Level.Trial)
+    public void startContext() {
+        context = BenchmarkContexts.start("events");
+        InMemoryF1APIClient f1APIClient = new InMemoryF1APIClient(sessionCount);
+        driverMarketLoader = new DriverMarketLoader(f1APIClient, new DriverMarketProperties(3, Duration.ofSeconds(3)));
+        eventService = new EventService(f1APIClient, context.getBean(EventMapper.class), driverMarketLoader,
+                context.getBean(SessionCatalogService.class), context.getBean(MarketEngine.class));
+        lastPage = (sessionCount - 1) / PAGE_SIZE;
+    }
+
+    @TearDown(Level.Trial)
+    public void stopContext() {
+        driverMarketLoader.shutdown();
+        context.close();
+    }
+
+    @Benchmark
+    public List<EventResponse> firstPage() {
+        return eventService.getEvents(null, null, null, 0, PAGE_SIZE);
+    }
+
+    @Benchmark
+    public List<EventResponse> lastPage() {
+        return eventService.getEvents(null, null, null, lastPage, PAGE_SIZE);
+    }
+}
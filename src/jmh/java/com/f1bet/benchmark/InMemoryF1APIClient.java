@@ -0,0 +1,69 @@
+package com.f1bet.benchmark;
+
+import com.f1bet.integration.F1APIClient;
+import com.f1bet.integration.OpenF1SessionResult;
+import com.f1bet.model.Driver;
+import com.f1bet.model.Event;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * {@link F1APIClient} answering from memory so a benchmark measures the services rather than
+ * OpenF1: {@code sessionCount} race sessions keyed from 1, each with the same grid of drivers
+ * numbered from 1.
+ */
+final class InMemoryF1APIClient implements F1APIClient {
+
+    static final int GRID_SIZE = 20;
+
+    private final List<Event> sessions;
+    private final List<Driver> grid;
+    private final List<Integer> driverNumbers;
+
+    InMemoryF1APIClient(int sessionCount) {
+        this.grid = driverGrid();
+        this.driverNumbers = grid.stream().map(Driver::getDriverNumber).toList();
+        List<Event> events = new ArrayList<>(sessionCount);
+        for (int key = 1; key <= sessionCount; key++) {
+            events.add(session(key));
+        }
+        this.sessions = List.copyOf(events);
+    }
+
+    @Override
+    public List<Event> getSessions(String sessionType, Integer year, String country) {
+        return sessions;
+    }
+
+    @Override
+    public List<Driver> getDriversForSession(Integer sessionKey) {
+        return grid;
+    }
+
+    @Override
+    public List<OpenF1SessionResult> getSessionResults(Integer sessionKey) {
+        return driverNumbers.stream().map(number -> new OpenF1SessionResult(sessionKey, number, null)).toList();
+    }
+
+    static Event session(int sessionKey) {
+        Event event = new Event();
+        event.setSessionKey(sessionKey);
+        event.setSessionName("Race");
+        event.setSessionType("Race");
+        event.setYear(2023);
+        event.setCountry("Italy");
+        return event;
+    }
+
+    static List<Driver> driverGrid() {
+        List<Driver> drivers = new ArrayList<>(GRID_SIZE);
+        for (int number = 1; number <= GRID_SIZE; number++) {
+            Driver driver = new Driver();
+            driver.setFullName("Driver " + number);
+            driver.setDriverNumber(number);
+            drivers.add(driver);
+        }
+        return List.copyOf(drivers);
+    }
+}
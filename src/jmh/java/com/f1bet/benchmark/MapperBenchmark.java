@@ -0,0 +1,79 @@
+package com.f1bet.benchmark;
+
+import com.f1bet.controller.response.EventResponse;
+import com.f1bet.controller.response.PlaceBetResponse;
+import com.f1bet.mapper.BetMapper;
+import com.f1bet.mapper.EventMapper;
+import com.f1bet.model.Bet;
+import com.f1bet.model.BetStatus;
+import com.f1bet.model.Driver;
+import com.f1bet.model.Event;
+import com.f1bet.model.Market;
+import com.f1bet.model.Money;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Maps one event with a full driver grid, priced and unpriced, and one settled bet to their
+ * API responses.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MapperBenchmark {
+
+    private final EventMapper eventMapper = new EventMapper();
+    private final BetMapper betMapper = new BetMapper();
+
+    private Event event;
+    private Market market;
+    private Bet bet;
+
+    @Setup
+    public void setup() {
+        event = InMemoryF1APIClient.session(9158);
+        event.setDriverMarket(InMemoryF1APIClient.driverGrid());
+
+        Map<Integer, Integer> odds = new HashMap<>();
+        for (Driver driver : event.getDriverMarket()) {
+            odds.put(driver.getDriverNumber(), 2 + driver.getDriverNumber() % 3);
+        }
+        market = new Market(9158, 1, odds);
+
+        bet = new Bet(1L, "9158", 44, Money.ofCents(1_050), 3, BetStatus.WON.name());
+        bet.setId(1L);
+        bet.setTotalAwarded(Money.ofCents(3_150));
+        bet.setMarketVersion(1);
+        bet.setReference("5f0c6b1e-3b7a-4f6e-9a51-0d2c9b8f7e10");
+    }
+
+    @Benchmark
+    public EventResponse eventWithMarket() {
+        return eventMapper.toResponse(event, market);
+    }
+
+    @Benchmark
+    public EventResponse eventWithoutMarket() {
+        return eventMapper.toResponse(event);
+    }
+
+    @Benchmark
+    public PlaceBetResponse bet() {
+        return betMapper.toResponse(bet);
+    }
+}
@@ -0,0 +1,107 @@
+package com.f1bet.benchmark;
+
+import com.f1bet.model.Money;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Money arithmetic on the betting hot path, {@link BigDecimal} against {@link Money}.
+ * Placement converts each incoming stake at the REST edge, checks it against the balance,
+ * and debits it. Settlement prices a chunk of winning bets and sums the payouts per user,
+ * as the chunked settlement mode does.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MoneyBenchmark {
+
+    private static final int USERS = 200;
+
+    @Param({"1000"})
+    public int chunkSize;
+
+    private BigDecimal[] requestAmounts;
+    private BigDecimal[] decimalStakes;
+    private Money[] moneyStakes;
+    private int[] odds;
+    private long[] userIds;
+
+    @Setup
+    public void setup() {
+        SplittableRandom random = new SplittableRandom(42);
+        requestAmounts = new BigDecimal[chunkSize];
+        decimalStakes = new BigDecimal[chunkSize];
+        moneyStakes = new Money[chunkSize];
+        odds = new int[chunkSize];
+        userIds = new long[chunkSize];
+        for (int i = 0; i < chunkSize; i++) {
+            long cents = 100 + random.nextInt(10_000);
+            requestAmounts[i] = new BigDecimal(BigDecimal.valueOf(cents, 2).toPlainString());
+            decimalStakes[i] = BigDecimal.valueOf(cents, 2);
+            moneyStakes[i] = Money.ofCents(cents);
+            odds[i] = 2 + random.nextInt(3);
+            userIds[i] = random.nextInt(USERS);
+        }
+    }
+
+    @Benchmark
+    public BigDecimal placementBigDecimal() {
+        BigDecimal balance = BigDecimal.valueOf(1_000_000_00L, 2);
+        for (BigDecimal amount : requestAmounts) {
+            if (balance.compareTo(amount) >= 0) {
+                balance = balance.subtract(amount);
+            }
+        }
+        return balance;
+    }
+
+    @Benchmark
+    public Money placementMoney() {
+        Money balance = Money.ofCents(1_000_000_00L);
+        for (BigDecimal amount : requestAmounts) {
+            Money stake = Money.of(amount);
+            if (balance.isAtLeast(stake)) {
+                balance = balance.minus(stake);
+            }
+        }
+        return balance;
+    }
+
+    @Benchmark
+    public Map<Long, BigDecimal> settlementBigDecimal() {
+        Map<Long, BigDecimal> payouts = new LinkedHashMap<>();
+        for (int i = 0; i < chunkSize; i++) {
+            BigDecimal prize = decimalStakes[i].multiply(BigDecimal.valueOf(odds[i]));
+            payouts.merge(userIds[i], prize, BigDecimal::add);
+        }
+        return payouts;
+    }
+
+    @Benchmark
+    public Map<Long, Money> settlementMoney() {
+        Map<Long, Money> payouts = new LinkedHashMap<>();
+        for (int i = 0; i < chunkSize; i++) {
+            Money prize = moneyStakes[i].times(odds[i]);
+            payouts.merge(userIds[i], prize, Money::plus);
+        }
+        return payouts;
+    }
+}
@@ -0,0 +1,110 @@
+package com.f1bet.benchmark;
+
+import com.f1bet.integration.OpenF1ClientImpl;
+import com.f1bet.integration.OpenF1ClientProperties;
+import com.f1bet.integration.OpenF1ClientType;
+import com.f1bet.integration.OpenF1HttpClientImpl;
+import com.f1bet.integration.OpenF1SnapshotProperties;
+import com.f1bet.integration.TokenBucketRateLimiter;
+import com.f1bet.model.Driver;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Fetches the driver markets of a page of {@code pageSize} sessions from a local OpenF1 stub,
+ * comparing the {@code RestTemplate} transport (one blocking call per virtual thread) with the
+ * {@code HttpClient} transport (blocking, and through its async variant). Every call uses a
+ * fresh session key so request coalescing never kicks in.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class OpenF1ClientBenchmark {
+
+    @Param({"0", "20"})
+    public int latencyMillis;
+
+    @Param({"20"})
+    public int pageSize;
+
+    private OpenF1StubServer server;
+    private OpenF1ClientImpl restTemplateClient;
+    private OpenF1HttpClientImpl httpClient;
+    private ExecutorService executor;
+    private final AtomicInteger sessionKeys = new AtomicInteger();
+
+    @Setup(Level.Trial)
+    public void setup() {
+        server = new OpenF1StubServer(Duration.ofMillis(latencyMillis));
+        TokenBucketRateLimiter unlimited = new TokenBucketRateLimiter(1_000_000, 1_000_000, Duration.ofSeconds(1), false);
+        OpenF1ClientProperties restTemplateProperties = new OpenF1ClientProperties(server.baseUrl(),
+                OpenF1ClientType.REST_TEMPLATE, Duration.ofSeconds(5), Duration.ofSeconds(10));
+        OpenF1ClientProperties httpClientProperties = new OpenF1ClientProperties(server.baseUrl(),
+                OpenF1ClientType.HTTP_CLIENT, Duration.ofSeconds(5), Duration.ofSeconds(10));
+        restTemplateClient = new OpenF1ClientImpl(unlimited, restTemplateProperties, new SimpleMeterRegistry(),
+                new OpenF1SnapshotProperties(null, false));
+        httpClient = new OpenF1HttpClientImpl(unlimited, httpClientProperties, new ObjectMapper(), new SimpleMeterRegistry());
+        executor = Executors.newVirtualThreadPerTaskExecutor();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        executor.shutdownNow();
+        httpClient.shutdown();
+        server.close();
+    }
+
+    @Benchmark
+    public List<Driver> restTemplateSingle() {
+        return restTemplateClient.getDriversForSession(sessionKeys.incrementAndGet());
+    }
+
+    @Benchmark
+    public List<Driver> httpClientSingle() {
+        return httpClient.getDriversForSession(sessionKeys.incrementAndGet());
+    }
+
+    @Benchmark
+    public List<List<Driver>> restTemplatePage() {
+        List<CompletableFuture<List<Driver>>> page = new ArrayList<>(pageSize);
+        for (int i = 0; i < pageSize; i++) {
+            int sessionKey = sessionKeys.incrementAndGet();
+            page.add(CompletableFuture.supplyAsync(() -> restTemplateClient.getDriversForSession(sessionKey), executor));
+        }
+        return page.stream().map(CompletableFuture::join).toList();
+    }
+
+    @Benchmark
+    public List<List<Driver>> httpClientAsyncPage() {
+        List<CompletableFuture<List<Driver>>> page = new ArrayList<>(pageSize);
+        for (int i = 0; i < pageSize; i++) {
+            page.add(httpClient.getDriversForSessionAsync(sessionKeys.incrementAndGet()));
+        }
+        return page.stream().map(CompletableFuture::join).toList();
+    }
+}
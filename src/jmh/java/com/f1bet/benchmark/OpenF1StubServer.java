@@ -0,0 +1,127 @@
+package com.f1bet.benchmark;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Local stand-in for the OpenF1 {@code /drivers} endpoint, and {@code /sessions} when built
+ * with a session count: answers every request with the same driver grid, or the same list of
+ * race sessions, after a fixed latency, gzip-compressed when the client asks for it.
+ */
+final class OpenF1StubServer implements AutoCloseable {
+
+    static {
+        // Without TCP_NODELAY the JDK server's separate header and body writes hit delayed ACKs
+        // and every response gains ~40 ms, which would swamp what the clients are compared on.
+        System.setProperty("sun.net.httpserver.nodelay", "true");
+    }
+
+    private final HttpServer server;
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    private final Duration latency;
+
+    OpenF1StubServer(Duration latency) {
+        this(latency, 0);
+    }
+
+    OpenF1StubServer(Duration latency, int sessionCount) {
+        this.latency = latency;
+        try {
+            this.server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 1024);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        server.createContext("/v1/drivers", handler(driverGrid(20)));
+        if (sessionCount > 0) {
+            server.createContext("/v1/sessions", handler(raceSessions(sessionCount)));
+        }
+        server.setExecutor(executor);
+        server.start();
+    }
+
+    String baseUrl() {
+        return "http://127.0.0.1:" + server.getAddress().getPort() + "/v1";
+    }
+
+    private HttpHandler handler(String json) {
+        byte[] plain = json.getBytes(StandardCharsets.UTF_8);
+        byte[] gzipped = gzip(plain);
+        return exchange -> handle(exchange, plain, gzipped);
+    }
+
+    private void handle(HttpExchange exchange, byte[] plain, byte[] gzipped) throws IOException {
+        try {
+            Thread.sleep(latency);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        String acceptEncoding = exchange.getRequestHeaders().getFirst("Accept-Encoding");
+        byte[] body = plain;
+        if (acceptEncoding != null && acceptEncoding.contains("gzip")) {
+            body = gzipped;
+            exchange.getResponseHeaders().set("Content-Encoding", "gzip");
+        }
+        exchange.getResponseHeaders().set("Content-Type", "application/json");
+        exchange.sendResponseHeaders(200, body.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(body);
+        }
+    }
+
+    private static String driverGrid(int size) {
+        StringBuilder json = new StringBuilder("[");
+        for (int i = 1; i <= size; i++) {
+            if (i > 1) {
+                json.append(',');
+            }
+            json.append("{\"full_name\":\"Driver ").append(i)
+                    .append("\",\"driver_number\":").append(i)
+                    .append(",\"team_name\":\"Team ").append((i + 1) / 2)
+                    .append("\",\"country_code\":\"GBR\",\"headshot_url\":\"https://example.org/headshots/")
+                    .append(i).append(".png\"}");
+        }
+        return json.append(']').toString();
+    }
+
+    private static String raceSessions(int count) {
+        StringBuilder json = new StringBuilder("[");
+        for (int i = 0; i < count; i++) {
+            if (i > 0) {
+                json.append(',');
+            }
+            json.append("{\"session_key\":").append(10_000 + i)
+                    .append(",\"session_name\":\"Race\",\"session_type\":\"Race\",\"year\":2023")
+                    .append(",\"country_name\":\"Country ").append(i)
+                    .append("\",\"date_end\":\"2023-03-05T17:00:00+00:00\"}");
+        }
+        return json.append(']').toString();
+    }
+
+    private static byte[] gzip(byte[] payload) {
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+        try (GZIPOutputStream out = new GZIPOutputStream(compressed)) {
+            out.write(payload);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return compressed.toByteArray();
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+}
@@ -0,0 +1,143 @@
+package com.f1bet.benchmark;
+
+import com.f1bet.controller.request.ProcessEventOutcomeRequest;
+import com.f1bet.model.Bet;
+import com.f1bet.model.BetStatus;
+import com.f1bet.model.Money;
+import com.f1bet.model.User;
+import com.f1bet.repository.BetRepository;
+import com.f1bet.repository.UserRepository;
+import com.f1bet.service.EventOutcomeService;
+import com.f1bet.service.ExposureTracker;
+import com.f1bet.service.SettlementMode;
+import com.f1bet.service.SettlementProperties;
+import com.f1bet.service.Wallet;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManager;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Settles one event holding {@code betCount} pending bets, comparing the set-based and
+ * chunked modes of {@link EventOutcomeService} against the previous load-and-save-per-row approach.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(1)
+public class SettlementBenchmark {
+
+    private static final String EVENT_ID = "9158";
+    private static final int WINNING_DRIVER = 1;
+    private static final int USERS = 5_000;
+
+    @Param({"1000", "10000", "100000"})
+    public int betCount;
+
+    private ConfigurableApplicationContext context;
+    private JdbcTemplate jdbcTemplate;
+    private TransactionTemplate transactionTemplate;
+    private EventOutcomeService eventOutcomeService;
+    private EventOutcomeService chunkedOutcomeService;
+    private BetRepository betRepository;
+    private UserRepository userRepository;
+
+    @Setup(Level.Trial)
+    public void startContext() {
+        context = BenchmarkContexts.start("settlement");
+        jdbcTemplate = context.getBean(JdbcTemplate.class);
+        transactionTemplate = context.getBean(TransactionTemplate.class);
+        eventOutcomeService = context.getBean(EventOutcomeService.class);
+        betRepository = context.getBean(BetRepository.class);
+        userRepository = context.getBean(UserRepository.class);
+        chunkedOutcomeService = new EventOutcomeService(betRepository, context.getBean(Wallet.class),
+                context.getBean(EntityManager.class), new SettlementProperties(SettlementMode.CHUNKED, 1_000),
+                context.getBean(ExposureTracker.class), context.getBean(MeterRegistry.class));
+    }
+
+    @Setup(Level.Invocation)
+    public void seedPendingBets() {
+        jdbcTemplate.update("DELETE FROM bets");
+        jdbcTemplate.update("DELETE FROM wallet_ledger");
+        jdbcTemplate.update("DELETE FROM users WHERE id > 5");
+        List<Object[]> users = new ArrayList<>(USERS);
+        for (long id = 1_000; id < 1_000 + USERS; id++) {
+            users.add(new Object[]{id, BigDecimal.valueOf(1_000)});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO users (id, balance) VALUES (?, ?)", users);
+
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        List<Object[]> bets = new ArrayList<>(betCount);
+        for (int i = 0; i < betCount; i++) {
+            bets.add(new Object[]{
+                    i + 1L,
+                    1_000L + random.nextInt(USERS),
+                    EVENT_ID,
+                    1 + random.nextInt(20),
+                    BigDecimal.valueOf(1 + random.nextInt(50)),
+                    2 + random.nextInt(3),
+                    BetStatus.PENDING.name()
+            });
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO bets (id, user_id, event_id, driver_id, amount, odds, status) VALUES (?, ?, ?, ?, ?, ?, ?)", bets);
+    }
+
+    @TearDown(Level.Trial)
+    public void stopContext() {
+        context.close();
+    }
+
+    @Benchmark
+    public void setBased() {
+        eventOutcomeService.processEventOutcome(new ProcessEventOutcomeRequest(EVENT_ID, WINNING_DRIVER));
+    }
+
+    @Benchmark
+    public void chunked() {
+        transactionTemplate.executeWithoutResult(status ->
+                chunkedOutcomeService.processEventOutcome(new ProcessEventOutcomeRequest(EVENT_ID, WINNING_DRIVER)));
+    }
+
+    @Benchmark
+    public void perRow() {
+        transactionTemplate.executeWithoutResult(status -> {
+            List<Bet> bets = betRepository.findByEventIdAndStatus(EVENT_ID, BetStatus.PENDING.name());
+            for (Bet bet : bets) {
+                if (bet.getDriverId() != null && bet.getDriverId().equals(WINNING_DRIVER)) {
+                    bet.setStatus(BetStatus.WON.name());
+                    Money prize = bet.getAmount().times(bet.getOdds());
+                    bet.setTotalAwarded(prize);
+                    User user = userRepository.findById(bet.getUserId()).orElseThrow();
+                    user.setBalance(user.getBalance().plus(prize));
+                    userRepository.save(user);
+                } else {
+                    bet.setStatus(BetStatus.LOST.name());
+                    bet.setTotalAwarded(Money.ZERO);
+                }
+                betRepository.save(bet);
+            }
+        });
+    }
+}
@@ -0,0 +1,98 @@
+package com.f1bet.benchmark;
+
+import com.f1bet.integration.OpenF1ClientImpl;
+import com.f1bet.integration.OpenF1ClientProperties;
+import com.f1bet.integration.OpenF1ClientType;
+import com.f1bet.integration.OpenF1SnapshotProperties;
+import com.f1bet.integration.ReplayF1APIClient;
+import com.f1bet.integration.TokenBucketRateLimiter;
+import com.f1bet.model.Driver;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Looks up the driver grid of a random session among {@code sessionCount}, once from a
+ * snapshot recorded by {@link OpenF1ClientImpl} and replayed through {@link ReplayF1APIClient},
+ * and once over HTTP from the local OpenF1 stub the snapshot was recorded from.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SnapshotReplayBenchmark {
+
+    @Param({"1000"})
+    public int sessionCount;
+
+    private OpenF1StubServer server;
+    private Path directory;
+    private OpenF1ClientImpl httpClient;
+    private ReplayF1APIClient replayClient;
+
+    @Setup(Level.Trial)
+    public void record() throws IOException {
+        server = new OpenF1StubServer(Duration.ZERO);
+        directory = Files.createTempDirectory("openf1-snapshot");
+        TokenBucketRateLimiter unlimited = new TokenBucketRateLimiter(1_000_000, 1_000_000, Duration.ofSeconds(1), false);
+        OpenF1ClientProperties properties = new OpenF1ClientProperties(server.baseUrl(),
+                OpenF1ClientType.REST_TEMPLATE, Duration.ofSeconds(5), Duration.ofSeconds(10));
+
+        OpenF1ClientImpl recording = new OpenF1ClientImpl(unlimited, properties, new SimpleMeterRegistry(),
+                new OpenF1SnapshotProperties(directory, true));
+        for (int sessionKey = 1; sessionKey <= sessionCount; sessionKey++) {
+            recording.getDriversForSession(sessionKey);
+        }
+
+        httpClient = new OpenF1ClientImpl(unlimited, properties, new SimpleMeterRegistry(),
+                new OpenF1SnapshotProperties(directory, false));
+        replayClient = new ReplayF1APIClient(new OpenF1SnapshotProperties(directory, false));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        server.close();
+        try (Stream<Path> files = Files.walk(directory)) {
+            for (Path file : files.sorted(Comparator.reverseOrder()).toList()) {
+                Files.delete(file);
+            }
+        }
+    }
+
+    @Benchmark
+    public List<Driver> replay() {
+        return replayClient.getDriversForSession(randomSessionKey());
+    }
+
+    @Benchmark
+    public List<Driver> http() {
+        return httpClient.getDriversForSession(randomSessionKey());
+    }
+
+    private int randomSessionKey() {
+        return 1 + ThreadLocalRandom.current().nextInt(sessionCount);
+    }
+}
@@ -0,0 +1,116 @@
+package com.f1bet.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Sends bursts of {@code concurrentRequests} simultaneous {@code GET /events} requests to the
+ * running application, with Tomcat, the scheduler and the driver market fan-out on platform or
+ * on virtual threads. OpenF1 is an {@link OpenF1StubServer} answering after
+ * {@code openF1LatencyMillis}; the catalog and every cache are off, so each request waits on one
+ * session lookup and then one driver lookup. Every request asks for a different year, which the
+ * stub ignores, so session lookups are not coalesced into one call, and pages hold a single
+ * event to keep the work per request small next to the OpenF1 latency. Bursts are larger than
+ * Tomcat's default 200 request threads, which is where the platform mode starts queueing.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class ThreadingModeBenchmark {
+
+    private static final int SESSION_COUNT = 20;
+    private static final int PAGE_SIZE = 1;
+
+    @Param({"false", "true"})
+    public boolean virtualThreads;
+
+    @Param({"200", "1000"})
+    public int openF1LatencyMillis;
+
+    @Param({"400", "800"})
+    public int concurrentRequests;
+
+    private OpenF1StubServer openF1;
+    private ConfigurableApplicationContext context;
+    private HttpClient client;
+    private List<HttpRequest> requests;
+
+    @Setup(Level.Trial)
+    public void startApplication() {
+        openF1 = new OpenF1StubServer(Duration.ofMillis(openF1LatencyMillis), SESSION_COUNT);
+        context = BenchmarkContexts.startWeb("threading",
+                "spring.threads.virtual.enabled=" + virtualThreads,
+                "f1bet.openf1.base-url=" + openF1.baseUrl(),
+                "f1bet.openf1.rate-limit.permits-per-second=1000000",
+                "f1bet.openf1.rate-limit.burst=1000000",
+                "f1bet.openf1.cache.sessions.live-ttl=0s",
+                "f1bet.openf1.cache.sessions.finished-ttl=0s",
+                "f1bet.openf1.cache.drivers.live-ttl=0s",
+                "f1bet.openf1.cache.drivers.finished-ttl=0s",
+                "f1bet.events.listing-cache.ttl=0s",
+                "f1bet.events.driver-market.max-concurrency=256",
+                "f1bet.events.driver-market.deadline=30s");
+        client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .executor(Executors.newVirtualThreadPerTaskExecutor())
+                .build();
+        String baseUri = "http://127.0.0.1:" + context.getEnvironment().getProperty("local.server.port");
+        int pages = SESSION_COUNT / PAGE_SIZE;
+        requests = new ArrayList<>(concurrentRequests);
+        for (int i = 0; i < concurrentRequests; i++) {
+            requests.add(HttpRequest.newBuilder(URI.create(baseUri + "/events?year=" + (1000 + i)
+                            + "&page=" + i % pages + "&size=" + PAGE_SIZE))
+                    .timeout(Duration.ofSeconds(30))
+                    .build());
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void stopApplication() {
+        client.close();
+        context.close();
+        openF1.close();
+    }
+
+    @Benchmark
+    public int burst() {
+        List<CompletableFuture<HttpResponse<Void>>> responses = requests.stream()
+                .map(request -> client.sendAsync(request, HttpResponse.BodyHandlers.discarding()))
+                .toList();
+        int ok = 0;
+        for (CompletableFuture<HttpResponse<Void>> response : responses) {
+            int status = response.join().statusCode();
+            if (status != 200) {
+                throw new IllegalStateException("GET /events answered " + status);
+            }
+            ok++;
+        }
+        return ok;
+    }
+}
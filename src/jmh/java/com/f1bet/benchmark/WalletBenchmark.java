@@ -0,0 +1,78 @@
+package com.f1bet.benchmark;
+
+import com.f1bet.model.Money;
+import com.f1bet.service.Wallet;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Eight threads placing bets for the same user: each transaction debits the stake and
+ * inserts the bet, as {@code BetService.placeBet} does. Compares updating the user row in
+ * place with appending to the wallet ledger.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Threads(8)
+@Fork(1)
+public class WalletBenchmark {
+
+    private static final long HOT_USER = 1_000L;
+    private static final Money STAKE = Money.ofCents(1);
+
+    @Param({"direct", "ledger"})
+    public String mode;
+
+    private ConfigurableApplicationContext context;
+    private JdbcTemplate jdbcTemplate;
+    private TransactionTemplate transactionTemplate;
+    private Wallet wallet;
+    private final AtomicLong nextBetId = new AtomicLong();
+
+    @Setup(Level.Trial)
+    public void startContext() {
+        context = BenchmarkContexts.start("wallet-" + mode, "f1bet.wallet.mode=" + mode);
+        jdbcTemplate = context.getBean(JdbcTemplate.class);
+        transactionTemplate = context.getBean(TransactionTemplate.class);
+        wallet = context.getBean(Wallet.class);
+        jdbcTemplate.update("INSERT INTO users (id, balance) VALUES (?, ?)", HOT_USER, BigDecimal.valueOf(1_000_000_000));
+    }
+
+    @TearDown(Level.Trial)
+    public void stopContext() {
+        context.close();
+    }
+
+    @Benchmark
+    public Boolean hotUserBet() {
+        return transactionTemplate.execute(status -> {
+            if (!wallet.debit(HOT_USER, STAKE, "stake:9158")) {
+                throw new IllegalStateException("Hot user ran out of balance");
+            }
+            jdbcTemplate.update("INSERT INTO bets (id, user_id, event_id, driver_id, amount, odds, status) VALUES (?, ?, '9158', 1, ?, 2, 'PENDING')",
+                    nextBetId.incrementAndGet(), HOT_USER, STAKE.toBigDecimal());
+            return true;
+        });
+    }
+}
@@ -0,0 +1,29 @@
+package com.f1bet.load;
+
+import java.util.Arrays;
+
+enum Endpoint {
+
+    EVENTS("events", "GET /events"),
+    BETS("bets", "POST /bets"),
+    OUTCOMES("outcomes", "POST /event-outcomes");
+
+    private final String option;
+    private final String label;
+
+    Endpoint(String option, String label) {
+        this.option = option;
+        this.label = label;
+    }
+
+    String label() {
+        return label;
+    }
+
+    static Endpoint fromOption(String option) {
+        return Arrays.stream(values())
+                .filter(endpoint -> endpoint.option.equals(option))
+                .findFirst()
+                .orElseThrow(() -> new IllegalArgumentException("Unknown endpoint " + option + " in --mix"));
+    }
+}
@@ -0,0 +1,52 @@
+package com.f1bet.load;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Latencies and status codes of one endpoint's measured requests. Every latency is kept so the
+ * percentiles are exact; a status of {@code -1} stands for a request that got no response.
+ */
+final class EndpointStats {
+
+    private long[] latencies = new long[1024];
+    private int count;
+    private final Map<Integer, Integer> statuses = new TreeMap<>();
+
+    synchronized void record(long latencyNanos, int status) {
+        if (count == latencies.length) {
+            latencies = Arrays.copyOf(latencies, count * 2);
+        }
+        latencies[count++] = latencyNanos;
+        statuses.merge(status, 1, Integer::sum);
+    }
+
+    synchronized Summary summarize() {
+        long[] sorted = Arrays.copyOf(latencies, count);
+        Arrays.sort(sorted);
+        int errors = statuses.entrySet().stream()
+                .filter(entry -> entry.getKey() < 200 || entry.getKey() >= 300)
+                .mapToInt(Map.Entry::getValue)
+                .sum();
+        return new Summary(count, errors, new TreeMap<>(statuses),
+                percentile(sorted, 50), percentile(sorted, 99), percentile(sorted, 99.9),
+                count == 0 ? 0 : sorted[count - 1]);
+    }
+
+    /**
+     * Nearest-rank percentile: the smallest latency at least {@code percentile}% of the requests
+     * did not exceed.
+     */
+    private static long percentile(long[] sorted, double percentile) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        int rank = (int) Math.ceil(percentile / 100 * sorted.length);
+        return sorted[Math.max(0, rank - 1)];
+    }
+
+    record Summary(int requests, int errors, Map<Integer, Integer> statuses,
+                   long p50Nanos, long p99Nanos, long p999Nanos, long maxNanos) {
+    }
+}
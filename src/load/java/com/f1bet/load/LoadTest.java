@@ -0,0 +1,161 @@
+package com.f1bet.load;
+
+import com.f1bet.Main;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+import java.util.stream.Collectors;
+
+/**
+ * Starts the application against an {@link OpenF1StandIn}, sends a mix of {@code /events},
+ * {@code /bets} and {@code /event-outcomes} requests at a fixed rate and prints throughput and
+ * latency percentiles per endpoint. See {@link LoadTestOptions} for the command line.
+ * <p>
+ * Requests are sent on schedule whether or not earlier ones have completed, and latency is
+ * measured from the time a request was due rather than the time it went out, so a server that
+ * falls behind shows up in the percentiles instead of silently lowering the offered load.
+ */
+public final class LoadTest {
+
+    private static final long FIRST_USER_ID = 1_000;
+
+    private LoadTest() {
+    }
+
+    public static void main(String[] args) throws InterruptedException {
+        LoadTestOptions options = LoadTestOptions.parse(args);
+        try (OpenF1StandIn openF1 = new OpenF1StandIn(options.payloads(), options.stubLatency(), options.stubRateLimit())) {
+            ConfigurableApplicationContext context = startApplication(options, openF1);
+            try (HttpClient client = HttpClient.newBuilder()
+                    .version(HttpClient.Version.HTTP_1_1)
+                    .executor(Executors.newVirtualThreadPerTaskExecutor())
+                    .build()) {
+                seedUsers(context.getBean(JdbcTemplate.class), options.users());
+                URI baseUri = URI.create("http://127.0.0.1:" + context.getEnvironment().getProperty("local.server.port"));
+                Traffic traffic = new Traffic(baseUri, options.mix(), openF1.sessionKeys("Race"), openF1.driverNumbers(),
+                        FIRST_USER_ID, options.users());
+
+                Map<Endpoint, EndpointStats> stats = run(client, traffic, options);
+                report(options, stats, openF1);
+            } finally {
+                context.close();
+            }
+        }
+    }
+
+    private static ConfigurableApplicationContext startApplication(LoadTestOptions options, OpenF1StandIn openF1) {
+        Map<String, String> properties = new LinkedHashMap<>();
+        properties.put("server.port", "0");
+        properties.put("spring.jpa.show-sql", "false");
+        properties.put("spring.h2.console.enabled", "false");
+        properties.put("logging.level.root", "WARN");
+        properties.put("f1bet.openf1.base-url", openF1.baseUrl());
+        properties.putAll(options.appProperties());
+
+        // Passed as command line arguments so they take precedence over application.yml.
+        return new SpringApplicationBuilder(Main.class)
+                .run(properties.entrySet().stream().map(entry -> "--" + entry.getKey() + "=" + entry.getValue()).toArray(String[]::new));
+    }
+
+    private static void seedUsers(JdbcTemplate jdbcTemplate, int users) {
+        List<Object[]> rows = new ArrayList<>(users);
+        for (long id = FIRST_USER_ID; id < FIRST_USER_ID + users; id++) {
+            rows.add(new Object[]{id, BigDecimal.valueOf(1_000_000_000)});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO users (id, balance) VALUES (?, ?)", rows);
+    }
+
+    private static Map<Endpoint, EndpointStats> run(HttpClient client, Traffic traffic, LoadTestOptions options)
+            throws InterruptedException {
+        Map<Endpoint, EndpointStats> stats = new EnumMap<>(Endpoint.class);
+        options.mix().keySet().forEach(endpoint -> stats.put(endpoint, new EndpointStats()));
+
+        long interval = TimeUnit.SECONDS.toNanos(1) / options.rps();
+        long start = System.nanoTime();
+        long measureFrom = start + options.warmup().toNanos();
+        long end = measureFrom + options.duration().toNanos();
+        System.out.printf("Sending %d requests/s for %ds (plus %ds warmup)%n",
+                options.rps(), options.duration().toSeconds(), options.warmup().toSeconds());
+
+        ExecutorService senders = Executors.newVirtualThreadPerTaskExecutor();
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        for (long i = 0; ; i++) {
+            long due = start + i * interval;
+            if (due >= end) {
+                break;
+            }
+            long wait = due - System.nanoTime();
+            if (wait > 0) {
+                LockSupport.parkNanos(wait);
+            }
+            Endpoint endpoint = traffic.next(random);
+            HttpRequest request = traffic.request(endpoint, random);
+            EndpointStats endpointStats = due >= measureFrom ? stats.get(endpoint) : null;
+            senders.execute(() -> send(client, request, due, endpointStats));
+        }
+        senders.shutdown();
+        if (!senders.awaitTermination(1, TimeUnit.MINUTES)) {
+            System.out.println("Some requests were still running after a minute and are left out");
+        }
+        return stats;
+    }
+
+    private static void send(HttpClient client, HttpRequest request, long due, EndpointStats stats) {
+        int status;
+        try {
+            status = client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+        } catch (IOException e) {
+            status = -1;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return;
+        }
+        if (stats != null) {
+            stats.record(System.nanoTime() - due, status);
+        }
+    }
+
+    private static void report(LoadTestOptions options, Map<Endpoint, EndpointStats> stats, OpenF1StandIn openF1) {
+        double seconds = options.duration().toNanos() / 1e9;
+        System.out.println();
+        System.out.printf("%-22s %9s %8s %9s %9s %9s %9s %9s%n",
+                "endpoint", "requests", "errors", "req/s", "p50 ms", "p99 ms", "p99.9 ms", "max ms");
+        int total = 0;
+        for (Map.Entry<Endpoint, EndpointStats> entry : stats.entrySet()) {
+            EndpointStats.Summary summary = entry.getValue().summarize();
+            total += summary.requests();
+            System.out.printf("%-22s %9d %8d %9.1f %9.1f %9.1f %9.1f %9.1f%n",
+                    entry.getKey().label(), summary.requests(), summary.errors(), summary.requests() / seconds,
+                    millis(summary.p50Nanos()), millis(summary.p99Nanos()), millis(summary.p999Nanos()), millis(summary.maxNanos()));
+            if (summary.errors() > 0) {
+                System.out.println("    statuses: " + summary.statuses().entrySet().stream()
+                        .map(status -> (status.getKey() < 0 ? "no response" : status.getKey()) + "=" + status.getValue())
+                        .collect(Collectors.joining(", ")));
+            }
+        }
+        System.out.printf("%-22s %9d %8s %9.1f%n", "total", total, "", total / seconds);
+        System.out.printf("OpenF1 stand-in: %d responses, %d throttled%n", openF1.served(), openF1.throttled());
+    }
+
+    private static double millis(long nanos) {
+        return nanos / 1e6;
+    }
+}
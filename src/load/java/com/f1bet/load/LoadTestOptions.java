@@ -0,0 +1,110 @@
+package com.f1bet.load;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Command line of {@link LoadTest}, given as {@code --name=value}. Arguments under
+ * {@code f1bet.}, {@code spring.}, {@code server.} or {@code logging.} are passed on to the
+ * application instead.
+ *
+ * @param rps            requests per second to send, across all endpoints
+ * @param warmup         how long to send traffic before measuring
+ * @param duration       how long to measure after the warmup
+ * @param mix            relative weight of each endpoint in the traffic
+ * @param users          users seeded with a large balance to place the bets
+ * @param stubLatency    delay the OpenF1 stand-in adds to every response
+ * @param stubRateLimit  requests per second the stand-in answers before returning 429, 0 for no limit
+ * @param payloads       directory holding recorded sessions.json, drivers.json and session_result.json,
+ *                       or {@code null} for the bundled recording
+ * @param appProperties  application properties overriding the load-test defaults
+ */
+record LoadTestOptions(int rps, Duration warmup, Duration duration, Map<Endpoint, Integer> mix, int users,
+                       Duration stubLatency, int stubRateLimit, Path payloads, Map<String, String> appProperties) {
+
+    static LoadTestOptions parse(String[] args) {
+        int rps = 100;
+        Duration warmup = Duration.ofSeconds(10);
+        Duration duration = Duration.ofSeconds(30);
+        Map<Endpoint, Integer> mix = parseMix("events:70,bets:29,outcomes:1");
+        int users = 1_000;
+        Duration stubLatency = Duration.ofMillis(50);
+        int stubRateLimit = 0;
+        Path payloads = null;
+        Map<String, String> appProperties = new LinkedHashMap<>();
+
+        for (String arg : args) {
+            int separator = arg.indexOf('=');
+            if (!arg.startsWith("--") || separator < 0) {
+                throw new IllegalArgumentException("Expected --name=value but got " + arg);
+            }
+            String name = arg.substring(2, separator);
+            String value = arg.substring(separator + 1);
+            switch (name) {
+                case "rps" -> rps = Integer.parseInt(value);
+                case "warmup" -> warmup = parseDuration(value);
+                case "duration" -> duration = parseDuration(value);
+                case "mix" -> mix = parseMix(value);
+                case "users" -> users = Integer.parseInt(value);
+                case "stub-latency" -> stubLatency = parseDuration(value);
+                case "stub-rate-limit" -> stubRateLimit = Integer.parseInt(value);
+                case "payloads" -> payloads = Path.of(value);
+                default -> {
+                    if (!isAppProperty(name)) {
+                        throw new IllegalArgumentException("Unknown option --" + name);
+                    }
+                    appProperties.put(name, value);
+                }
+            }
+        }
+        if (rps <= 0 || users <= 0) {
+            throw new IllegalArgumentException("--rps and --users must be positive");
+        }
+        return new LoadTestOptions(rps, warmup, duration, mix, users, stubLatency, stubRateLimit, payloads, appProperties);
+    }
+
+    private static boolean isAppProperty(String name) {
+        return name.startsWith("f1bet.") || name.startsWith("spring.") || name.startsWith("server.") || name.startsWith("logging.");
+    }
+
+    /**
+     * Accepts ISO-8601 ({@code PT30S}) or a number with an {@code ms}, {@code s} or {@code m} suffix.
+     */
+    private static Duration parseDuration(String value) {
+        if (value.startsWith("P") || value.startsWith("p")) {
+            return Duration.parse(value);
+        }
+        if (value.endsWith("ms")) {
+            return Duration.ofMillis(Long.parseLong(value.substring(0, value.length() - 2)));
+        }
+        if (value.endsWith("s")) {
+            return Duration.ofSeconds(Long.parseLong(value.substring(0, value.length() - 1)));
+        }
+        if (value.endsWith("m")) {
+            return Duration.ofMinutes(Long.parseLong(value.substring(0, value.length() - 1)));
+        }
+        throw new IllegalArgumentException("Cannot read duration " + value);
+    }
+
+    private static Map<Endpoint, Integer> parseMix(String value) {
+        Map<Endpoint, Integer> mix = new EnumMap<>(Endpoint.class);
+        for (String entry : value.split(",")) {
+            String[] parts = entry.split(":");
+            if (parts.length != 2) {
+                throw new IllegalArgumentException("Expected endpoint:weight in --mix but got " + entry);
+            }
+            int weight = Integer.parseInt(parts[1].trim());
+            if (weight < 0) {
+                throw new IllegalArgumentException("Negative weight in --mix: " + entry);
+            }
+            mix.put(Endpoint.fromOption(parts[0].trim()), weight);
+        }
+        if (mix.values().stream().mapToInt(Integer::intValue).sum() == 0) {
+            throw new IllegalArgumentException("--mix must give some endpoint a positive weight");
+        }
+        return mix;
+    }
+}
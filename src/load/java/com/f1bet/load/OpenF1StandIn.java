@@ -0,0 +1,230 @@
+package com.f1bet.load;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Local stand-in for the OpenF1 {@code /sessions}, {@code /drivers} and {@code /session_result}
+ * endpoints, serving recorded payloads. {@code /sessions} honours the query filters the
+ * application sends; the driver grid and the results are the same for every session and come
+ * back with the requested session key. Every response is delayed by the configured latency, and
+ * with a rate limit set, requests beyond it are answered with {@code 429 Too Many Requests}.
+ */
+final class OpenF1StandIn implements AutoCloseable {
+
+    private static final TypeReference<List<Map<String, Object>>> PAYLOAD = new TypeReference<>() {
+    };
+
+    static {
+        // Without TCP_NODELAY the JDK server's separate header and body writes hit delayed ACKs
+        // and every response gains ~40 ms on top of the configured latency.
+        System.setProperty("sun.net.httpserver.nodelay", "true");
+    }
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final HttpServer server;
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    private final Duration latency;
+    private final RateLimit rateLimit;
+
+    private final List<Map<String, Object>> sessions;
+    private final List<Map<String, Object>> drivers;
+    private final List<Map<String, Object>> sessionResults;
+    private final Map<String, byte[]> responses = new ConcurrentHashMap<>();
+
+    private final AtomicLong served = new AtomicLong();
+    private final AtomicLong throttled = new AtomicLong();
+
+    OpenF1StandIn(Path payloads, Duration latency, int permitsPerSecond) {
+        this.latency = latency;
+        this.rateLimit = permitsPerSecond > 0 ? new RateLimit(permitsPerSecond) : null;
+        this.sessions = load(payloads, "sessions.json");
+        this.drivers = load(payloads, "drivers.json");
+        this.sessionResults = load(payloads, "session_result.json");
+        try {
+            this.server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 1024);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        server.createContext("/v1/", this::handle);
+        server.setExecutor(executor);
+        server.start();
+    }
+
+    String baseUrl() {
+        return "http://127.0.0.1:" + server.getAddress().getPort() + "/v1";
+    }
+
+    List<Integer> sessionKeys(String sessionType) {
+        return sessions.stream()
+                .filter(session -> sessionType.equals(session.get("session_type")))
+                .map(session -> ((Number) session.get("session_key")).intValue())
+                .toList();
+    }
+
+    List<Integer> driverNumbers() {
+        return drivers.stream().map(driver -> ((Number) driver.get("driver_number")).intValue()).toList();
+    }
+
+    long served() {
+        return served.get();
+    }
+
+    long throttled() {
+        return throttled.get();
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            try {
+                Thread.sleep(latency);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            if (rateLimit != null && !rateLimit.tryAcquire()) {
+                throttled.incrementAndGet();
+                exchange.getResponseHeaders().set("Retry-After", "1");
+                exchange.sendResponseHeaders(429, -1);
+                return;
+            }
+            byte[] body = respond(exchange.getRequestURI());
+            if (body == null) {
+                exchange.sendResponseHeaders(404, -1);
+                return;
+            }
+            served.incrementAndGet();
+            exchange.getResponseHeaders().set("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        }
+    }
+
+    private byte[] respond(URI uri) {
+        Map<String, String> query = query(uri.getRawQuery());
+        return switch (uri.getPath()) {
+            case "/v1/sessions" -> responses.computeIfAbsent(uri.getPath() + '?' + uri.getRawQuery(),
+                    key -> write(sessions.stream().filter(session -> matches(session, query)).toList()));
+            case "/v1/drivers" -> responses.computeIfAbsent("drivers:" + query.get("session_key"),
+                    key -> write(forSession(drivers, query.get("session_key"))));
+            case "/v1/session_result" -> responses.computeIfAbsent("results:" + query.get("session_key"),
+                    key -> write(forSession(sessionResults, query.get("session_key"))));
+            default -> null;
+        };
+    }
+
+    private static boolean matches(Map<String, Object> session, Map<String, String> query) {
+        return matches(query.get("session_type"), session.get("session_type"))
+                && matches(query.get("year"), session.get("year"))
+                && matches(query.get("country_name"), session.get("country_name"));
+    }
+
+    private static boolean matches(String filter, Object value) {
+        return filter == null || filter.equals(Objects.toString(value));
+    }
+
+    private static List<Map<String, Object>> forSession(List<Map<String, Object>> rows, String sessionKey) {
+        if (sessionKey == null) {
+            return rows;
+        }
+        Integer key = Integer.valueOf(sessionKey);
+        return rows.stream().map(row -> {
+            Map<String, Object> copy = new LinkedHashMap<>(row);
+            copy.put("session_key", key);
+            return copy;
+        }).toList();
+    }
+
+    private static Map<String, String> query(String rawQuery) {
+        Map<String, String> query = new HashMap<>();
+        if (rawQuery == null) {
+            return query;
+        }
+        for (String pair : rawQuery.split("&")) {
+            int separator = pair.indexOf('=');
+            if (separator > 0) {
+                query.put(URLDecoder.decode(pair.substring(0, separator), StandardCharsets.UTF_8),
+                        URLDecoder.decode(pair.substring(separator + 1), StandardCharsets.UTF_8));
+            }
+        }
+        return query;
+    }
+
+    private byte[] write(List<Map<String, Object>> payload) {
+        try {
+            return objectMapper.writeValueAsBytes(payload);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Reads {@code name} from the payload directory when one is given, otherwise the recording
+     * bundled under {@code /openf1} on the classpath.
+     */
+    private List<Map<String, Object>> load(Path payloads, String name) {
+        try (InputStream in = payloads != null
+                ? Files.newInputStream(payloads.resolve(name))
+                : OpenF1StandIn.class.getResourceAsStream("/openf1/" + name)) {
+            if (in == null) {
+                throw new IllegalStateException("Missing OpenF1 payload " + name);
+            }
+            return objectMapper.readValue(in, PAYLOAD);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+
+    /**
+     * Fixed one-second windows: the first {@code permitsPerSecond} requests of each second pass.
+     */
+    private static final class RateLimit {
+
+        private final int permitsPerSecond;
+        private long window;
+        private int used;
+
+        RateLimit(int permitsPerSecond) {
+            this.permitsPerSecond = permitsPerSecond;
+        }
+
+        synchronized boolean tryAcquire() {
+            long now = System.nanoTime() / 1_000_000_000L;
+            if (now != window) {
+                window = now;
+                used = 0;
+            }
+            return ++used <= permitsPerSecond;
+        }
+    }
+}
@@ -0,0 +1,81 @@
+package com.f1bet.load;
+
+import java.net.URI;
+import java.net.http.HttpRequest;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Builds the requests of the traffic mix: event pages of race sessions, bets of a random seeded
+ * user on a random driver of a random race, and outcomes settling a random race.
+ */
+final class Traffic {
+
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(30);
+
+    private final URI baseUri;
+    private final Endpoint[] endpoints;
+    private final int[] cumulativeWeights;
+    private final List<Integer> raceKeys;
+    private final List<Integer> driverNumbers;
+    private final long firstUserId;
+    private final int users;
+
+    Traffic(URI baseUri, Map<Endpoint, Integer> mix, List<Integer> raceKeys, List<Integer> driverNumbers,
+            long firstUserId, int users) {
+        if (raceKeys.isEmpty() || driverNumbers.isEmpty()) {
+            throw new IllegalArgumentException("The OpenF1 payloads hold no race sessions or no drivers");
+        }
+        this.baseUri = baseUri;
+        this.endpoints = mix.keySet().toArray(Endpoint[]::new);
+        this.cumulativeWeights = new int[endpoints.length];
+        int total = 0;
+        for (int i = 0; i < endpoints.length; i++) {
+            total += mix.get(endpoints[i]);
+            cumulativeWeights[i] = total;
+        }
+        this.raceKeys = raceKeys;
+        this.driverNumbers = driverNumbers;
+        this.firstUserId = firstUserId;
+        this.users = users;
+    }
+
+    Endpoint next(ThreadLocalRandom random) {
+        int pick = random.nextInt(cumulativeWeights[cumulativeWeights.length - 1]);
+        for (int i = 0; i < cumulativeWeights.length; i++) {
+            if (pick < cumulativeWeights[i]) {
+                return endpoints[i];
+            }
+        }
+        throw new IllegalStateException("Weight " + pick + " out of range");
+    }
+
+    HttpRequest request(Endpoint endpoint, ThreadLocalRandom random) {
+        return switch (endpoint) {
+            case EVENTS -> HttpRequest.newBuilder(baseUri.resolve("/events?sessionType=Race&size=10&page=" + random.nextInt(3)))
+                    .timeout(REQUEST_TIMEOUT)
+                    .GET()
+                    .build();
+            case BETS -> post("/bets", "{\"userId\":" + (firstUserId + random.nextInt(users))
+                    + ",\"eventId\":\"" + pick(raceKeys, random)
+                    + "\",\"driverId\":" + pick(driverNumbers, random)
+                    + ",\"amount\":" + (1 + random.nextInt(20)) + ".00}");
+            case OUTCOMES -> post("/event-outcomes", "{\"eventId\":\"" + pick(raceKeys, random)
+                    + "\",\"winningDriverId\":" + pick(driverNumbers, random) + "}");
+        };
+    }
+
+    private HttpRequest post(String path, String json) {
+        return HttpRequest.newBuilder(baseUri.resolve(path))
+                .timeout(REQUEST_TIMEOUT)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(json))
+                .build();
+    }
+
+    private static <T> T pick(List<T> values, ThreadLocalRandom random) {
+        return values.get(random.nextInt(values.size()));
+    }
+}
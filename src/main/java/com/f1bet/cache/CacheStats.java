@@ -0,0 +1,9 @@
+package com.f1bet.cache;
+
+public record CacheStats(long hits, long misses, long evictions, long expirations, int size, int maxEntries) {
+
+    public double hitRatio() {
+        long requests = hits + misses;
+        return requests == 0 ? 0.0 : (double) hits / requests;
+    }
+}
@@ -0,0 +1,116 @@
+package com.f1bet.cache;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Coalesces concurrent calls for the same key: the first caller runs the call and every
+ * caller that arrives while it is in flight waits for and shares its outcome, including
+ * its failure. A failure that the leader brought on by being interrupted is its own,
+ * though: the callers waiting on it run the call again instead. Nothing is kept once the
+ * call completes, so later callers run it again.
+ */
+public class SingleFlight<K, V> {
+
+    private final ConcurrentHashMap<K, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+    private final LongAdder executions = new LongAdder();
+    private final LongAdder shared = new LongAdder();
+
+    public V execute(K key, Supplier<V> call) {
+        while (true) {
+            CompletableFuture<V> leader = new CompletableFuture<>();
+            CompletableFuture<V> existing = inFlight.putIfAbsent(key, leader);
+            if (existing != null) {
+                shared.increment();
+                try {
+                    return await(existing);
+                } catch (LeaderInterrupted e) {
+                    continue;
+                }
+            }
+
+            executions.increment();
+            V value;
+            try {
+                value = call.get();
+            } catch (RuntimeException | Error e) {
+                // Removed before completing so that waiting callers retrying the call do not find this leader again.
+                inFlight.remove(key, leader);
+                leader.completeExceptionally(Thread.currentThread().isInterrupted() ? new LeaderInterrupted() : e);
+                throw e;
+            }
+            inFlight.remove(key, leader);
+            leader.complete(value);
+            return value;
+        }
+    }
+
+    /**
+     * Same as {@link #execute} for calls that are already asynchronous: callers arriving
+     * while the returned future is pending get that same future.
+     */
+    public CompletableFuture<V> executeAsync(K key, Supplier<CompletableFuture<V>> call) {
+        CompletableFuture<V> leader = new CompletableFuture<>();
+        CompletableFuture<V> existing = inFlight.putIfAbsent(key, leader);
+        if (existing != null) {
+            shared.increment();
+            return existing;
+        }
+
+        executions.increment();
+        CompletableFuture<V> started;
+        try {
+            started = call.get();
+        } catch (RuntimeException | Error e) {
+            started = CompletableFuture.failedFuture(e);
+        }
+        started.whenComplete((value, failure) -> {
+            inFlight.remove(key, leader);
+            if (failure != null) {
+                leader.completeExceptionally(failure);
+            } else {
+                leader.complete(value);
+            }
+        });
+        return leader;
+    }
+
+    public int inFlight() {
+        return inFlight.size();
+    }
+
+    public long executions() {
+        return executions.sum();
+    }
+
+    public long shared() {
+        return shared.sum();
+    }
+
+    private V await(CompletableFuture<V> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            if (e.getCause() instanceof Error error) {
+                throw error;
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Hands callers waiting on an interrupted leader back to {@link #execute} to run the call again.
+     */
+    private static final class LeaderInterrupted extends RuntimeException {
+
+        LeaderInterrupted() {
+            super(null, null, false, false);
+        }
+    }
+}
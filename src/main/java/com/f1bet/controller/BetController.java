@@ -1,30 +1,120 @@
 package com.f1bet.controller;
 
 import com.f1bet.controller.request.PlaceBetRequest;
+import com.f1bet.controller.response.PlaceBetBatchItemResponse;
 import com.f1bet.controller.response.PlaceBetResponse;
+import com.f1bet.model.BetStatus;
+import com.f1bet.service.AsyncBetIntake;
 import com.f1bet.service.BetService;
+import com.f1bet.service.IdempotentBetPlacer;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import jakarta.validation.Valid;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.util.List;
+import java.util.Optional;
 
 @RestController
 @RequestMapping("/bets")
 public class BetController {
 
     private final BetService betService;
+    private final Optional<AsyncBetIntake> asyncIntake;
+    private final IdempotentBetPlacer idempotentPlacer;
+    private final ObjectMapper objectMapper;
 
-    public BetController(BetService betService) {
+    public BetController(BetService betService, Optional<AsyncBetIntake> asyncIntake, IdempotentBetPlacer idempotentPlacer,
+                         ObjectMapper objectMapper) {
         this.betService = betService;
+        this.asyncIntake = asyncIntake;
+        this.idempotentPlacer = idempotentPlacer;
+        this.objectMapper = objectMapper;
     }
 
+    /**
+     * With the asynchronous intake enabled the bet is only queued: the answer is 202 with
+     * status QUEUED and a reference to look the bet up with later. Requests carrying an
+     * {@code Idempotency-Key} are placed once; retries with the same key get the first answer.
+     */
     @PostMapping
-    public PlaceBetResponse placeBet(@Valid @RequestBody PlaceBetRequest request) {
-        return betService.placeBet(request);
+    public ResponseEntity<PlaceBetResponse> placeBet(@Valid @RequestBody PlaceBetRequest request,
+                                                     @RequestHeader(name = "Idempotency-Key", required = false) String idempotencyKey) {
+        PlaceBetResponse response = idempotencyKey == null
+                ? place(request, null)
+                : idempotentPlacer.place(request, idempotencyKey, this::place);
+        if (BetStatus.QUEUED.name().equals(response.status())) {
+            return ResponseEntity.accepted().body(response);
+        }
+        return ResponseEntity.ok(response);
     }
 
+    private PlaceBetResponse place(PlaceBetRequest request, String idempotencyKey) {
+        return asyncIntake.map(intake -> intake.submit(request, idempotencyKey))
+                .orElseGet(() -> betService.placeBet(request, idempotencyKey));
+    }
+
+    /**
+     * Places up to 1000 bets in one transaction and reports the outcome of each, in request order.
+     */
+    @PostMapping("/batch")
+    public List<PlaceBetBatchItemResponse> placeBets(@RequestBody List<PlaceBetRequest> requests) {
+        return betService.placeBets(requests);
+    }
+
+    /**
+     * Looks a bet up by the reference returned when it was placed; 202 while it is still queued.
+     */
+    @GetMapping(params = "reference")
+    public ResponseEntity<PlaceBetResponse> getBetByReference(@RequestParam String reference) {
+        Optional<PlaceBetResponse> written = betService.getBetByReference(reference);
+        if (written.isPresent()) {
+            return ResponseEntity.ok(written.get());
+        }
+        return asyncIntake.flatMap(intake -> intake.findQueued(reference))
+                .map(queued -> ResponseEntity.accepted().body(queued))
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Bet not found"));
+    }
+
+    /**
+     * Keyset-paginated listing: pass the last {@code betId} of a page as {@code after_id} to get the next one.
+     */
     @GetMapping
-    public List<PlaceBetResponse> getBetsByEventId(@RequestParam("event_id") String eventId) {
-        return betService.getBetsByEventId(eventId);
+    public List<PlaceBetResponse> getBetsByEventId(
+            @RequestParam("event_id") String eventId,
+            @RequestParam(name = "after_id", defaultValue = "0") long afterId,
+            @RequestParam(defaultValue = "100") int limit) {
+        return betService.getBetsByEventId(eventId, afterId, limit);
+    }
+
+    /**
+     * Streams every bet of the event as newline-delimited JSON straight from a database cursor.
+     */
+    @GetMapping(produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamBetsByEventId(@RequestParam("event_id") String eventId) {
+        StreamingResponseBody body = outputStream -> {
+            try (JsonGenerator generator = objectMapper.getFactory().createGenerator(outputStream)) {
+                generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+                generator.setRootValueSeparator(null);
+                betService.streamBetsByEventId(eventId, bet -> {
+                    try {
+                        generator.writeObject(bet);
+                        generator.writeRaw('\n');
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+            }
+        };
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(body);
     }
 }
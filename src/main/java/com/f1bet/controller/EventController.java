@@ -1,31 +1,65 @@
 package com.f1bet.controller;
 
-import com.f1bet.controller.response.EventResponse;
-import com.f1bet.service.EventService;
+import com.f1bet.controller.response.EventExposureResponse;
+import com.f1bet.service.EventListingCache;
+import com.f1bet.service.ExposureTracker;
+import com.f1bet.service.MarketBroadcaster;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
-
-import java.util.List;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 @RestController
 @RequestMapping("/events")
 public class EventController {
 
-    private final EventService eventService;
+    private final EventListingCache eventListingCache;
+    private final ExposureTracker exposureTracker;
+    private final MarketBroadcaster marketBroadcaster;
 
-    public EventController(EventService eventService) {
-        this.eventService = eventService;
+    public EventController(EventListingCache eventListingCache, ExposureTracker exposureTracker,
+                           MarketBroadcaster marketBroadcaster) {
+        this.eventListingCache = eventListingCache;
+        this.exposureTracker = exposureTracker;
+        this.marketBroadcaster = marketBroadcaster;
     }
 
+    /**
+     * Serves the page's cached JSON with a strong ETag. A request whose {@code If-None-Match}
+     * matches it is answered with 304 and no body.
+     */
     @GetMapping
-    public List<EventResponse> getEvents(
+    public ResponseEntity<byte[]> getEvents(
             @RequestParam(required = false) String sessionType,
             @RequestParam(required = false) Integer year,
             @RequestParam(required = false) String country,
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "10") int size) {
-        return eventService.getEvents(sessionType, year, country, page, size);
+        EventListingCache.Page events = eventListingCache.getEvents(sessionType, year, country, page, size);
+        return ResponseEntity.ok()
+                .eTag(events.etag())
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(events.json());
+    }
+
+    /**
+     * Stake, bet count and potential payout of the event's open bets, served from memory.
+     */
+    @GetMapping("/{eventId}/exposure")
+    public EventExposureResponse getExposure(@PathVariable String eventId) {
+        return exposureTracker.exposure(eventId);
+    }
+
+    /**
+     * Server-Sent Events stream of the session's market: a snapshot of the current odds, then
+     * the drivers added by every new market version.
+     */
+    @GetMapping(path = "/{sessionKey}/market/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamMarket(@PathVariable int sessionKey) {
+        return marketBroadcaster.subscribe(sessionKey);
     }
 }
@@ -1,5 +1,6 @@
 package com.f1bet.controller.request;
 
+import com.f1bet.model.Money;
 import jakarta.validation.constraints.*;
 
 import java.math.BigDecimal;
@@ -18,6 +19,11 @@ public record PlaceBetRequest(
 
         @NotNull(message = "amount is required")
         @Positive(message = "amount must be greater than 0")
+        @Digits(integer = 17, fraction = 2, message = "amount must have at most 2 decimal places")
         BigDecimal amount
 ) {
+
+    public Money stake() {
+        return Money.of(amount);
+    }
 }
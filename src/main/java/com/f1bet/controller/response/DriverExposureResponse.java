@@ -0,0 +1,6 @@
+package com.f1bet.controller.response;
+
+import java.math.BigDecimal;
+
+public record DriverExposureResponse(Integer driverId, BigDecimal stakeTotal, long betCount, BigDecimal potentialPayout) {
+}
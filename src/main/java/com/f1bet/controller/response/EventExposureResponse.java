@@ -0,0 +1,11 @@
+package com.f1bet.controller.response;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+/**
+ * Open bets of an event: totals over all drivers, then per driver ordered by driver id.
+ * {@code potentialPayout} is what the event would pay out if that driver won.
+ */
+public record EventExposureResponse(String eventId, BigDecimal stakeTotal, long betCount, List<DriverExposureResponse> drivers) {
+}
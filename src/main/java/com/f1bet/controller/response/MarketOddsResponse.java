@@ -0,0 +1,4 @@
+package com.f1bet.controller.response;
+
+public record MarketOddsResponse(Integer driverNumber, Integer odds) {
+}
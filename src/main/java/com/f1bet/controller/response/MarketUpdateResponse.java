@@ -0,0 +1,6 @@
+package com.f1bet.controller.response;
+
+import java.util.List;
+
+public record MarketUpdateResponse(Integer sessionKey, Integer marketVersion, List<MarketOddsResponse> drivers) {
+}
@@ -0,0 +1,8 @@
+package com.f1bet.controller.response;
+
+/**
+ * Outcome of one bet of a batch: {@code status} is the HTTP status the bet would have got on
+ * its own, with {@code bet} set on success and {@code error} on failure.
+ */
+public record PlaceBetBatchItemResponse(int index, int status, PlaceBetResponse bet, String error) {
+}
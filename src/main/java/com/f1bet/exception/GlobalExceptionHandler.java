@@ -1,5 +1,6 @@
 package com.f1bet.exception;
 
+import com.f1bet.integration.RateLimitExceededException;
 import jakarta.servlet.http.HttpServletRequest;
 import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.http.HttpHeaders;
@@ -10,15 +11,19 @@ import org.springframework.validation.FieldError;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.client.RestClientResponseException;
 import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.server.ResponseStatusException;
 
 import java.time.Instant;
+import java.util.regex.Pattern;
 import java.util.stream.Collectors;
 
 @RestControllerAdvice
 public class GlobalExceptionHandler {
 
+    private static final Pattern RETRY_AFTER_SECONDS = Pattern.compile("\\d{1,6}");
+
     @ExceptionHandler(ResponseStatusException.class)
     public ResponseEntity<ApiError> handleResponseStatus(ResponseStatusException ex, HttpServletRequest request) {
         HttpStatus status = HttpStatus.valueOf(ex.getStatusCode().value());
@@ -74,6 +79,25 @@ public class GlobalExceptionHandler {
         return ResponseEntity.status(status).body(body);
     }
 
+    @ExceptionHandler(RateLimitExceededException.class)
+    public ResponseEntity<ApiError> handleRateLimitExceeded(RateLimitExceededException ex, HttpServletRequest request) {
+        return serviceUnavailable(ex.getMessage(), "1", request);
+    }
+
+    /**
+     * OpenF1 answering 429 is the same condition as the local limiter refusing a permit, so it
+     * gets the same 503, passing on OpenF1's Retry-After when it is given in seconds.
+     */
+    @ExceptionHandler(RestClientResponseException.class)
+    public ResponseEntity<ApiError> handleUpstreamResponse(RestClientResponseException ex, HttpServletRequest request) {
+        if (ex.getStatusCode().value() != HttpStatus.TOO_MANY_REQUESTS.value()) {
+            return handleGeneric(ex, request);
+        }
+        String retryAfter = ex.getResponseHeaders() == null ? null : ex.getResponseHeaders().getFirst(HttpHeaders.RETRY_AFTER);
+        return serviceUnavailable("OpenF1 rate limit reached, retry shortly",
+                retryAfter != null && RETRY_AFTER_SECONDS.matcher(retryAfter).matches() ? retryAfter : "1", request);
+    }
+
     @ExceptionHandler(Exception.class)
     public ResponseEntity<ApiError> handleGeneric(Exception ex, HttpServletRequest request) {
         HttpStatus status = HttpStatus.INTERNAL_SERVER_ERROR;
@@ -87,6 +111,20 @@ public class GlobalExceptionHandler {
         return ResponseEntity.status(status).body(body);
     }
 
+    private ResponseEntity<ApiError> serviceUnavailable(String message, String retryAfter, HttpServletRequest request) {
+        HttpStatus status = HttpStatus.SERVICE_UNAVAILABLE;
+        ApiError body = new ApiError(
+                Instant.now(),
+                status.value(),
+                status.getReasonPhrase(),
+                message,
+                request.getRequestURI()
+        );
+        return ResponseEntity.status(status)
+                .header(HttpHeaders.RETRY_AFTER, retryAfter)
+                .body(body);
+    }
+
     private String formatFieldError(FieldError fe) {
         String field = fe.getField();
         String defaultMessage = fe.getDefaultMessage();
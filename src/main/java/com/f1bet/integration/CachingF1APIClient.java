@@ -0,0 +1,170 @@
+package com.f1bet.integration;
+
+import com.f1bet.cache.CacheStats;
+import com.f1bet.cache.TtlCache;
+import com.f1bet.model.Driver;
+import com.f1bet.model.Event;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * {@link F1APIClient} decorator that keeps OpenF1 payloads in memory so repeated
+ * lookups do not spend the upstream rate budget. Each endpoint has its own TTL and
+ * size bound, and payloads for sessions that already ended are kept much longer
+ * than live ones since they no longer change.
+ */
+@Primary
+@Component
+public class CachingF1APIClient implements F1APIClient {
+
+    private final F1APIClient delegate;
+    private final OpenF1CacheProperties properties;
+    private final Clock clock;
+
+    private final TtlCache<SessionQuery, List<Event>> sessions;
+    private final TtlCache<Integer, List<Driver>> drivers;
+    private final TtlCache<Integer, List<OpenF1SessionResult>> sessionResults;
+    private final Map<Integer, OffsetDateTime> sessionEnds = new ConcurrentHashMap<>();
+
+    @Autowired
+    public CachingF1APIClient(@Qualifier("openF1Transport") F1APIClient delegate, OpenF1CacheProperties properties) {
+        this(delegate, properties, Clock.systemUTC());
+    }
+
+    CachingF1APIClient(F1APIClient delegate, OpenF1CacheProperties properties, Clock clock) {
+        this.delegate = delegate;
+        this.properties = properties;
+        this.clock = clock;
+        this.sessions = new TtlCache<>(properties.sessions().maxEntries());
+        this.drivers = new TtlCache<>(properties.drivers().maxEntries());
+        this.sessionResults = new TtlCache<>(properties.sessionResults().maxEntries());
+    }
+
+    @Override
+    public List<Event> getSessions(String sessionType, Integer year, String country) {
+        SessionQuery query = new SessionQuery(sessionType, year, country);
+        List<Event> cached = sessions.get(query);
+        if (cached != null) {
+            return copyOf(cached);
+        }
+
+        List<Event> fetched = delegate.getSessions(sessionType, year, country);
+        if (fetched == null) {
+            return null;
+        }
+        List<Event> snapshot = copyOf(fetched);
+        snapshot.forEach(this::rememberSessionEnd);
+        boolean allFinished = snapshot.stream().allMatch(event -> hasEnded(event.getDateEnd()));
+        sessions.put(query, snapshot, ttl(properties.sessions(), allFinished));
+        return copyOf(snapshot);
+    }
+
+    @Override
+    public List<Driver> getDriversForSession(Integer sessionKey) {
+        if (sessionKey == null) {
+            return delegate.getDriversForSession(null);
+        }
+        List<Driver> cached = drivers.get(sessionKey);
+        if (cached != null) {
+            return cached;
+        }
+
+        List<Driver> fetched = delegate.getDriversForSession(sessionKey);
+        if (fetched == null) {
+            return null;
+        }
+        List<Driver> snapshot = List.copyOf(fetched);
+        drivers.put(sessionKey, snapshot, ttl(properties.drivers(), isFinished(sessionKey)));
+        return snapshot;
+    }
+
+    @Override
+    public List<OpenF1SessionResult> getSessionResults(Integer sessionKey) {
+        if (sessionKey == null) {
+            return delegate.getSessionResults(null);
+        }
+        List<OpenF1SessionResult> cached = sessionResults.get(sessionKey);
+        if (cached != null) {
+            return cached;
+        }
+
+        List<OpenF1SessionResult> fetched = delegate.getSessionResults(sessionKey);
+        if (fetched == null) {
+            return null;
+        }
+        List<OpenF1SessionResult> snapshot = List.copyOf(fetched);
+        // Results are only published once a session is over, so a non-empty payload for a
+        // session we have no schedule for is treated as final.
+        boolean finished = sessionEnds.containsKey(sessionKey) ? isFinished(sessionKey) : !snapshot.isEmpty();
+        sessionResults.put(sessionKey, snapshot, ttl(properties.sessionResults(), finished));
+        return snapshot;
+    }
+
+    public CacheStats sessionsStats() {
+        return sessions.stats();
+    }
+
+    public CacheStats driversStats() {
+        return drivers.stats();
+    }
+
+    public CacheStats sessionResultsStats() {
+        return sessionResults.stats();
+    }
+
+    public void invalidateAll() {
+        sessions.invalidateAll();
+        drivers.invalidateAll();
+        sessionResults.invalidateAll();
+    }
+
+    private void rememberSessionEnd(Event event) {
+        if (event.getSessionKey() != null && event.getDateEnd() != null) {
+            sessionEnds.put(event.getSessionKey(), event.getDateEnd());
+        }
+    }
+
+    private boolean isFinished(Integer sessionKey) {
+        return hasEnded(sessionEnds.get(sessionKey));
+    }
+
+    private boolean hasEnded(OffsetDateTime dateEnd) {
+        return dateEnd != null && dateEnd.toInstant().isBefore(clock.instant());
+    }
+
+    private Duration ttl(OpenF1CacheProperties.Policy policy, boolean finished) {
+        return finished ? policy.finishedTtl() : policy.liveTtl();
+    }
+
+    private static List<Event> copyOf(List<Event> events) {
+        return events.stream()
+                .map(CachingF1APIClient::copyOf)
+                .toList();
+    }
+
+    // Callers fill in the driver market on the events they get back, so every caller
+    // works on its own copies and never on the cached instances.
+    private static Event copyOf(Event source) {
+        Event event = new Event();
+        event.setSessionKey(source.getSessionKey());
+        event.setSessionName(source.getSessionName());
+        event.setSessionType(source.getSessionType());
+        event.setYear(source.getYear());
+        event.setCountry(source.getCountry());
+        event.setDateEnd(source.getDateEnd());
+        event.setDriverMarket(source.getDriverMarket());
+        return event;
+    }
+
+    private record SessionQuery(String sessionType, Integer year, String country) {
+    }
+}
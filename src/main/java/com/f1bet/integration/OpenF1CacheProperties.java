@@ -0,0 +1,17 @@
+package com.f1bet.integration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@ConfigurationProperties("f1bet.openf1.cache")
+public record OpenF1CacheProperties(Policy sessions, Policy drivers, Policy sessionResults) {
+
+    /**
+     * @param liveTtl     how long payloads for sessions that have not ended yet are kept
+     * @param finishedTtl how long payloads for sessions that already ended are kept
+     * @param maxEntries  upper bound on cached keys before LRU eviction kicks in
+     */
+    public record Policy(Duration liveTtl, Duration finishedTtl, int maxEntries) {
+    }
+}
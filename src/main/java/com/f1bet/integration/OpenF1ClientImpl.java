@@ -1,10 +1,15 @@
 package com.f1bet.integration;
 
+import com.f1bet.cache.SingleFlight;
 import com.f1bet.model.Driver;
 import com.f1bet.model.Event;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.core.ParameterizedTypeReference;
 import org.springframework.http.HttpMethod;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.client.SimpleClientHttpRequestFactory;
 import org.springframework.stereotype.Component;
 import org.springframework.web.client.RestTemplate;
 import org.springframework.web.util.UriComponentsBuilder;
@@ -12,46 +17,64 @@ import org.springframework.web.util.UriComponentsBuilder;
 import java.net.URI;
 import java.util.ArrayList;
 import java.util.List;
-import java.util.Random;
-import java.util.concurrent.Executors;
-import java.util.concurrent.ScheduledExecutorService;
-import java.util.concurrent.Semaphore;
-import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 
 @Component
+@Qualifier("openF1Transport")
+@ConditionalOnProperty(name = "f1bet.openf1.client", havingValue = "rest-template", matchIfMissing = true)
 public class OpenF1ClientImpl implements F1APIClient {
 
-    private final RestTemplate restTemplate = new RestTemplate();
-    private final String openF1BaseUrl = "https://api.openf1.org/v1";
-
-    private static final int MAX_REQ_PER_SEC = 3;
-    private static final Semaphore RATE_SEMAPHORE = new Semaphore(MAX_REQ_PER_SEC, true);
-    private static final ScheduledExecutorService SCHEDULER = Executors.newSingleThreadScheduledExecutor(r -> {
-        Thread t = new Thread(r, "OpenF1-RateLimiter");
-        t.setDaemon(true);
-        return t;
-    });
-    static {
-        SCHEDULER.scheduleAtFixedRate(() -> {
-            try {
-                int toRelease = MAX_REQ_PER_SEC - RATE_SEMAPHORE.availablePermits();
-                if (toRelease > 0) {
-                    RATE_SEMAPHORE.release(toRelease);
-                }
-            } catch (Exception ignored) {
+    private final RestTemplate restTemplate;
+    private final String openF1BaseUrl;
+
+    private final TokenBucketRateLimiter rateLimiter;
+    private final OpenF1RequestMetrics requestMetrics;
+    private final OpenF1SnapshotRecorder recorder;
+    private final SingleFlight<String, List<?>> inFlightRequests = new SingleFlight<>();
+
+    /**
+     * With {@code f1bet.openf1.snapshot.record} set, every response is also written to the
+     * snapshot directory for {@link ReplayF1APIClient} to serve later.
+     */
+    public OpenF1ClientImpl(TokenBucketRateLimiter rateLimiter, OpenF1ClientProperties properties, MeterRegistry meterRegistry,
+                            OpenF1SnapshotProperties snapshotProperties) {
+        this.rateLimiter = rateLimiter;
+        this.requestMetrics = new OpenF1RequestMetrics(meterRegistry);
+        this.recorder = snapshotProperties.record() ? new OpenF1SnapshotRecorder(snapshotProperties.directory()) : null;
+        this.openF1BaseUrl = properties.baseUrl();
+        SimpleClientHttpRequestFactory requestFactory = new SimpleClientHttpRequestFactory();
+        requestFactory.setConnectTimeout(properties.connectTimeout());
+        requestFactory.setReadTimeout(properties.readTimeout());
+        this.restTemplate = new RestTemplate(requestFactory);
+    }
+
+    private void acquirePermit() {
+        rateLimiter.acquire();
+    }
 
+    /**
+     * Concurrent callers asking for the same URI share one permit and one HTTP call. The
+     * shared body must therefore be treated as read-only; callers map it into their own objects.
+     */
+    @SuppressWarnings("unchecked")
+    private <T> List<T> fetch(String uri, ParameterizedTypeReference<List<T>> responseType) {
+        return (List<T>) inFlightRequests.execute(uri, () -> {
+            acquirePermit();
+            long start = System.nanoTime();
+            ResponseEntity<List<T>> response;
+            try {
+                response = restTemplate.exchange(uri, HttpMethod.GET, null, responseType);
+            } catch (RuntimeException e) {
+                requestMetrics.record(uri, start, e);
+                throw e;
             }
-        }, 0, 1, TimeUnit.SECONDS);
+            requestMetrics.record(uri, start, response.getStatusCode().value());
+            return response.getBody();
+        });
     }
 
-    private void acquirePermit() {
-        try {
-            RATE_SEMAPHORE.acquire();
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
-            throw new RuntimeException("Interrupted while waiting for rate limiter", e);
-        }
+    public long coalescedRequests() {
+        return inFlightRequests.shared();
     }
 
     @Override
@@ -68,33 +91,19 @@ public class OpenF1ClientImpl implements F1APIClient {
             builder.queryParam("country_name", country);
         }
 
-        acquirePermit();
-        ResponseEntity<List<OpenF1Session>> response = restTemplate.exchange(
-                builder.toUriString(),
-                HttpMethod.GET,
-                null,
-                new ParameterizedTypeReference<>() {
-                }
-        );
-
-        List<OpenF1Session> sessions = response.getBody();
+        List<OpenF1Session> sessions = fetch(builder.toUriString(), new ParameterizedTypeReference<>() {
+        });
 
         if (sessions == null) {
             return new ArrayList<>();
         }
-        return sessions.stream()
-                .map(this::toEvent)
+        List<Event> events = sessions.stream()
+                .map(OpenF1Payloads::toEvent)
                 .collect(Collectors.toList());
-    }
-
-    private Event toEvent(OpenF1Session session){
-        Event event = new Event();
-        event.setSessionKey(session.session_key());
-        event.setSessionName(session.session_name());
-        event.setSessionType(session.session_type());
-        event.setYear(session.year());
-        event.setCountry(session.country_name());
-        return event;
+        if (recorder != null) {
+            recorder.recordSessions(events);
+        }
+        return events;
     }
 
     @Override
@@ -105,29 +114,18 @@ public class OpenF1ClientImpl implements F1APIClient {
         UriComponentsBuilder builder = UriComponentsBuilder.fromUri(URI.create(openF1BaseUrl + "/drivers"))
                 .queryParam("session_key", sessionKey);
 
-        acquirePermit();
-        ResponseEntity<List<OpenF1Driver>> response = restTemplate.exchange(
-                builder.toUriString(),
-                HttpMethod.GET,
-                null,
-                new ParameterizedTypeReference<>() {
-                }
-        );
-
-        List<OpenF1Driver> drivers = response.getBody();
+        List<OpenF1Driver> drivers = fetch(builder.toUriString(), new ParameterizedTypeReference<>() {
+        });
         if (drivers == null) {
             return new ArrayList<>();
         }
-        return drivers.stream()
-                .map(d -> {
-                    Driver driver = new Driver();
-                    driver.setFullName(d.full_name());
-                    driver.setDriverNumber(d.driver_number() != null ? d.driver_number() : 0);
-                    int odds = new Random().nextInt(3) + 2;
-                    driver.setOdds(odds);
-                    return driver;
-                })
+        List<Driver> sessionDrivers = drivers.stream()
+                .map(OpenF1Payloads::toDriver)
                 .collect(Collectors.toList());
+        if (recorder != null) {
+            recorder.recordDrivers(sessionKey, sessionDrivers);
+        }
+        return sessionDrivers;
     }
 
     @Override
@@ -138,16 +136,15 @@ public class OpenF1ClientImpl implements F1APIClient {
         UriComponentsBuilder builder = UriComponentsBuilder.fromUri(URI.create(openF1BaseUrl + "/session_result"))
                 .queryParam("session_key", sessionKey);
 
-        acquirePermit();
-        ResponseEntity<List<OpenF1SessionResult>> response = restTemplate.exchange(
-                builder.toUriString(),
-                HttpMethod.GET,
-                null,
-                new ParameterizedTypeReference<>() {
-                }
-        );
-        List<OpenF1SessionResult> results = response.getBody();
-        return results != null ? results : new ArrayList<>();
+        List<OpenF1SessionResult> results = fetch(builder.toUriString(), new ParameterizedTypeReference<>() {
+        });
+        if (results == null) {
+            return new ArrayList<>();
+        }
+        if (recorder != null) {
+            recorder.recordSessionResults(sessionKey, results);
+        }
+        return new ArrayList<>(results);
     }
 
-}
\ No newline at end of file
+}
@@ -0,0 +1,15 @@
+package com.f1bet.integration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * @param baseUrl        OpenF1 API root, e.g. {@code https://api.openf1.org/v1}
+ * @param client         transport used for the calls
+ * @param connectTimeout longest wait for a connection to be established
+ * @param readTimeout    longest wait for a response once the request is sent
+ */
+@ConfigurationProperties("f1bet.openf1")
+public record OpenF1ClientProperties(String baseUrl, OpenF1ClientType client, Duration connectTimeout, Duration readTimeout) {
+}
@@ -0,0 +1,11 @@
+package com.f1bet.integration;
+
+/**
+ * HTTP transport used to talk to OpenF1, selected with {@code f1bet.openf1.client}.
+ * {@code REPLAY} does not call OpenF1 and serves a recorded snapshot instead.
+ */
+public enum OpenF1ClientType {
+    REST_TEMPLATE,
+    HTTP_CLIENT,
+    REPLAY
+}
@@ -0,0 +1,35 @@
+package com.f1bet.integration;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.concurrent.TimeUnit;
+
+@Configuration
+public class OpenF1Configuration {
+
+    @Bean
+    public TokenBucketRateLimiter openF1RateLimiter(OpenF1RateLimitProperties properties, MeterRegistry meterRegistry) {
+        Timer waits = Timer.builder("openf1.ratelimiter.wait")
+                .description("Time callers waited for an OpenF1 permit")
+                .register(meterRegistry);
+        TokenBucketRateLimiter rateLimiter = new TokenBucketRateLimiter(
+                properties.permitsPerSecond(),
+                properties.burst(),
+                properties.timeout(),
+                properties.failFast(),
+                waitNanos -> waits.record(waitNanos, TimeUnit.NANOSECONDS)
+        );
+        Gauge.builder("openf1.ratelimiter.queue", rateLimiter, limiter -> limiter.stats().queueDepth())
+                .description("Callers currently waiting for an OpenF1 permit")
+                .register(meterRegistry);
+        FunctionCounter.builder("openf1.ratelimiter.rejected", rateLimiter, limiter -> limiter.stats().rejected())
+                .description("Callers refused because no OpenF1 permit was free within the timeout")
+                .register(meterRegistry);
+        return rateLimiter;
+    }
+}
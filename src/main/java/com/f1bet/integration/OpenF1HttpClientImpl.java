@@ -0,0 +1,237 @@
+package com.f1bet.integration;
+
+import com.f1bet.cache.SingleFlight;
+import com.f1bet.model.Driver;
+import com.f1bet.model.Event;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.ResourceAccessException;
+import org.springframework.web.client.RestClientException;
+import org.springframework.web.client.RestClientResponseException;
+import org.springframework.web.util.UriComponentsBuilder;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.stream.Collectors;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * {@link F1APIClient} on top of {@link HttpClient}: connections are kept alive and shared
+ * across calls, HTTP/2 is negotiated when the server offers it, responses are requested
+ * gzip-compressed and every call is bounded by the configured connect and read timeouts.
+ * <p>
+ * Besides the blocking methods it exposes {@code *Async} variants that neither park the
+ * caller on the rate limiter nor on the network.
+ */
+@Component
+@Qualifier("openF1Transport")
+@ConditionalOnProperty(name = "f1bet.openf1.client", havingValue = "http-client")
+public class OpenF1HttpClientImpl implements F1APIClient {
+
+    private static final TypeReference<List<OpenF1Session>> SESSIONS = new TypeReference<>() {
+    };
+    private static final TypeReference<List<OpenF1Driver>> DRIVERS = new TypeReference<>() {
+    };
+    private static final TypeReference<List<OpenF1SessionResult>> SESSION_RESULTS = new TypeReference<>() {
+    };
+
+    private final HttpClient httpClient;
+    private final String openF1BaseUrl;
+    private final OpenF1ClientProperties properties;
+    private final ObjectMapper objectMapper;
+
+    private final TokenBucketRateLimiter rateLimiter;
+    private final OpenF1RequestMetrics requestMetrics;
+    private final SingleFlight<String, List<?>> inFlightRequests = new SingleFlight<>();
+
+    public OpenF1HttpClientImpl(TokenBucketRateLimiter rateLimiter, OpenF1ClientProperties properties, ObjectMapper objectMapper,
+                                MeterRegistry meterRegistry) {
+        this.rateLimiter = rateLimiter;
+        this.requestMetrics = new OpenF1RequestMetrics(meterRegistry);
+        this.properties = properties;
+        this.openF1BaseUrl = properties.baseUrl();
+        this.objectMapper = objectMapper;
+        this.httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_2)
+                .connectTimeout(properties.connectTimeout())
+                .followRedirects(HttpClient.Redirect.NORMAL)
+                .build();
+    }
+
+    @Override
+    public List<Event> getSessions(String sessionType, Integer year, String country) {
+        return join(getSessionsAsync(sessionType, year, country));
+    }
+
+    @Override
+    public List<Driver> getDriversForSession(Integer sessionKey) {
+        return join(getDriversForSessionAsync(sessionKey));
+    }
+
+    @Override
+    public List<OpenF1SessionResult> getSessionResults(Integer sessionKey) {
+        return join(getSessionResultsAsync(sessionKey));
+    }
+
+    public CompletableFuture<List<Event>> getSessionsAsync(String sessionType, Integer year, String country) {
+        UriComponentsBuilder builder = UriComponentsBuilder.fromUri(URI.create(openF1BaseUrl + "/sessions"));
+
+        if (sessionType != null) {
+            builder.queryParam("session_type", sessionType);
+        }
+        if (year != null) {
+            builder.queryParam("year", year);
+        }
+        if (country != null) {
+            builder.queryParam("country_name", country);
+        }
+
+        return fetch(builder.toUriString(), SESSIONS)
+                .thenApply(sessions -> sessions.stream().map(OpenF1Payloads::toEvent).collect(Collectors.toList()));
+    }
+
+    public CompletableFuture<List<Driver>> getDriversForSessionAsync(Integer sessionKey) {
+        if (sessionKey == null) {
+            return CompletableFuture.completedFuture(new ArrayList<>());
+        }
+        UriComponentsBuilder builder = UriComponentsBuilder.fromUri(URI.create(openF1BaseUrl + "/drivers"))
+                .queryParam("session_key", sessionKey);
+
+        return fetch(builder.toUriString(), DRIVERS)
+                .thenApply(drivers -> drivers.stream().map(OpenF1Payloads::toDriver).collect(Collectors.toList()));
+    }
+
+    public CompletableFuture<List<OpenF1SessionResult>> getSessionResultsAsync(Integer sessionKey) {
+        if (sessionKey == null) {
+            return CompletableFuture.completedFuture(new ArrayList<>());
+        }
+        UriComponentsBuilder builder = UriComponentsBuilder.fromUri(URI.create(openF1BaseUrl + "/session_result"))
+                .queryParam("session_key", sessionKey);
+
+        return fetch(builder.toUriString(), SESSION_RESULTS)
+                .thenApply(ArrayList::new);
+    }
+
+    public long coalescedRequests() {
+        return inFlightRequests.shared();
+    }
+
+    /**
+     * Concurrent callers asking for the same URI share one permit and one HTTP call, so the
+     * shared body must be treated as read-only. A missing body is returned as an empty list.
+     */
+    @SuppressWarnings("unchecked")
+    private <T> CompletableFuture<List<T>> fetch(String uri, TypeReference<List<T>> responseType) {
+        CompletableFuture<List<?>> shared = inFlightRequests.executeAsync(uri, () -> rateLimiter.acquireAsync()
+                .thenCompose(permit -> send(uri))
+                .<List<?>>thenApply(response -> read(uri, response, responseType))
+                .exceptionallyCompose(failure -> CompletableFuture.failedFuture(translate(uri, failure))));
+        return shared.thenApply(body -> (List<T>) body);
+    }
+
+    private CompletableFuture<HttpResponse<byte[]>> send(String uri) {
+        long start = System.nanoTime();
+        return httpClient.sendAsync(request(uri), HttpResponse.BodyHandlers.ofByteArray())
+                .whenComplete((response, failure) -> {
+                    if (failure == null) {
+                        requestMetrics.record(uri, start, response.statusCode());
+                    } else {
+                        requestMetrics.record(uri, start, translate(uri, failure));
+                    }
+                });
+    }
+
+    private HttpRequest request(String uri) {
+        return HttpRequest.newBuilder(URI.create(uri))
+                .timeout(properties.readTimeout())
+                .header(HttpHeaders.ACCEPT, "application/json")
+                .header(HttpHeaders.ACCEPT_ENCODING, "gzip")
+                .GET()
+                .build();
+    }
+
+    private <T> List<T> read(String uri, HttpResponse<byte[]> response, TypeReference<List<T>> responseType) {
+        if (response.statusCode() / 100 != 2) {
+            HttpHeaders headers = new HttpHeaders();
+            response.headers().map().forEach(headers::addAll);
+            throw new RestClientResponseException("OpenF1 request for \"" + uri + "\" failed with status " + response.statusCode(),
+                    HttpStatusCode.valueOf(response.statusCode()), "", headers, response.body(), StandardCharsets.UTF_8);
+        }
+        if (response.body().length == 0) {
+            return List.of();
+        }
+        try (InputStream body = decode(response)) {
+            List<T> value = objectMapper.readerFor(responseType)
+                    .without(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES)
+                    .readValue(body);
+            return value != null ? value : List.of();
+        } catch (JsonProcessingException e) {
+            throw new RestClientException("Error while extracting OpenF1 response for \"" + uri + "\"", e);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static InputStream decode(HttpResponse<byte[]> response) throws IOException {
+        InputStream body = new ByteArrayInputStream(response.body());
+        boolean gzipped = response.headers().firstValue(HttpHeaders.CONTENT_ENCODING)
+                .map("gzip"::equalsIgnoreCase)
+                .orElse(false);
+        return gzipped ? new GZIPInputStream(body) : body;
+    }
+
+    /**
+     * Surfaces transport failures as the same {@code RestClientException} types that the
+     * {@code RestTemplate} transport throws.
+     */
+    private static Throwable translate(String uri, Throwable failure) {
+        Throwable cause = failure instanceof CompletionException ? failure.getCause() : failure;
+        if (cause instanceof UncheckedIOException io) {
+            cause = io.getCause();
+        }
+        if (cause instanceof IOException io) {
+            String reason = io.getMessage() != null ? io.getMessage() : io.getClass().getSimpleName();
+            return new ResourceAccessException("I/O error on GET request for \"" + uri + "\": " + reason, io);
+        }
+        return cause;
+    }
+
+    private static <T> T join(CompletableFuture<T> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            if (e.getCause() instanceof Error error) {
+                throw error;
+            }
+            throw e;
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        httpClient.close();
+    }
+}
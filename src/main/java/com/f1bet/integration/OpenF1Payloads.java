@@ -0,0 +1,31 @@
+package com.f1bet.integration;
+
+import com.f1bet.model.Driver;
+import com.f1bet.model.Event;
+
+/**
+ * Maps OpenF1 payloads into domain objects, shared by the {@link F1APIClient} transports.
+ */
+final class OpenF1Payloads {
+
+    private OpenF1Payloads() {
+    }
+
+    static Event toEvent(OpenF1Session session) {
+        Event event = new Event();
+        event.setSessionKey(session.session_key());
+        event.setSessionName(session.session_name());
+        event.setSessionType(session.session_type());
+        event.setYear(session.year());
+        event.setCountry(session.country_name());
+        event.setDateEnd(session.date_end());
+        return event;
+    }
+
+    static Driver toDriver(OpenF1Driver openF1Driver) {
+        Driver driver = new Driver();
+        driver.setFullName(openF1Driver.full_name());
+        driver.setDriverNumber(openF1Driver.driver_number() != null ? openF1Driver.driver_number() : 0);
+        return driver;
+    }
+}
@@ -0,0 +1,15 @@
+package com.f1bet.integration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * @param permitsPerSecond sustained request rate allowed against OpenF1
+ * @param burst            permits that may be spent at once after an idle period
+ * @param timeout          longest a caller may wait for a permit before being rejected
+ * @param failFast         reject immediately instead of waiting when no permit is available
+ */
+@ConfigurationProperties("f1bet.openf1.rate-limit")
+public record OpenF1RateLimitProperties(double permitsPerSecond, int burst, Duration timeout, boolean failFast) {
+}
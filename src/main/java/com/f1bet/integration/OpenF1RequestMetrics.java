@@ -0,0 +1,58 @@
+package com.f1bet.integration;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.web.client.ResourceAccessException;
+import org.springframework.web.client.RestClientResponseException;
+
+import java.io.IOException;
+import java.net.URI;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Times the HTTP calls the OpenF1 transports make, once the rate limiter has granted the
+ * permit, as {@code openf1.client.requests} tagged with the endpoint and the response status,
+ * or {@code IO_ERROR} when no response came back.
+ */
+final class OpenF1RequestMetrics {
+
+    private final MeterRegistry meterRegistry;
+
+    OpenF1RequestMetrics(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    void record(String uri, long startNanos, int status) {
+        record(uri, startNanos, String.valueOf(status));
+    }
+
+    void record(String uri, long startNanos, Throwable failure) {
+        record(uri, startNanos, status(failure));
+    }
+
+    private void record(String uri, long startNanos, String status) {
+        Timer.builder("openf1.client.requests")
+                .description("OpenF1 HTTP calls, excluding the rate limiter wait")
+                .tag("endpoint", endpoint(uri))
+                .tag("status", status)
+                .register(meterRegistry)
+                .record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+    }
+
+    private static String endpoint(String uri) {
+        String path = URI.create(uri).getPath();
+        return path.substring(path.lastIndexOf('/') + 1);
+    }
+
+    private static String status(Throwable failure) {
+        Throwable cause = failure instanceof CompletionException && failure.getCause() != null ? failure.getCause() : failure;
+        if (cause instanceof RestClientResponseException responseException) {
+            return String.valueOf(responseException.getStatusCode().value());
+        }
+        if (cause instanceof ResourceAccessException || cause instanceof IOException) {
+            return "IO_ERROR";
+        }
+        return "ERROR";
+    }
+}
@@ -1,9 +1,12 @@
 package com.f1bet.integration;
 
+import java.time.OffsetDateTime;
+
 public record OpenF1Session (
     Integer session_key,
     String session_name,
     String session_type,
     Integer year,
-    String country_name
+    String country_name,
+    OffsetDateTime date_end
 ){}
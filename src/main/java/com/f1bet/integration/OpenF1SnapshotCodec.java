@@ -0,0 +1,144 @@
+package com.f1bet.integration;
+
+import com.f1bet.model.Driver;
+import com.f1bet.model.Event;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Binary encoding of the records in an {@link OpenF1SnapshotFile}. The session key is the
+ * record's key and is not repeated inside it. Null integers are stored as
+ * {@link Integer#MIN_VALUE} and null strings with a length of -1.
+ */
+final class OpenF1SnapshotCodec {
+
+    private static final int NULL_INT = Integer.MIN_VALUE;
+
+    private OpenF1SnapshotCodec() {
+    }
+
+    static byte[] encodeSession(Event event) {
+        return encode(out -> {
+            writeString(out, event.getSessionName());
+            writeString(out, event.getSessionType());
+            writeInt(out, event.getYear());
+            writeString(out, event.getCountry());
+            OffsetDateTime dateEnd = event.getDateEnd();
+            out.writeBoolean(dateEnd != null);
+            if (dateEnd != null) {
+                out.writeLong(dateEnd.toEpochSecond());
+                out.writeInt(dateEnd.getNano());
+                out.writeInt(dateEnd.getOffset().getTotalSeconds());
+            }
+        });
+    }
+
+    static Event decodeSession(int sessionKey, ByteBuffer record) {
+        Event event = new Event();
+        event.setSessionKey(sessionKey);
+        event.setSessionName(readString(record));
+        event.setSessionType(readString(record));
+        event.setYear(readInt(record));
+        event.setCountry(readString(record));
+        if (record.get() != 0) {
+            Instant instant = Instant.ofEpochSecond(record.getLong(), record.getInt());
+            event.setDateEnd(OffsetDateTime.ofInstant(instant, ZoneOffset.ofTotalSeconds(record.getInt())));
+        }
+        return event;
+    }
+
+    static byte[] encodeDrivers(List<Driver> drivers) {
+        return encode(out -> {
+            out.writeInt(drivers.size());
+            for (Driver driver : drivers) {
+                writeInt(out, driver.getDriverNumber());
+                writeString(out, driver.getFullName());
+            }
+        });
+    }
+
+    static List<Driver> decodeDrivers(ByteBuffer record) {
+        int count = record.getInt();
+        List<Driver> drivers = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            Driver driver = new Driver();
+            driver.setDriverNumber(readInt(record));
+            driver.setFullName(readString(record));
+            drivers.add(driver);
+        }
+        return drivers;
+    }
+
+    static byte[] encodeSessionResults(List<OpenF1SessionResult> results) {
+        return encode(out -> {
+            out.writeInt(results.size());
+            for (OpenF1SessionResult result : results) {
+                writeInt(out, result.driver_number());
+                writeInt(out, result.driver_id());
+            }
+        });
+    }
+
+    static List<OpenF1SessionResult> decodeSessionResults(int sessionKey, ByteBuffer record) {
+        int count = record.getInt();
+        List<OpenF1SessionResult> results = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            results.add(new OpenF1SessionResult(sessionKey, readInt(record), readInt(record)));
+        }
+        return results;
+    }
+
+    private static byte[] encode(Encoder encoder) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(64);
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            encoder.encode(out);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    private static void writeInt(DataOutputStream out, Integer value) throws IOException {
+        out.writeInt(value != null ? value : NULL_INT);
+    }
+
+    private static Integer readInt(ByteBuffer record) {
+        int value = record.getInt();
+        return value != NULL_INT ? value : null;
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        if (value == null) {
+            out.writeInt(-1);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static String readString(ByteBuffer record) {
+        int length = record.getInt();
+        if (length < 0) {
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        record.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    @FunctionalInterface
+    private interface Encoder {
+        void encode(DataOutputStream out) throws IOException;
+    }
+}
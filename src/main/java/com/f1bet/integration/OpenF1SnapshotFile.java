@@ -0,0 +1,132 @@
+package com.f1bet.integration;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.function.ObjIntConsumer;
+
+/**
+ * One endpoint's worth of an OpenF1 snapshot: binary records keyed by session key, read
+ * through a memory-mapped buffer. The file holds a header, an index sorted by key and the
+ * records themselves:
+ * <pre>
+ * int magic, int version, int count
+ * count x (int key, int offset, int length)
+ * record bytes
+ * </pre>
+ * A lookup is a binary search over the mapped index, so nothing but the requested record
+ * is decoded. A file that does not exist reads as an empty snapshot.
+ */
+final class OpenF1SnapshotFile {
+
+    static final String SESSIONS = "sessions.snapshot";
+    static final String DRIVERS = "drivers.snapshot";
+    static final String SESSION_RESULTS = "session_result.snapshot";
+
+    private static final int MAGIC = 0x4631534E;
+    private static final int VERSION = 1;
+    private static final int HEADER_BYTES = 3 * Integer.BYTES;
+    private static final int INDEX_ENTRY_BYTES = 3 * Integer.BYTES;
+
+    private final ByteBuffer buffer;
+    private final int count;
+
+    private OpenF1SnapshotFile(ByteBuffer buffer, int count) {
+        this.buffer = buffer;
+        this.count = count;
+    }
+
+    static OpenF1SnapshotFile open(Path file) throws IOException {
+        if (!Files.exists(file)) {
+            return new OpenF1SnapshotFile(ByteBuffer.allocate(0), 0);
+        }
+        ByteBuffer buffer;
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            // The mapping stays valid after the channel is closed.
+            buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+        if (buffer.capacity() < HEADER_BYTES || buffer.getInt(0) != MAGIC) {
+            throw new IOException("Not an OpenF1 snapshot: " + file);
+        }
+        if (buffer.getInt(Integer.BYTES) != VERSION) {
+            throw new IOException("Unsupported OpenF1 snapshot version " + buffer.getInt(Integer.BYTES) + ": " + file);
+        }
+        return new OpenF1SnapshotFile(buffer, buffer.getInt(2 * Integer.BYTES));
+    }
+
+    int size() {
+        return count;
+    }
+
+    /**
+     * Returns the record of {@code key} as a buffer of its own, or {@code null} when the
+     * snapshot has none.
+     */
+    ByteBuffer find(int key) {
+        int low = 0;
+        int high = count - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            int midKey = buffer.getInt(indexEntry(mid));
+            if (midKey < key) {
+                low = mid + 1;
+            } else if (midKey > key) {
+                high = mid - 1;
+            } else {
+                return record(mid);
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Hands every record to {@code action} together with its key, in key order.
+     */
+    void forEach(ObjIntConsumer<ByteBuffer> action) {
+        for (int i = 0; i < count; i++) {
+            action.accept(record(i), buffer.getInt(indexEntry(i)));
+        }
+    }
+
+    private ByteBuffer record(int i) {
+        int entry = indexEntry(i);
+        return buffer.slice(buffer.getInt(entry + Integer.BYTES), buffer.getInt(entry + 2 * Integer.BYTES));
+    }
+
+    private static int indexEntry(int i) {
+        return HEADER_BYTES + i * INDEX_ENTRY_BYTES;
+    }
+
+    /**
+     * Writes {@code records} to {@code file}, replacing it atomically so readers that already
+     * mapped the previous version keep seeing a complete file.
+     */
+    static void write(Path file, SortedMap<Integer, byte[]> records) throws IOException {
+        int dataStart = HEADER_BYTES + records.size() * INDEX_ENTRY_BYTES;
+        int size = dataStart + records.values().stream().mapToInt(record -> record.length).sum();
+        ByteBuffer buffer = ByteBuffer.allocate(size);
+        buffer.putInt(MAGIC).putInt(VERSION).putInt(records.size());
+        int offset = dataStart;
+        for (Map.Entry<Integer, byte[]> entry : records.entrySet()) {
+            buffer.putInt(entry.getKey()).putInt(offset).putInt(entry.getValue().length);
+            offset += entry.getValue().length;
+        }
+        records.values().forEach(buffer::put);
+
+        Path directory = file.toAbsolutePath().getParent();
+        Files.createDirectories(directory);
+        Path temporary = Files.createTempFile(directory, file.getFileName().toString(), ".tmp");
+        try {
+            Files.write(temporary, buffer.array());
+            Files.move(temporary, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temporary);
+        }
+    }
+}
@@ -0,0 +1,13 @@
+package com.f1bet.integration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.nio.file.Path;
+
+/**
+ * @param directory where snapshots are written when recording and read from by the replay client
+ * @param record    whether the rest-template client writes every OpenF1 response it gets into the snapshot
+ */
+@ConfigurationProperties("f1bet.openf1.snapshot")
+public record OpenF1SnapshotProperties(Path directory, boolean record) {
+}
@@ -0,0 +1,94 @@
+package com.f1bet.integration;
+
+import com.f1bet.model.Driver;
+import com.f1bet.model.Event;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Writes OpenF1 responses into a snapshot directory that {@link ReplayF1APIClient} serves.
+ * Records already in the directory are kept, so recording runs add up, and a session key
+ * seen again is overwritten with its latest payload. Every response rewrites the file of
+ * its endpoint, which is cheap at the request rate OpenF1 allows. A failed write is logged
+ * and does not fail the call that was being recorded.
+ */
+final class OpenF1SnapshotRecorder {
+
+    private static final Logger log = LoggerFactory.getLogger(OpenF1SnapshotRecorder.class);
+
+    private final Section sessions;
+    private final Section drivers;
+    private final Section sessionResults;
+
+    OpenF1SnapshotRecorder(Path directory) {
+        this.sessions = new Section(directory.resolve(OpenF1SnapshotFile.SESSIONS));
+        this.drivers = new Section(directory.resolve(OpenF1SnapshotFile.DRIVERS));
+        this.sessionResults = new Section(directory.resolve(OpenF1SnapshotFile.SESSION_RESULTS));
+    }
+
+    void recordSessions(List<Event> events) {
+        SortedMap<Integer, byte[]> records = new TreeMap<>();
+        for (Event event : events) {
+            if (event.getSessionKey() != null) {
+                records.put(event.getSessionKey(), OpenF1SnapshotCodec.encodeSession(event));
+            }
+        }
+        sessions.putAll(records);
+    }
+
+    void recordDrivers(int sessionKey, List<Driver> sessionDrivers) {
+        drivers.putAll(new TreeMap<>(Map.of(sessionKey, OpenF1SnapshotCodec.encodeDrivers(sessionDrivers))));
+    }
+
+    void recordSessionResults(int sessionKey, List<OpenF1SessionResult> results) {
+        sessionResults.putAll(new TreeMap<>(Map.of(sessionKey, OpenF1SnapshotCodec.encodeSessionResults(results))));
+    }
+
+    private static final class Section {
+
+        private final Path file;
+        private final SortedMap<Integer, byte[]> records = new TreeMap<>();
+        // Not synchronized: a virtual thread blocked on file I/O inside a monitor pins its carrier.
+        private final ReentrantLock lock = new ReentrantLock();
+
+        Section(Path file) {
+            this.file = file;
+            try {
+                OpenF1SnapshotFile.open(file).forEach((record, key) -> records.put(key, bytesOf(record)));
+            } catch (IOException e) {
+                throw new UncheckedIOException("Cannot read OpenF1 snapshot " + file, e);
+            }
+        }
+
+        void putAll(SortedMap<Integer, byte[]> added) {
+            if (added.isEmpty()) {
+                return;
+            }
+            lock.lock();
+            try {
+                records.putAll(added);
+                OpenF1SnapshotFile.write(file, records);
+            } catch (IOException e) {
+                log.warn("Could not write OpenF1 snapshot {}: {}", file, e.getMessage());
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        private static byte[] bytesOf(ByteBuffer record) {
+            byte[] bytes = new byte[record.remaining()];
+            record.get(bytes);
+            return bytes;
+        }
+    }
+}
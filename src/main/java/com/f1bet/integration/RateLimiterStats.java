@@ -0,0 +1,14 @@
+package com.f1bet.integration;
+
+import java.time.Duration;
+
+/**
+ * @param queueDepth  callers currently waiting for their permit
+ * @param acquired    permits granted so far
+ * @param rejected    acquisitions refused because the wait would exceed the timeout
+ * @param delayed     granted permits that had to wait
+ * @param averageWait mean wait of the delayed acquisitions
+ * @param maxWait     longest wait handed out so far
+ */
+public record RateLimiterStats(int queueDepth, long acquired, long rejected, long delayed, Duration averageWait, Duration maxWait) {
+}
@@ -0,0 +1,81 @@
+package com.f1bet.integration;
+
+import com.f1bet.model.Driver;
+import com.f1bet.model.Event;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * {@link F1APIClient} that answers from a snapshot recorded by {@link OpenF1ClientImpl}
+ * instead of calling OpenF1, for benchmarks, load tests and running while OpenF1 is
+ * unavailable. Sessions are filtered the way OpenF1 filters them; a session key the
+ * snapshot does not hold gets no drivers and no results, as it would upstream.
+ * <p>
+ * The snapshot files are memory-mapped when the client starts and looked up by session key,
+ * so no JSON is parsed and nothing goes over the network.
+ */
+@Component
+@Qualifier("openF1Transport")
+@ConditionalOnProperty(name = "f1bet.openf1.client", havingValue = "replay")
+public class ReplayF1APIClient implements F1APIClient {
+
+    private static final Logger log = LoggerFactory.getLogger(ReplayF1APIClient.class);
+
+    private final OpenF1SnapshotFile sessions;
+    private final OpenF1SnapshotFile drivers;
+    private final OpenF1SnapshotFile sessionResults;
+
+    public ReplayF1APIClient(OpenF1SnapshotProperties properties) {
+        Path directory = properties.directory();
+        try {
+            this.sessions = OpenF1SnapshotFile.open(directory.resolve(OpenF1SnapshotFile.SESSIONS));
+            this.drivers = OpenF1SnapshotFile.open(directory.resolve(OpenF1SnapshotFile.DRIVERS));
+            this.sessionResults = OpenF1SnapshotFile.open(directory.resolve(OpenF1SnapshotFile.SESSION_RESULTS));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot open OpenF1 snapshot in " + directory, e);
+        }
+        log.info("Replaying OpenF1 from {}: {} sessions, {} driver grids, {} session results",
+                directory, sessions.size(), drivers.size(), sessionResults.size());
+    }
+
+    @Override
+    public List<Event> getSessions(String sessionType, Integer year, String country) {
+        List<Event> events = new ArrayList<>();
+        sessions.forEach((record, sessionKey) -> {
+            Event event = OpenF1SnapshotCodec.decodeSession(sessionKey, record);
+            if (matches(sessionType, event.getSessionType())
+                    && matches(year, event.getYear())
+                    && matches(country, event.getCountry())) {
+                events.add(event);
+            }
+        });
+        return events;
+    }
+
+    @Override
+    public List<Driver> getDriversForSession(Integer sessionKey) {
+        ByteBuffer record = sessionKey != null ? drivers.find(sessionKey) : null;
+        return record != null ? OpenF1SnapshotCodec.decodeDrivers(record) : new ArrayList<>();
+    }
+
+    @Override
+    public List<OpenF1SessionResult> getSessionResults(Integer sessionKey) {
+        ByteBuffer record = sessionKey != null ? sessionResults.find(sessionKey) : null;
+        return record != null ? OpenF1SnapshotCodec.decodeSessionResults(sessionKey, record) : new ArrayList<>();
+    }
+
+    private static boolean matches(Object filter, Object value) {
+        return filter == null || Objects.equals(filter, value);
+    }
+}
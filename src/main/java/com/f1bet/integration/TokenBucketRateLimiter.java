@@ -0,0 +1,194 @@
+package com.f1bet.integration;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongConsumer;
+import java.util.function.LongSupplier;
+
+/**
+ * Token bucket that refills continuously at {@code permitsPerSecond} and holds at most
+ * {@code burst} unused permits. Callers reserve the next free slot under a short lock and
+ * then wait outside of it, so nobody parks while holding the bucket and waiting callers
+ * are spread evenly instead of being released together at second boundaries.
+ * <p>
+ * A reservation that would have to wait longer than {@code timeout} is rejected up front
+ * with {@link RateLimitExceededException}; with {@code failFast} any caller that cannot get
+ * a permit immediately is rejected. The wait of every granted permit, zero included, is
+ * handed to the optional wait recorder.
+ */
+public class TokenBucketRateLimiter {
+
+    private final double burst;
+    private final long intervalNanos;
+    private final long timeoutNanos;
+    private final boolean failFast;
+    private final LongSupplier nanoClock;
+    private final LongConsumer waitRecorder;
+    private final ReentrantLock lock = new ReentrantLock();
+
+    private double storedPermits;
+    private long nextFreeNanos;
+
+    private final AtomicInteger queueDepth = new AtomicInteger();
+    private final LongAdder acquired = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder delayed = new LongAdder();
+    private final LongAdder totalWaitNanos = new LongAdder();
+    private final AtomicLong maxWaitNanos = new AtomicLong();
+
+    public TokenBucketRateLimiter(double permitsPerSecond, int burst, Duration timeout, boolean failFast) {
+        this(permitsPerSecond, burst, timeout, failFast, System::nanoTime);
+    }
+
+    public TokenBucketRateLimiter(double permitsPerSecond, int burst, Duration timeout, boolean failFast, LongConsumer waitRecorder) {
+        this(permitsPerSecond, burst, timeout, failFast, System::nanoTime, waitRecorder);
+    }
+
+    TokenBucketRateLimiter(double permitsPerSecond, int burst, Duration timeout, boolean failFast, LongSupplier nanoClock) {
+        this(permitsPerSecond, burst, timeout, failFast, nanoClock, waitNanos -> {
+        });
+    }
+
+    TokenBucketRateLimiter(double permitsPerSecond, int burst, Duration timeout, boolean failFast, LongSupplier nanoClock,
+                           LongConsumer waitRecorder) {
+        if (permitsPerSecond <= 0) {
+            throw new IllegalArgumentException("permitsPerSecond must be positive");
+        }
+        if (burst <= 0) {
+            throw new IllegalArgumentException("burst must be positive");
+        }
+        this.burst = burst;
+        this.intervalNanos = (long) (TimeUnit.SECONDS.toNanos(1) / permitsPerSecond);
+        this.timeoutNanos = timeout.toNanos();
+        this.failFast = failFast;
+        this.nanoClock = nanoClock;
+        this.waitRecorder = waitRecorder;
+        this.storedPermits = burst;
+        this.nextFreeNanos = nanoClock.getAsLong();
+    }
+
+    /**
+     * Blocks until a permit is available.
+     *
+     * @throws RateLimitExceededException if the permit cannot be granted within the configured timeout
+     */
+    public void acquire() {
+        long waitNanos = reserveOrReject();
+        if (waitNanos <= 0) {
+            return;
+        }
+        queueDepth.incrementAndGet();
+        try {
+            TimeUnit.NANOSECONDS.sleep(waitNanos);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RateLimitExceededException("Interrupted while waiting for rate limiter", e);
+        } finally {
+            queueDepth.decrementAndGet();
+        }
+    }
+
+    /**
+     * Returns a future that completes once a permit is available, without parking the caller.
+     * The future fails with {@link RateLimitExceededException} if the permit cannot be granted
+     * within the configured timeout.
+     */
+    public CompletableFuture<Void> acquireAsync() {
+        long waitNanos;
+        try {
+            waitNanos = reserveOrReject();
+        } catch (RateLimitExceededException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+        if (waitNanos <= 0) {
+            return CompletableFuture.completedFuture(null);
+        }
+        queueDepth.incrementAndGet();
+        return CompletableFuture.runAsync(queueDepth::decrementAndGet,
+                CompletableFuture.delayedExecutor(waitNanos, TimeUnit.NANOSECONDS));
+    }
+
+    /**
+     * Takes a permit only if one is available right now.
+     */
+    public boolean tryAcquire() {
+        lock.lock();
+        try {
+            long now = nanoClock.getAsLong();
+            resync(now);
+            if (waitFor(now) > 0) {
+                return false;
+            }
+            reserve(now);
+        } finally {
+            lock.unlock();
+        }
+        acquired.increment();
+        waitRecorder.accept(0);
+        return true;
+    }
+
+    public RateLimiterStats stats() {
+        long delayedCount = delayed.sum();
+        return new RateLimiterStats(
+                queueDepth.get(),
+                acquired.sum(),
+                rejected.sum(),
+                delayedCount,
+                Duration.ofNanos(delayedCount == 0 ? 0 : totalWaitNanos.sum() / delayedCount),
+                Duration.ofNanos(maxWaitNanos.get())
+        );
+    }
+
+    private long reserveOrReject() {
+        long waitNanos;
+        lock.lock();
+        try {
+            long now = nanoClock.getAsLong();
+            long maxWait = failFast ? 0 : timeoutNanos;
+            resync(now);
+            if (waitFor(now) > maxWait) {
+                rejected.increment();
+                throw new RateLimitExceededException("OpenF1 rate limit exceeded, no permit available within " + Duration.ofNanos(maxWait));
+            }
+            waitNanos = reserve(now);
+        } finally {
+            lock.unlock();
+        }
+        acquired.increment();
+        waitRecorder.accept(Math.max(0, waitNanos));
+        if (waitNanos > 0) {
+            delayed.increment();
+            totalWaitNanos.add(waitNanos);
+            maxWaitNanos.accumulateAndGet(waitNanos, Math::max);
+        }
+        return waitNanos;
+    }
+
+    // The helpers below must be called with the lock held.
+
+    private void resync(long now) {
+        if (now > nextFreeNanos) {
+            storedPermits = Math.min(burst, storedPermits + (double) (now - nextFreeNanos) / intervalNanos);
+            nextFreeNanos = now;
+        }
+    }
+
+    private long waitFor(long now) {
+        double missing = 1.0 - Math.min(1.0, storedPermits);
+        return nextFreeNanos + (long) (missing * intervalNanos) - now;
+    }
+
+    private long reserve(long now) {
+        long waitNanos = waitFor(now);
+        double fromStored = Math.min(1.0, storedPermits);
+        storedPermits -= fromStored;
+        nextFreeNanos += (long) ((1.0 - fromStored) * intervalNanos);
+        return waitNanos;
+    }
+}
@@ -2,8 +2,11 @@ package com.f1bet.mapper;
 
 import com.f1bet.controller.response.PlaceBetResponse;
 import com.f1bet.model.Bet;
+import com.f1bet.model.Money;
 import org.springframework.stereotype.Component;
 
+import java.math.BigDecimal;
+
 @Component
 public class BetMapper {
 
@@ -12,9 +15,16 @@ public class BetMapper {
                 bet.getUserId(),
                 bet.getId(),
                 bet.getStatus(),
-                bet.getAmount(),
+                toBigDecimal(bet.getAmount()),
                 bet.getOdds(),
-                bet.getTotalAwarded()
+                toBigDecimal(bet.getTotalAwarded()),
+                bet.getMarketVersion(),
+                bet.getReference(),
+                bet.getReason()
         );
     }
+
+    private static BigDecimal toBigDecimal(Money money) {
+        return money == null ? null : money.toBigDecimal();
+    }
 }
@@ -4,6 +4,7 @@ import com.f1bet.controller.response.DriverResponse;
 import com.f1bet.controller.response.EventResponse;
 import com.f1bet.model.Driver;
 import com.f1bet.model.Event;
+import com.f1bet.model.Market;
 import org.springframework.stereotype.Component;
 
 import java.util.List;
@@ -13,9 +14,17 @@ import java.util.stream.Collectors;
 public class EventMapper {
 
     public EventResponse toResponse(Event event) {
+        return toResponse(event, null);
+    }
+
+    /**
+     * Maps the event with its drivers priced from {@code market}; drivers the market does not
+     * price, or every driver when there is no market, are listed without odds.
+     */
+    public EventResponse toResponse(Event event, Market market) {
         List<DriverResponse> driverMarket = (event.getDriverMarket() == null ? List.<Driver>of() : event.getDriverMarket())
                 .stream()
-                .map(this::toDriverResponse)
+                .map(driver -> toDriverResponse(driver, market))
                 .collect(Collectors.toList());
 
         return new EventResponse(
@@ -24,11 +33,14 @@ public class EventMapper {
                 event.getSessionType(),
                 event.getYear(),
                 event.getCountry(),
-                driverMarket
+                driverMarket,
+                event.isMarketLoading(),
+                market == null ? null : market.version()
         );
     }
 
-    public DriverResponse toDriverResponse(Driver driver) {
-        return new DriverResponse(driver.getFullName(), driver.getDriverNumber(), driver.getOdds());
+    public DriverResponse toDriverResponse(Driver driver, Market market) {
+        Integer odds = market == null ? null : market.oddsFor(driver.getDriverNumber());
+        return new DriverResponse(driver.getFullName(), driver.getDriverNumber(), odds);
     }
 }
@@ -5,31 +5,41 @@ import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
 
-import java.math.BigDecimal;
-
 @Entity
-@Table(name = "bets")
+@Table(name = "bets", indexes = {
+        @Index(name = "idx_bets_event_id_id", columnList = "event_id, id"),
+        @Index(name = "uk_bets_reference", columnList = "reference", unique = true),
+        @Index(name = "uk_bets_user_idempotency_key", columnList = "user_id, idempotency_key", unique = true)})
 public class Bet {
 
+    // A pooled sequence hands out ids in blocks, so Hibernate can batch inserts; IDENTITY would force one round trip per row.
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "bets_seq")
+    @SequenceGenerator(name = "bets_seq", sequenceName = "bets_seq", allocationSize = 50)
     private Long id;
     private Long userId;
     private String eventId;
     private Integer driverId;
 
     @Column(precision = 19, scale = 2)
-    private BigDecimal amount;
+    private Money amount;
 
     private Integer odds;
     private String status;
+    private Integer marketVersion;
+    private String reference;
+    private String idempotencyKey;
+    private String reason;
+    private String settlementRun;
 
     @Column(precision = 19, scale = 2)
-    private BigDecimal totalAwarded;
+    private Money totalAwarded;
 
-    public Bet(Long userId, String eventId, Integer driverId, BigDecimal amount, Integer odds, String status) {
+    public Bet(Long userId, String eventId, Integer driverId, Money amount, Integer odds, String status) {
         this.userId = userId;
         this.eventId = eventId;
         this.driverId = driverId;
@@ -74,11 +84,11 @@ public class Bet {
         this.driverId = driverId;
     }
 
-    public BigDecimal getAmount() {
+    public Money getAmount() {
         return amount;
     }
 
-    public void setAmount(BigDecimal amount) {
+    public void setAmount(Money amount) {
         this.amount = amount;
     }
 
@@ -98,11 +108,51 @@ public class Bet {
         this.status = status;
     }
 
-    public BigDecimal getTotalAwarded() {
+    public Money getTotalAwarded() {
         return totalAwarded;
     }
 
-    public void setTotalAwarded(BigDecimal totalAwarded) {
+    public void setTotalAwarded(Money totalAwarded) {
         this.totalAwarded = totalAwarded;
     }
-}
\ No newline at end of file
+
+    public Integer getMarketVersion() {
+        return marketVersion;
+    }
+
+    public void setMarketVersion(Integer marketVersion) {
+        this.marketVersion = marketVersion;
+    }
+
+    public String getReference() {
+        return reference;
+    }
+
+    public void setReference(String reference) {
+        this.reference = reference;
+    }
+
+    public String getIdempotencyKey() {
+        return idempotencyKey;
+    }
+
+    public void setIdempotencyKey(String idempotencyKey) {
+        this.idempotencyKey = idempotencyKey;
+    }
+
+    public String getReason() {
+        return reason;
+    }
+
+    public void setReason(String reason) {
+        this.reason = reason;
+    }
+
+    public String getSettlementRun() {
+        return settlementRun;
+    }
+
+    public void setSettlementRun(String settlementRun) {
+        this.settlementRun = settlementRun;
+    }
+}
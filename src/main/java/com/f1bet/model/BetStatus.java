@@ -1,7 +1,19 @@
 package com.f1bet.model;
 
 public enum BetStatus {
+    /**
+     * Accepted by the asynchronous intake but not written yet; never stored.
+     */
+    QUEUED,
     PENDING,
     WON,
-    LOST
+    LOST,
+    /**
+     * Refused by the asynchronous intake when written: unknown user or insufficient balance.
+     */
+    REJECTED,
+    /**
+     * Accepted by the asynchronous intake but could not be written; never debited.
+     */
+    FAILED
 }
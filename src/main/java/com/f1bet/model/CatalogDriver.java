@@ -0,0 +1,62 @@
+package com.f1bet.model;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+
+@Entity
+@Table(name = "catalog_drivers", indexes = @Index(name = "idx_catalog_drivers_session_key", columnList = "session_key"))
+public class CatalogDriver {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    private Integer sessionKey;
+    private Integer driverNumber;
+    private String fullName;
+
+    public CatalogDriver(Integer sessionKey, Integer driverNumber, String fullName) {
+        this.sessionKey = sessionKey;
+        this.driverNumber = driverNumber;
+        this.fullName = fullName;
+    }
+
+    public CatalogDriver() {
+
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public Integer getSessionKey() {
+        return sessionKey;
+    }
+
+    public void setSessionKey(Integer sessionKey) {
+        this.sessionKey = sessionKey;
+    }
+
+    public Integer getDriverNumber() {
+        return driverNumber;
+    }
+
+    public void setDriverNumber(Integer driverNumber) {
+        this.driverNumber = driverNumber;
+    }
+
+    public String getFullName() {
+        return fullName;
+    }
+
+    public void setFullName(String fullName) {
+        this.fullName = fullName;
+    }
+}
@@ -0,0 +1,84 @@
+package com.f1bet.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+
+import java.time.Instant;
+import java.time.OffsetDateTime;
+
+@Entity
+@Table(name = "catalog_sessions", indexes = {
+        @Index(name = "idx_catalog_sessions_year_type", columnList = "season_year, session_type"),
+        @Index(name = "idx_catalog_sessions_country", columnList = "country")
+})
+public class CatalogSession {
+
+    @Id
+    private Integer sessionKey;
+    private String sessionName;
+    private String sessionType;
+    @Column(name = "season_year")
+    private Integer year;
+    private String country;
+    private OffsetDateTime dateEnd;
+    private Instant driversSyncedAt;
+
+    public Integer getSessionKey() {
+        return sessionKey;
+    }
+
+    public void setSessionKey(Integer sessionKey) {
+        this.sessionKey = sessionKey;
+    }
+
+    public String getSessionName() {
+        return sessionName;
+    }
+
+    public void setSessionName(String sessionName) {
+        this.sessionName = sessionName;
+    }
+
+    public String getSessionType() {
+        return sessionType;
+    }
+
+    public void setSessionType(String sessionType) {
+        this.sessionType = sessionType;
+    }
+
+    public Integer getYear() {
+        return year;
+    }
+
+    public void setYear(Integer year) {
+        this.year = year;
+    }
+
+    public String getCountry() {
+        return country;
+    }
+
+    public void setCountry(String country) {
+        this.country = country;
+    }
+
+    public OffsetDateTime getDateEnd() {
+        return dateEnd;
+    }
+
+    public void setDateEnd(OffsetDateTime dateEnd) {
+        this.dateEnd = dateEnd;
+    }
+
+    public Instant getDriversSyncedAt() {
+        return driversSyncedAt;
+    }
+
+    public void setDriversSyncedAt(Instant driversSyncedAt) {
+        this.driversSyncedAt = driversSyncedAt;
+    }
+}
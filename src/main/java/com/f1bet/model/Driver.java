@@ -4,7 +4,6 @@ public class Driver {
 
     private String fullName;
     private Integer driverNumber;
-    private Integer odds;
 
     public String getFullName() {
         return fullName;
@@ -21,12 +20,4 @@ public class Driver {
     public void setDriverNumber(Integer driverNumber) {
         this.driverNumber = driverNumber;
     }
-
-    public Integer getOdds() {
-        return odds;
-    }
-
-    public void setOdds(Integer odds) {
-        this.odds = odds;
-    }
 }
\ No newline at end of file
@@ -1,5 +1,6 @@
 package com.f1bet.model;
 
+import java.time.OffsetDateTime;
 import java.util.List;
 
 public class Event {
@@ -9,7 +10,9 @@ public class Event {
     private String sessionType;
     private Integer year;
     private String country;
+    private OffsetDateTime dateEnd;
     private List<Driver> driverMarket;
+    private boolean marketLoading;
 
     public Integer getSessionKey() {
         return sessionKey;
@@ -51,6 +54,14 @@ public class Event {
         this.country = country;
     }
 
+    public OffsetDateTime getDateEnd() {
+        return dateEnd;
+    }
+
+    public void setDateEnd(OffsetDateTime dateEnd) {
+        this.dateEnd = dateEnd;
+    }
+
     public List<Driver> getDriverMarket() {
         return driverMarket;
     }
@@ -58,4 +69,12 @@ public class Event {
     public void setDriverMarket(List<Driver> driverMarket) {
         this.driverMarket = driverMarket;
     }
+
+    public boolean isMarketLoading() {
+        return marketLoading;
+    }
+
+    public void setMarketLoading(boolean marketLoading) {
+        this.marketLoading = marketLoading;
+    }
 }
\ No newline at end of file
@@ -0,0 +1,105 @@
+package com.f1bet.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+
+import java.time.Instant;
+
+/**
+ * Last persisted totals of the open bets on one driver of one event.
+ */
+@Entity
+@Table(name = "event_exposure", uniqueConstraints = @UniqueConstraint(
+        name = "uk_event_exposure_event_driver", columnNames = {"event_id", "driver_id"}))
+public class EventExposure {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    private String eventId;
+    private Integer driverId;
+
+    @Column(precision = 19, scale = 2)
+    private Money stakeTotal;
+
+    private long betCount;
+
+    @Column(precision = 19, scale = 2)
+    private Money potentialPayout;
+
+    private Instant updatedAt;
+
+    public EventExposure(String eventId, Integer driverId, Money stakeTotal, long betCount, Money potentialPayout, Instant updatedAt) {
+        this.eventId = eventId;
+        this.driverId = driverId;
+        this.stakeTotal = stakeTotal;
+        this.betCount = betCount;
+        this.potentialPayout = potentialPayout;
+        this.updatedAt = updatedAt;
+    }
+
+    public EventExposure() {
+
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getEventId() {
+        return eventId;
+    }
+
+    public void setEventId(String eventId) {
+        this.eventId = eventId;
+    }
+
+    public Integer getDriverId() {
+        return driverId;
+    }
+
+    public void setDriverId(Integer driverId) {
+        this.driverId = driverId;
+    }
+
+    public Money getStakeTotal() {
+        return stakeTotal;
+    }
+
+    public void setStakeTotal(Money stakeTotal) {
+        this.stakeTotal = stakeTotal;
+    }
+
+    public long getBetCount() {
+        return betCount;
+    }
+
+    public void setBetCount(long betCount) {
+        this.betCount = betCount;
+    }
+
+    public Money getPotentialPayout() {
+        return potentialPayout;
+    }
+
+    public void setPotentialPayout(Money potentialPayout) {
+        this.potentialPayout = potentialPayout;
+    }
+
+    public Instant getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public void setUpdatedAt(Instant updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+}
@@ -0,0 +1,102 @@
+package com.f1bet.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+
+import java.time.Instant;
+
+/**
+ * One immutable balance change of a user. {@code amount} is signed: debits are negative.
+ * Once an entry is folded into {@link User#getBalance()} it is flagged {@code compacted}
+ * and kept as the audit trail.
+ */
+@Entity
+@Table(name = "wallet_ledger", indexes = @Index(name = "idx_wallet_ledger_user_compacted", columnList = "user_id, compacted"))
+public class LedgerEntry {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    private Long userId;
+
+    @Column(precision = 19, scale = 2)
+    private Money amount;
+
+    private String type;
+    private String reference;
+    private Instant createdAt;
+    private boolean compacted;
+
+    public LedgerEntry(Long userId, Money amount, String type, String reference, Instant createdAt) {
+        this.userId = userId;
+        this.amount = amount;
+        this.type = type;
+        this.reference = reference;
+        this.createdAt = createdAt;
+    }
+
+    public LedgerEntry() {
+
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    public void setUserId(Long userId) {
+        this.userId = userId;
+    }
+
+    public Money getAmount() {
+        return amount;
+    }
+
+    public void setAmount(Money amount) {
+        this.amount = amount;
+    }
+
+    public String getType() {
+        return type;
+    }
+
+    public void setType(String type) {
+        this.type = type;
+    }
+
+    public String getReference() {
+        return reference;
+    }
+
+    public void setReference(String reference) {
+        this.reference = reference;
+    }
+
+    public Instant getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(Instant createdAt) {
+        this.createdAt = createdAt;
+    }
+
+    public boolean isCompacted() {
+        return compacted;
+    }
+
+    public void setCompacted(boolean compacted) {
+        this.compacted = compacted;
+    }
+}
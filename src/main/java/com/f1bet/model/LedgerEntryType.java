@@ -0,0 +1,6 @@
+package com.f1bet.model;
+
+public enum LedgerEntryType {
+    DEBIT,
+    CREDIT
+}
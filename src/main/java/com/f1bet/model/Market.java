@@ -0,0 +1,24 @@
+package com.f1bet.model;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Immutable view of one version of a session's market: the odds of every driver priced so far.
+ * A newer version only ever adds drivers, it never changes the odds already published.
+ */
+public record Market(int sessionKey, int version, Map<Integer, Integer> odds) {
+
+    public Market {
+        odds = Map.copyOf(odds);
+    }
+
+    public Integer oddsFor(Integer driverNumber) {
+        return driverNumber == null ? null : odds.get(driverNumber);
+    }
+
+    public boolean prices(Collection<Integer> driverNumbers) {
+        return driverNumbers.stream().filter(Objects::nonNull).allMatch(odds::containsKey);
+    }
+}
@@ -0,0 +1,62 @@
+package com.f1bet.model;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+
+@Entity
+@Table(name = "market_prices", indexes = @Index(name = "idx_market_prices_snapshot_id", columnList = "snapshot_id"))
+public class MarketPrice {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    private Long snapshotId;
+    private Integer driverNumber;
+    private Integer odds;
+
+    public MarketPrice(Long snapshotId, Integer driverNumber, Integer odds) {
+        this.snapshotId = snapshotId;
+        this.driverNumber = driverNumber;
+        this.odds = odds;
+    }
+
+    public MarketPrice() {
+
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public Long getSnapshotId() {
+        return snapshotId;
+    }
+
+    public void setSnapshotId(Long snapshotId) {
+        this.snapshotId = snapshotId;
+    }
+
+    public Integer getDriverNumber() {
+        return driverNumber;
+    }
+
+    public void setDriverNumber(Integer driverNumber) {
+        this.driverNumber = driverNumber;
+    }
+
+    public Integer getOdds() {
+        return odds;
+    }
+
+    public void setOdds(Integer odds) {
+        this.odds = odds;
+    }
+}
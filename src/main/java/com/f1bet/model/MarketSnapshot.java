@@ -0,0 +1,65 @@
+package com.f1bet.model;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+
+import java.time.Instant;
+
+@Entity
+@Table(name = "market_snapshots", uniqueConstraints = @UniqueConstraint(
+        name = "uk_market_snapshots_session_version", columnNames = {"session_key", "version"}))
+public class MarketSnapshot {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    private Integer sessionKey;
+    private Integer version;
+    private Instant createdAt;
+
+    public MarketSnapshot(Integer sessionKey, Integer version, Instant createdAt) {
+        this.sessionKey = sessionKey;
+        this.version = version;
+        this.createdAt = createdAt;
+    }
+
+    public MarketSnapshot() {
+
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public Integer getSessionKey() {
+        return sessionKey;
+    }
+
+    public void setSessionKey(Integer sessionKey) {
+        this.sessionKey = sessionKey;
+    }
+
+    public Integer getVersion() {
+        return version;
+    }
+
+    public void setVersion(Integer version) {
+        this.version = version;
+    }
+
+    public Instant getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(Instant createdAt) {
+        this.createdAt = createdAt;
+    }
+}
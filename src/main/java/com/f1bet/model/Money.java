@@ -0,0 +1,66 @@
+package com.f1bet.model;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/**
+ * Amount of money held as a whole number of cents, so service-layer arithmetic and
+ * comparisons are plain {@code long} operations. {@link BigDecimal} is only used at the
+ * edges: REST payloads, and the DECIMAL(19,2) columns through {@link MoneyConverter}.
+ * Arithmetic fails with {@link ArithmeticException} instead of overflowing silently.
+ */
+public record Money(long cents) implements Comparable<Money> {
+
+    public static final Money ZERO = new Money(0);
+
+    private static final int SCALE = 2;
+
+    public static Money ofCents(long cents) {
+        return cents == 0 ? ZERO : new Money(cents);
+    }
+
+    /**
+     * @throws ArithmeticException if {@code amount} has more than two decimal places or does not fit in a long of cents
+     */
+    public static Money of(BigDecimal amount) {
+        return ofCents(amount.setScale(SCALE, RoundingMode.UNNECESSARY).unscaledValue().longValueExact());
+    }
+
+    public BigDecimal toBigDecimal() {
+        return BigDecimal.valueOf(cents, SCALE);
+    }
+
+    public Money plus(Money other) {
+        return ofCents(Math.addExact(cents, other.cents));
+    }
+
+    public Money minus(Money other) {
+        return ofCents(Math.subtractExact(cents, other.cents));
+    }
+
+    public Money negate() {
+        return ofCents(Math.negateExact(cents));
+    }
+
+    public Money times(int factor) {
+        return ofCents(Math.multiplyExact(cents, factor));
+    }
+
+    public boolean isPositive() {
+        return cents > 0;
+    }
+
+    public boolean isAtLeast(Money other) {
+        return cents >= other.cents;
+    }
+
+    @Override
+    public int compareTo(Money other) {
+        return Long.compare(cents, other.cents);
+    }
+
+    @Override
+    public String toString() {
+        return toBigDecimal().toPlainString();
+    }
+}
@@ -1,13 +1,68 @@
 package com.f1bet.repository;
 
 import com.f1bet.model.Bet;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 public interface BetRepository extends JpaRepository<Bet, Long> {
 
+    Optional<Bet> findByReference(String reference);
+
+    Optional<Bet> findByUserIdAndIdempotencyKey(Long userId, String idempotencyKey);
+
     List<Bet> findByEventIdAndStatus(String eventId, String status);
 
-    List<Bet> findByEventId(String eventId);
-}
\ No newline at end of file
+    List<Bet> findByEventIdAndIdGreaterThanOrderByIdAsc(String eventId, Long afterId, Limit limit);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    Stream<Bet> streamByEventIdOrderByIdAsc(String eventId);
+
+    List<Bet> findByEventIdAndStatusAndIdGreaterThanOrderByIdAsc(String eventId, String status, Long afterId, Limit limit);
+
+    // The settlement updates tag the rows they change with the run, and payouts are summed from the
+    // tagged rows only: ids are handed out before commit, so no id or read can bound the rows an update will change.
+    // Money is mapped through a converter, so JPQL needs the cast to treat the column as a number.
+    @Modifying
+    @Query("update Bet b set b.status = :newStatus, b.totalAwarded = cast(b.amount as BigDecimal) * b.odds, " +
+            "b.settlementRun = :settlementRun " +
+            "where b.eventId = :eventId and b.status = :status and b.driverId = :driverId")
+    int settleWinners(@Param("eventId") String eventId,
+                      @Param("status") String status,
+                      @Param("driverId") Integer driverId,
+                      @Param("settlementRun") String settlementRun,
+                      @Param("newStatus") String newStatus);
+
+    @Modifying
+    @Query("update Bet b set b.status = :newStatus, b.totalAwarded = 0, b.settlementRun = :settlementRun " +
+            "where b.eventId = :eventId and b.status = :status " +
+            "and (:driverId is null or b.driverId is null or b.driverId <> :driverId)")
+    int settleLosers(@Param("eventId") String eventId,
+                     @Param("status") String status,
+                     @Param("driverId") Integer driverId,
+                     @Param("settlementRun") String settlementRun,
+                     @Param("newStatus") String newStatus);
+
+    @Query("select new com.f1bet.repository.UserPayout(b.userId, sum(cast(b.totalAwarded as BigDecimal))) from Bet b " +
+            "where b.eventId = :eventId and b.settlementRun = :settlementRun and b.status = :status " +
+            "group by b.userId")
+    List<UserPayout> sumPayoutsByUser(@Param("eventId") String eventId,
+                                      @Param("settlementRun") String settlementRun,
+                                      @Param("status") String status);
+
+    @Query("select new com.f1bet.repository.DriverSettlement(b.driverId, sum(cast(b.amount as BigDecimal)), count(b), " +
+            "sum(cast(b.amount as BigDecimal) * b.odds)) from Bet b " +
+            "where b.eventId = :eventId and b.settlementRun = :settlementRun " +
+            "group by b.driverId")
+    List<DriverSettlement> sumSettledByDriver(@Param("eventId") String eventId,
+                                              @Param("settlementRun") String settlementRun);
+}
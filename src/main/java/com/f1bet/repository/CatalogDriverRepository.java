@@ -0,0 +1,19 @@
+package com.f1bet.repository;
+
+import com.f1bet.model.CatalogDriver;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Collection;
+import java.util.List;
+
+public interface CatalogDriverRepository extends JpaRepository<CatalogDriver, Long> {
+
+    List<CatalogDriver> findBySessionKeyInOrderByIdAsc(Collection<Integer> sessionKeys);
+
+    @Modifying
+    @Query("delete from CatalogDriver d where d.sessionKey = :sessionKey")
+    int deleteBySessionKey(@Param("sessionKey") Integer sessionKey);
+}
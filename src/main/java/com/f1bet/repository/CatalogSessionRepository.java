@@ -0,0 +1,31 @@
+package com.f1bet.repository;
+
+import com.f1bet.model.CatalogSession;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.List;
+import java.util.Optional;
+
+public interface CatalogSessionRepository extends JpaRepository<CatalogSession, Integer> {
+
+    @Query("select s from CatalogSession s " +
+            "where (:sessionType is null or s.sessionType = :sessionType) " +
+            "and (:year is null or s.year = :year) " +
+            "and (:country is null or s.country = :country) " +
+            "order by s.sessionKey")
+    List<CatalogSession> search(@Param("sessionType") String sessionType,
+                                @Param("year") Integer year,
+                                @Param("country") String country,
+                                Pageable pageable);
+
+    List<CatalogSession> findByDriversSyncedAtIsNullOrderBySessionKeyDesc(Pageable pageable);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select s from CatalogSession s where s.sessionKey = :sessionKey")
+    Optional<CatalogSession> findForUpdate(@Param("sessionKey") Integer sessionKey);
+}
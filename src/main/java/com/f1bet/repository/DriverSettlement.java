@@ -0,0 +1,27 @@
+package com.f1bet.repository;
+
+import com.f1bet.model.Bet;
+import com.f1bet.model.Money;
+
+import java.math.BigDecimal;
+
+/**
+ * Stake total, bet count and potential payout of the bets on one driver that a settlement closed.
+ */
+public record DriverSettlement(Integer driverId, Money stake, long bets, Money payout) {
+
+    /**
+     * Used by JPQL constructor expressions, whose aggregates come back as {@link BigDecimal} and {@link Long}.
+     */
+    public DriverSettlement(Integer driverId, BigDecimal stake, Long bets, BigDecimal payout) {
+        this(driverId, Money.of(stake), bets, Money.of(payout));
+    }
+
+    public static DriverSettlement of(Bet bet) {
+        return new DriverSettlement(bet.getDriverId(), bet.getAmount(), 1, bet.getAmount().times(bet.getOdds()));
+    }
+
+    public DriverSettlement plus(DriverSettlement other) {
+        return new DriverSettlement(driverId, stake.plus(other.stake), bets + other.bets, payout.plus(other.payout));
+    }
+}
@@ -0,0 +1,7 @@
+package com.f1bet.repository;
+
+import com.f1bet.model.EventExposure;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+public interface EventExposureRepository extends JpaRepository<EventExposure, Long>, EventExposureUpsertRepository {
+}
@@ -0,0 +1,13 @@
+package com.f1bet.repository;
+
+import com.f1bet.model.EventExposure;
+
+import java.util.List;
+
+public interface EventExposureUpsertRepository {
+
+    /**
+     * Inserts or overwrites the row of each (event, driver) in a single JDBC batch.
+     */
+    void upsertAll(List<EventExposure> exposures);
+}
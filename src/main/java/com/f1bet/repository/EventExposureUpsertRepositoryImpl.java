@@ -0,0 +1,29 @@
+package com.f1bet.repository;
+
+import com.f1bet.model.EventExposure;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.util.List;
+
+class EventExposureUpsertRepositoryImpl implements EventExposureUpsertRepository {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    EventExposureUpsertRepositoryImpl(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public void upsertAll(List<EventExposure> exposures) {
+        if (exposures.isEmpty()) {
+            return;
+        }
+        List<Object[]> args = exposures.stream()
+                .map(exposure -> new Object[]{exposure.getEventId(), exposure.getDriverId(), exposure.getStakeTotal().toBigDecimal(),
+                        exposure.getBetCount(), exposure.getPotentialPayout().toBigDecimal(), Timestamp.from(exposure.getUpdatedAt())})
+                .toList();
+        jdbcTemplate.batchUpdate("MERGE INTO event_exposure (event_id, driver_id, stake_total, bet_count, potential_payout, updated_at) " +
+                "KEY (event_id, driver_id) VALUES (?, ?, ?, ?, ?, ?)", args);
+    }
+}
@@ -0,0 +1,12 @@
+package com.f1bet.repository;
+
+import com.f1bet.model.Money;
+
+import java.util.Set;
+
+/**
+ * A user's balance as read by one statement, with the ledger entries asked about that it
+ * already counts.
+ */
+public record LedgerBalance(Money balance, Set<Long> countedEntryIds) {
+}
@@ -0,0 +1,45 @@
+package com.f1bet.repository;
+
+import com.f1bet.model.LedgerEntryType;
+import com.f1bet.model.Money;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+public interface LedgerBalanceRepository {
+
+    /**
+     * Current balance of the user in one statement: the compacted {@code users.balance} plus
+     * every ledger entry not folded into it yet.
+     *
+     * @return empty if the user does not exist
+     */
+    Optional<Money> balanceOf(Long userId);
+
+    /**
+     * Same as {@link #balanceOf(Long)}, also telling which of {@code entryIds} the balance
+     * counts. Both come from the same statement, so an entry committed while it runs is
+     * either in the balance and reported, or in neither.
+     *
+     * @return empty if the user does not exist
+     */
+    Optional<LedgerBalance> balanceOf(Long userId, Collection<Long> entryIds);
+
+    /**
+     * Appends one signed entry for each change in a single JDBC batch, skipping users that do not exist.
+     *
+     * @return the id of the entry appended per change, in the same order; 0 means the user does not exist
+     */
+    long[] appendAll(List<UserPayout> changes, LedgerEntryType type, String reference, Instant createdAt);
+
+    /**
+     * Folds up to {@code maxEntries} of the oldest uncompacted entries into their users'
+     * balances and flags them compacted. Must run inside a transaction so the balances and
+     * the flags change together.
+     *
+     * @return the number of entries compacted
+     */
+    int compact(int maxEntries);
+}
@@ -0,0 +1,120 @@
+package com.f1bet.repository;
+
+import com.f1bet.model.LedgerEntryType;
+import com.f1bet.model.Money;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+class LedgerBalanceRepositoryImpl implements LedgerBalanceRepository {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    LedgerBalanceRepositoryImpl(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public Optional<Money> balanceOf(Long userId) {
+        return jdbcTemplate.query("""
+                        SELECT u.balance + COALESCE((SELECT SUM(l.amount) FROM wallet_ledger l
+                                                     WHERE l.user_id = u.id AND l.compacted = FALSE), 0)
+                        FROM users u WHERE u.id = ?""",
+                (rs, rowNum) -> Money.of(rs.getBigDecimal(1)), userId).stream().findFirst();
+    }
+
+    @Override
+    public Optional<LedgerBalance> balanceOf(Long userId, Collection<Long> entryIds) {
+        if (entryIds.isEmpty()) {
+            return balanceOf(userId).map(balance -> new LedgerBalance(balance, Set.of()));
+        }
+        String placeholders = String.join(", ", Collections.nCopies(entryIds.size(), "?"));
+        List<Object> args = new ArrayList<>(entryIds);
+        args.add(userId);
+        return jdbcTemplate.query("""
+                        SELECT u.balance + COALESCE((SELECT SUM(l.amount) FROM wallet_ledger l
+                                                     WHERE l.user_id = u.id AND l.compacted = FALSE), 0),
+                               (SELECT LISTAGG(l.id, ',') FROM wallet_ledger l WHERE l.id IN (%s) AND l.user_id = u.id)
+                        FROM users u WHERE u.id = ?""".formatted(placeholders),
+                (rs, rowNum) -> new LedgerBalance(Money.of(rs.getBigDecimal(1)), parseIds(rs.getString(2))),
+                args.toArray()).stream().findFirst();
+    }
+
+    private static Set<Long> parseIds(String ids) {
+        if (ids == null || ids.isEmpty()) {
+            return Set.of();
+        }
+        return Arrays.stream(ids.split(",")).map(Long::valueOf).collect(Collectors.toUnmodifiableSet());
+    }
+
+    @Override
+    public long[] appendAll(List<UserPayout> changes, LedgerEntryType type, String reference, Instant createdAt) {
+        if (changes.isEmpty()) {
+            return new long[0];
+        }
+        Timestamp timestamp = Timestamp.from(createdAt);
+        // Selecting from users turns an unknown user into an empty insert instead of an orphan entry.
+        return jdbcTemplate.execute((ConnectionCallback<long[]>) connection -> {
+            try (PreparedStatement insert = connection.prepareStatement("""
+                    INSERT INTO wallet_ledger (user_id, amount, type, reference, created_at, compacted)
+                    SELECT u.id, ?, ?, ?, ?, FALSE FROM users u WHERE u.id = ?""", new String[]{"id"})) {
+                for (UserPayout change : changes) {
+                    insert.setBigDecimal(1, change.amount().toBigDecimal());
+                    insert.setString(2, type.name());
+                    insert.setString(3, reference);
+                    insert.setTimestamp(4, timestamp);
+                    insert.setLong(5, change.userId());
+                    insert.addBatch();
+                }
+                int[] appended = insert.executeBatch();
+                long[] ids = new long[appended.length];
+                // Keys only come back for the rows inserted, in batch order.
+                try (ResultSet keys = insert.getGeneratedKeys()) {
+                    for (int i = 0; i < appended.length; i++) {
+                        if (appended[i] > 0 && keys.next()) {
+                            ids[i] = keys.getLong(1);
+                        }
+                    }
+                }
+                return ids;
+            }
+        });
+    }
+
+    @Override
+    public int compact(int maxEntries) {
+        // Entries are picked by id rather than by range, so one committed while this runs is never flagged unsummed.
+        List<Long> entryIds = new ArrayList<>();
+        Map<Long, Money> deltas = new LinkedHashMap<>();
+        jdbcTemplate.query("SELECT id, user_id, amount FROM wallet_ledger WHERE compacted = FALSE ORDER BY id LIMIT ?",
+                rs -> {
+                    entryIds.add(rs.getLong(1));
+                    deltas.merge(rs.getLong(2), Money.of(rs.getBigDecimal(3)), Money::plus);
+                }, maxEntries);
+        if (entryIds.isEmpty()) {
+            return 0;
+        }
+
+        jdbcTemplate.batchUpdate("UPDATE users SET balance = balance + ? WHERE id = ?", deltas.entrySet().stream()
+                .map(delta -> new Object[]{delta.getValue().toBigDecimal(), delta.getKey()})
+                .toList());
+        jdbcTemplate.batchUpdate("UPDATE wallet_ledger SET compacted = TRUE WHERE id = ?", entryIds.stream()
+                .map(id -> new Object[]{id})
+                .toList());
+        return entryIds.size();
+    }
+}
@@ -0,0 +1,11 @@
+package com.f1bet.repository;
+
+import com.f1bet.model.LedgerEntry;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.util.List;
+
+public interface LedgerEntryRepository extends JpaRepository<LedgerEntry, Long>, LedgerBalanceRepository {
+
+    List<LedgerEntry> findByUserIdOrderByIdAsc(Long userId);
+}
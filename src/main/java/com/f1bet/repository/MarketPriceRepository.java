@@ -0,0 +1,11 @@
+package com.f1bet.repository;
+
+import com.f1bet.model.MarketPrice;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.util.List;
+
+public interface MarketPriceRepository extends JpaRepository<MarketPrice, Long> {
+
+    List<MarketPrice> findBySnapshotId(Long snapshotId);
+}
@@ -0,0 +1,11 @@
+package com.f1bet.repository;
+
+import com.f1bet.model.MarketSnapshot;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.util.Optional;
+
+public interface MarketSnapshotRepository extends JpaRepository<MarketSnapshot, Long> {
+
+    Optional<MarketSnapshot> findFirstBySessionKeyOrderByVersionDesc(Integer sessionKey);
+}
@@ -0,0 +1,23 @@
+package com.f1bet.repository;
+
+import com.f1bet.model.Money;
+
+import java.util.List;
+
+public interface UserBalanceRepository {
+
+    /**
+     * Subtracts {@code amount} from the user's balance in one conditional UPDATE, only if the
+     * balance covers it. Concurrent debits for the same user can never overdraw the account.
+     *
+     * @return {@code false} if the user does not exist or the balance is insufficient
+     */
+    boolean debit(Long userId, Money amount);
+
+    /**
+     * Adds each payout to its user's balance in a single JDBC batch.
+     *
+     * @return the number of rows updated per payout, in the same order; 0 means the user does not exist
+     */
+    int[] creditAll(List<UserPayout> payouts);
+}
@@ -0,0 +1,34 @@
+package com.f1bet.repository;
+
+import com.f1bet.model.Money;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+class UserBalanceRepositoryImpl implements UserBalanceRepository {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    UserBalanceRepositoryImpl(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public boolean debit(Long userId, Money amount) {
+        BigDecimal value = amount.toBigDecimal();
+        int updated = jdbcTemplate.update("UPDATE users SET balance = balance - ? WHERE id = ? AND balance >= ?", value, userId, value);
+        return updated == 1;
+    }
+
+    @Override
+    public int[] creditAll(List<UserPayout> payouts) {
+        if (payouts.isEmpty()) {
+            return new int[0];
+        }
+        List<Object[]> args = payouts.stream()
+                .map(payout -> new Object[]{payout.amount().toBigDecimal(), payout.userId()})
+                .toList();
+        return jdbcTemplate.batchUpdate("UPDATE users SET balance = balance + ? WHERE id = ?", args);
+    }
+}
@@ -0,0 +1,15 @@
+package com.f1bet.repository;
+
+import com.f1bet.model.Money;
+
+import java.math.BigDecimal;
+
+public record UserPayout(Long userId, Money amount) {
+
+    /**
+     * Used by JPQL constructor expressions, whose aggregates come back as {@link BigDecimal}.
+     */
+    public UserPayout(Long userId, BigDecimal amount) {
+        this(userId, Money.of(amount));
+    }
+}
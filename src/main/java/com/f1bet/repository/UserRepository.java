@@ -3,5 +3,5 @@ package com.f1bet.repository;
 import com.f1bet.model.User;
 import org.springframework.data.jpa.repository.JpaRepository;
 
-public interface UserRepository extends JpaRepository<User, Long> {
-}
\ No newline at end of file
+public interface UserRepository extends JpaRepository<User, Long>, UserBalanceRepository {
+}
@@ -0,0 +1,273 @@
+package com.f1bet.service;
+
+import com.f1bet.controller.request.PlaceBetRequest;
+import com.f1bet.controller.response.PlaceBetResponse;
+import com.f1bet.mapper.BetMapper;
+import com.f1bet.model.Bet;
+import com.f1bet.model.BetStatus;
+import com.f1bet.repository.BetRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiConsumer;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Bet intake for {@link BetIntakeMode#ASYNC}: requests are validated and priced on the
+ * caller's thread, then parked in a bounded queue. Writer threads take whatever has piled up
+ * while they were committing the previous batch, up to {@code maxBatchSize}, and debit and
+ * insert it in one transaction with batched inserts, so a spike turns into fewer, larger commits instead of one
+ * per request.
+ * <p>
+ * A bet the wallet refuses is still written, as {@code REJECTED}, and one that cannot be
+ * written at all is stored as {@code FAILED} with the reason, so every accepted reference
+ * ends up in the database. Until then a bet is only known to this instance, under its
+ * reference, as {@code QUEUED}.
+ */
+@Service
+@ConditionalOnProperty(name = "f1bet.bets.intake.mode", havingValue = "async")
+public class AsyncBetIntake {
+
+    private static final Logger log = LoggerFactory.getLogger(AsyncBetIntake.class);
+
+    private final BetService betService;
+    private final Wallet wallet;
+    private final BetRepository betRepository;
+    private final BetMapper betMapper;
+    private final ExposureTracker exposureTracker;
+    private final TransactionTemplate transactionTemplate;
+    private final BetIntakeProperties properties;
+
+    private final BlockingQueue<Bet> queue;
+    private final Map<String, PlaceBetResponse> queued = new ConcurrentHashMap<>();
+    private final Map<QueuedKey, Bet> queuedByKey = new ConcurrentHashMap<>();
+    private final List<BiConsumer<Long, String>> failureListeners = new CopyOnWriteArrayList<>();
+    private final List<Thread> writers = new ArrayList<>();
+    // Submitters hold the read lock from the running check to the offer, so once shutdown has flipped the flag nothing else is queued.
+    private final ReadWriteLock intakeLock = new ReentrantReadWriteLock();
+    private volatile boolean running = true;
+
+    public AsyncBetIntake(BetService betService, Wallet wallet, BetRepository betRepository, BetMapper betMapper,
+                          ExposureTracker exposureTracker, PlatformTransactionManager transactionManager, BetIntakeProperties properties) {
+        this.betService = betService;
+        this.wallet = wallet;
+        this.betRepository = betRepository;
+        this.betMapper = betMapper;
+        this.exposureTracker = exposureTracker;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.properties = properties;
+        this.queue = new ArrayBlockingQueue<>(properties.queueCapacity());
+    }
+
+    @PostConstruct
+    public void start() {
+        for (int i = 0; i < properties.writers(); i++) {
+            Thread writer = Thread.ofPlatform().name("bet-writer-" + i).daemon(true).start(this::drain);
+            writers.add(writer);
+        }
+    }
+
+    /**
+     * Validates and queues the bet. The user's balance is only checked once the bet is written.
+     *
+     * @throws ResponseStatusException 503 if the queue is full or the intake is shutting down
+     */
+    public PlaceBetResponse submit(PlaceBetRequest request) {
+        return submit(request, null);
+    }
+
+    /**
+     * Same as {@link #submit(PlaceBetRequest)}, storing the client's idempotency key with the bet.
+     */
+    public PlaceBetResponse submit(PlaceBetRequest request, String idempotencyKey) {
+        Bet bet = betService.quote(request);
+        bet.setIdempotencyKey(idempotencyKey);
+        bet.setStatus(BetStatus.QUEUED.name());
+        PlaceBetResponse accepted = betMapper.toResponse(bet);
+        QueuedKey key = QueuedKey.of(bet);
+        queued.put(bet.getReference(), accepted);
+        if (key != null) {
+            queuedByKey.put(key, bet);
+        }
+        boolean offered;
+        intakeLock.readLock().lock();
+        try {
+            offered = running && queue.offer(bet);
+        } finally {
+            intakeLock.readLock().unlock();
+        }
+        if (!offered) {
+            queued.remove(bet.getReference());
+            if (key != null) {
+                queuedByKey.remove(key, bet);
+            }
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "Bet intake is full, retry shortly");
+        }
+        return accepted;
+    }
+
+    /**
+     * The bet as accepted, if it is still waiting to be written.
+     */
+    public Optional<PlaceBetResponse> findQueued(String reference) {
+        return Optional.ofNullable(queued.get(reference));
+    }
+
+    /**
+     * The bet queued under the user's idempotency key, if it is still waiting to be written.
+     * It is handed out for reading only.
+     */
+    public Optional<Bet> findQueued(Long userId, String idempotencyKey) {
+        return Optional.ofNullable(queuedByKey.get(new QueuedKey(userId, idempotencyKey)));
+    }
+
+    /**
+     * Calls {@code listener} with the user and idempotency key of every keyed bet stored as
+     * {@code FAILED}, once the bet can no longer be found queued. The key is free again by then.
+     */
+    public void onFailed(BiConsumer<Long, String> listener) {
+        failureListeners.add(listener);
+    }
+
+    public int backlog() {
+        return queue.size();
+    }
+
+    private void drain() {
+        while (running || !queue.isEmpty()) {
+            List<Bet> batch;
+            try {
+                batch = pollBatch(100);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            // Taken before writing: a bet that fails to be written loses its key.
+            List<QueuedKey> keys = batch.stream().map(QueuedKey::of).filter(Objects::nonNull).toList();
+            try {
+                write(batch);
+            } finally {
+                // Removed only after commit, so a lookup by reference or key always finds the bet in one place or the other.
+                batch.forEach(bet -> queued.remove(bet.getReference()));
+                keys.forEach(queuedByKey::remove);
+            }
+        }
+    }
+
+    /**
+     * Waits up to {@code waitMillis} for a bet, then takes everything else queued behind it up to a full batch.
+     */
+    List<Bet> pollBatch(long waitMillis) throws InterruptedException {
+        Bet first = queue.poll(waitMillis, TimeUnit.MILLISECONDS);
+        if (first == null) {
+            return List.of();
+        }
+        List<Bet> batch = new ArrayList<>(properties.maxBatchSize());
+        batch.add(first);
+        queue.drainTo(batch, properties.maxBatchSize() - 1);
+        return batch;
+    }
+
+    /**
+     * Writes the batch in one transaction. If that fails, each bet is retried in its own so
+     * one bad bet cannot take the rest of the batch down with it, and a bet that fails again
+     * is stored as {@code FAILED}.
+     */
+    void write(List<Bet> batch) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        try {
+            transactionTemplate.executeWithoutResult(status -> debitAndInsert(batch));
+        } catch (RuntimeException e) {
+            log.warn("Writing a batch of {} bets failed, retrying one by one: {}", batch.size(), e.getMessage());
+            for (Bet bet : batch) {
+                try {
+                    bet.setId(null);
+                    transactionTemplate.executeWithoutResult(status -> debitAndInsert(List.of(bet)));
+                } catch (RuntimeException single) {
+                    fail(bet, single);
+                }
+            }
+        }
+    }
+
+    // The key is not kept: it is what usually collided, and the client may retry under it since nothing was placed.
+    private void fail(Bet bet, RuntimeException cause) {
+        log.warn("Could not write bet {} of user {}, storing it as failed: {}", bet.getReference(), bet.getUserId(), cause.getMessage());
+        QueuedKey key = QueuedKey.of(bet);
+        bet.setId(null);
+        bet.setIdempotencyKey(null);
+        bet.setStatus(BetStatus.FAILED.name());
+        bet.setReason(cause instanceof DataIntegrityViolationException
+                ? "Conflicts with a bet already placed"
+                : "Could not be written, nothing was debited");
+        try {
+            transactionTemplate.executeWithoutResult(status -> betRepository.save(bet));
+        } catch (RuntimeException e) {
+            log.error("Dropped bet {} of user {}: {}", bet.getReference(), bet.getUserId(), e.getMessage());
+        }
+        queued.remove(bet.getReference());
+        if (key != null) {
+            queuedByKey.remove(key);
+            failureListeners.forEach(listener -> listener.accept(key.userId(), key.idempotencyKey()));
+        }
+    }
+
+    // Debiting in user id order keeps concurrent writers from locking the same user rows in opposite orders.
+    private void debitAndInsert(List<Bet> batch) {
+        List<Bet> ordered = batch.stream()
+                .sorted(Comparator.comparing(Bet::getUserId))
+                .toList();
+        for (Bet bet : ordered) {
+            boolean debited = wallet.debit(bet.getUserId(), bet.getAmount(), BetService.stakeReference(bet));
+            bet.setStatus(debited ? BetStatus.PENDING.name() : BetStatus.REJECTED.name());
+        }
+        betRepository.saveAll(ordered);
+        exposureTracker.onPlaced(ordered);
+    }
+
+    /**
+     * Stops taking bets and waits for the writers to drain what is already queued.
+     */
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        intakeLock.writeLock().lock();
+        try {
+            running = false;
+        } finally {
+            intakeLock.writeLock().unlock();
+        }
+        for (Thread writer : writers) {
+            writer.join(TimeUnit.SECONDS.toMillis(30));
+        }
+    }
+
+    private record QueuedKey(Long userId, String idempotencyKey) {
+
+        static QueuedKey of(Bet bet) {
+            return bet.getIdempotencyKey() == null ? null : new QueuedKey(bet.getUserId(), bet.getIdempotencyKey());
+        }
+    }
+}
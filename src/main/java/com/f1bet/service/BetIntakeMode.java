@@ -0,0 +1,13 @@
+package com.f1bet.service;
+
+public enum BetIntakeMode {
+    /**
+     * {@code POST /bets} validates, debits and saves the bet in the request's own transaction.
+     */
+    SYNC,
+    /**
+     * {@code POST /bets} validates and prices the bet, queues it and answers 202; writer
+     * threads debit and insert queued bets many per transaction.
+     */
+    ASYNC
+}
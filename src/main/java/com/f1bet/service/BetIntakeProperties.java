@@ -0,0 +1,13 @@
+package com.f1bet.service;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * @param mode          how {@code POST /bets} writes bets
+ * @param queueCapacity bets waiting to be written before new ones are refused with 503
+ * @param writers       threads draining the queue in {@link BetIntakeMode#ASYNC} mode
+ * @param maxBatchSize  most bets written in one transaction
+ */
+@ConfigurationProperties("f1bet.bets.intake")
+public record BetIntakeProperties(BetIntakeMode mode, int queueCapacity, int writers, int maxBatchSize) {
+}
@@ -1,89 +1,335 @@
 package com.f1bet.service;
 
 import com.f1bet.controller.request.PlaceBetRequest;
+import com.f1bet.controller.response.PlaceBetBatchItemResponse;
 import com.f1bet.controller.response.PlaceBetResponse;
-import com.f1bet.integration.F1APIClient;
-import com.f1bet.integration.OpenF1SessionResult;
 import com.f1bet.mapper.BetMapper;
 import com.f1bet.model.Bet;
 import com.f1bet.model.BetStatus;
-import com.f1bet.model.User;
+import com.f1bet.model.Market;
+import com.f1bet.model.Money;
 import com.f1bet.repository.BetRepository;
 import com.f1bet.repository.UserRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.persistence.EntityManager;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Limit;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.web.server.ResponseStatusException;
 
-import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
-import java.util.Random;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 public class BetService {
 
+    private static final int MAX_PAGE_SIZE = 1000;
+    private static final int MAX_BATCH_SIZE = 1000;
+
     private final BetRepository betRepository;
     private final UserRepository userRepository;
-    private final F1APIClient f1APIClient;
+    private final Wallet wallet;
+    private final DriverEligibilityIndex eligibilityIndex;
+    private final MarketEngine marketEngine;
     private final BetMapper betMapper;
+    private final EntityManager entityManager;
+    private final Validator validator;
+    private final ExposureTracker exposureTracker;
+    private final TransactionTemplate transactionTemplate;
+    private final MeterRegistry meterRegistry;
+    private final Timer eligibilityTimer;
+    private final Timer pricingTimer;
+    private final Timer debitTimer;
+    private final Timer insertTimer;
 
     @Autowired
-    public BetService(BetRepository betRepository, UserRepository userRepository, F1APIClient f1APIClient, BetMapper betMapper) {
+    public BetService(BetRepository betRepository, UserRepository userRepository, Wallet wallet,
+                      DriverEligibilityIndex eligibilityIndex, MarketEngine marketEngine, BetMapper betMapper, EntityManager entityManager,
+                      Validator validator, ExposureTracker exposureTracker, PlatformTransactionManager transactionManager,
+                      MeterRegistry meterRegistry) {
         this.betRepository = betRepository;
         this.userRepository = userRepository;
-        this.f1APIClient = f1APIClient;
+        this.wallet = wallet;
+        this.eligibilityIndex = eligibilityIndex;
+        this.marketEngine = marketEngine;
         this.betMapper = betMapper;
+        this.entityManager = entityManager;
+        this.validator = validator;
+        this.exposureTracker = exposureTracker;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.meterRegistry = meterRegistry;
+        this.eligibilityTimer = phaseTimer("eligibility");
+        this.pricingTimer = phaseTimer("pricing");
+        this.debitTimer = phaseTimer("debit");
+        this.insertTimer = phaseTimer("insert");
     }
 
+    private Timer phaseTimer(String phase) {
+        return Timer.builder("bets.placement.phase")
+                .description("Time a single bet placement spent in each phase")
+                .tag("phase", phase)
+                .register(meterRegistry);
+    }
 
-    @Transactional
     public PlaceBetResponse placeBet(PlaceBetRequest request) {
-        User user = userRepository.findById(request.userId())
-                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "User not found"));
+        return placeBet(request, null);
+    }
+
+    /**
+     * Places the bet under the client's idempotency key, if any. A second bet of the same user
+     * with the same key fails the insert with a {@code DataIntegrityViolationException}.
+     * <p>
+     * The bet is quoted before the transaction opens: pricing may publish a market version in
+     * a transaction of its own, and the eligibility lookup may wait on OpenF1, neither of which
+     * should happen while this request holds a database connection.
+     */
+    public PlaceBetResponse placeBet(PlaceBetRequest request, String idempotencyKey) {
+        long start = System.nanoTime();
+        String outcome = "error";
+        try {
+            Bet bet = quote(request);
+            bet.setIdempotencyKey(idempotencyKey);
+
+            Bet savedBet = transactionTemplate.execute(status -> {
+                debitTimer.record(() -> debit(bet.getUserId(), bet.getAmount(), stakeReference(bet)));
+                // Flushed here so the insert phase times the INSERT rather than a deferred persist.
+                Bet saved = insertTimer.record(() -> betRepository.saveAndFlush(bet));
+                exposureTracker.onPlaced(List.of(saved));
+                return saved;
+            });
+            outcome = "placed";
+            return betMapper.toResponse(savedBet);
+        } catch (ResponseStatusException e) {
+            outcome = "rejected";
+            throw e;
+        } finally {
+            Timer.builder("bets.placement")
+                    .description("End-to-end time of a single bet placement")
+                    .tag("outcome", outcome)
+                    .register(meterRegistry)
+                    .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
 
+    /**
+     * Checks the driver against the event and prices the bet without touching the user's
+     * balance. The returned bet is {@code PENDING}, carries a fresh reference and is not saved.
+     */
+    public Bet quote(PlaceBetRequest request) {
         int sessionKey = Integer.parseInt(request.eventId());
 
-        List<OpenF1SessionResult> sessionResults = f1APIClient.getSessionResults(sessionKey);
-        if (sessionResults == null || sessionResults.isEmpty()) {
+        eligibilityTimer.record(() -> checkDriver(eligibilityFor(sessionKey), request.driverId()));
+
+        Market market = pricingTimer.record(() -> marketEngine.price(sessionKey, Collections.singletonList(request.driverId())));
+        return newBet(request, market);
+    }
+
+    /**
+     * Places every valid bet of the batch in one transaction. Each event is looked up and
+     * priced once for all its bets, each user is debited once per event for the sum of their
+     * stakes on it, under the same reference a single bet would use, and the bets are inserted
+     * with batched statements. A user whose balance does not cover such a sum gets none of
+     * their bets on that event placed. Results come back in request order. As for
+     * single bets, quoting happens before the transaction opens.
+     */
+    public List<PlaceBetBatchItemResponse> placeBets(List<PlaceBetRequest> requests) {
+        if (requests.isEmpty() || requests.size() > MAX_BATCH_SIZE) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "A batch must hold between 1 and " + MAX_BATCH_SIZE + " bets");
+        }
+        PlaceBetBatchItemResponse[] results = new PlaceBetBatchItemResponse[requests.size()];
+        Bet[] bets = new Bet[requests.size()];
+
+        Map<String, List<Integer>> indexesByEvent = new LinkedHashMap<>();
+        for (int i = 0; i < requests.size(); i++) {
+            String violations = violations(requests.get(i));
+            if (violations != null) {
+                results[i] = new PlaceBetBatchItemResponse(i, HttpStatus.BAD_REQUEST.value(), null, violations);
+            } else {
+                indexesByEvent.computeIfAbsent(requests.get(i).eventId(), eventId -> new ArrayList<>()).add(i);
+            }
+        }
+        indexesByEvent.forEach((eventId, indexes) -> quoteEvent(eventId, indexes, requests, bets, results));
+
+        transactionTemplate.executeWithoutResult(status -> debitAndInsert(bets, results));
+        return Arrays.asList(results);
+    }
+
+    private void debitAndInsert(Bet[] bets, PlaceBetBatchItemResponse[] results) {
+        // Debited in user id order so concurrent batches lock user rows in the same order.
+        Map<Long, Map<String, List<Integer>>> indexesByUser = new TreeMap<>();
+        for (int i = 0; i < bets.length; i++) {
+            if (bets[i] != null) {
+                indexesByUser.computeIfAbsent(bets[i].getUserId(), userId -> new LinkedHashMap<>())
+                        .computeIfAbsent(bets[i].getEventId(), eventId -> new ArrayList<>())
+                        .add(i);
+            }
+        }
+        indexesByUser.forEach((userId, indexesByEvent) -> indexesByEvent.forEach((eventId, indexes) -> {
+            Money total = indexes.stream().map(i -> bets[i].getAmount()).reduce(Money.ZERO, Money::plus);
+            try {
+                debit(userId, total, stakeReference(bets[indexes.getFirst()]));
+            } catch (ResponseStatusException e) {
+                indexes.forEach(i -> {
+                    bets[i] = null;
+                    results[i] = failure(i, e);
+                });
+            }
+        }));
+
+        List<Integer> placed = new ArrayList<>();
+        for (int i = 0; i < bets.length; i++) {
+            if (bets[i] != null) {
+                placed.add(i);
+            }
+        }
+        exposureTracker.onPlaced(betRepository.saveAll(placed.stream().map(i -> bets[i]).toList()));
+        placed.forEach(i -> results[i] = new PlaceBetBatchItemResponse(i, HttpStatus.OK.value(), betMapper.toResponse(bets[i]), null));
+    }
+
+    private void quoteEvent(String eventId, List<Integer> indexes, List<PlaceBetRequest> requests,
+                            Bet[] bets, PlaceBetBatchItemResponse[] results) {
+        DriverEligibilityIndex.Eligibility eligibility;
+        int sessionKey;
+        try {
+            sessionKey = parseSessionKey(eventId);
+            eligibility = eligibilityFor(sessionKey);
+        } catch (ResponseStatusException e) {
+            indexes.forEach(i -> results[i] = failure(i, e));
+            return;
+        }
+
+        List<Integer> eligible = new ArrayList<>();
+        for (int i : indexes) {
+            try {
+                checkDriver(eligibility, requests.get(i).driverId());
+                eligible.add(i);
+            } catch (ResponseStatusException e) {
+                results[i] = failure(i, e);
+            }
+        }
+        if (eligible.isEmpty()) {
+            return;
+        }
+        Market market = marketEngine.price(sessionKey, eligible.stream().map(i -> requests.get(i).driverId()).distinct().toList());
+        eligible.forEach(i -> bets[i] = newBet(requests.get(i), market));
+    }
+
+    private DriverEligibilityIndex.Eligibility eligibilityFor(int sessionKey) {
+        DriverEligibilityIndex.Eligibility eligibility = eligibilityIndex.forSession(sessionKey);
+        if (eligibility == null) {
             throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Event not found for session key: " + sessionKey);
         }
-        boolean driverFound = sessionResults.stream().anyMatch(sessionResult -> {
-            Integer driverNumber = sessionResult.driver_number();
-            Integer driverId = sessionResult.driver_id();
-            return (driverNumber != null && driverNumber.equals(request.driverId())) || (driverId != null && driverId.equals(request.driverId()));
-        });
-        if (!driverFound) {
+        return eligibility;
+    }
+
+    private static void checkDriver(DriverEligibilityIndex.Eligibility eligibility, Integer driverId) {
+        if (!eligibility.contains(driverId)) {
             throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Driver not part of this event");
         }
+    }
+
+    private static int parseSessionKey(String eventId) {
+        try {
+            return Integer.parseInt(eventId);
+        } catch (NumberFormatException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "eventId must be a session key");
+        }
+    }
 
-        BigDecimal amount = request.amount();
-        if (user.getBalance().compareTo(amount) < 0) {
-            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Insufficient balance");
+    private String violations(PlaceBetRequest request) {
+        if (request == null) {
+            return "Bet must not be null";
         }
+        Set<ConstraintViolation<PlaceBetRequest>> violations = validator.validate(request);
+        if (violations.isEmpty()) {
+            return null;
+        }
+        return violations.stream()
+                .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+                .sorted()
+                .collect(Collectors.joining(", "));
+    }
 
-        user.setBalance(user.getBalance().subtract(amount));
-        userRepository.save(user);
+    private static PlaceBetBatchItemResponse failure(int index, ResponseStatusException e) {
+        return new PlaceBetBatchItemResponse(index, e.getStatusCode().value(), null, e.getReason());
+    }
 
+    private static Bet newBet(PlaceBetRequest request, Market market) {
         Bet bet = new Bet(
                 request.userId(),
                 request.eventId(),
                 request.driverId(),
-                request.amount(),
-                new Random().nextInt(3) + 2,
+                request.stake(),
+                market.oddsFor(request.driverId()),
                 BetStatus.PENDING.name()
         );
+        bet.setMarketVersion(market.version());
+        bet.setReference(UUID.randomUUID().toString());
+        return bet;
+    }
+
+    static String stakeReference(Bet bet) {
+        return "stake:" + bet.getEventId();
+    }
 
-        Bet savedBet = betRepository.save(bet);
+    private void debit(Long userId, Money amount, String reference) {
+        if (wallet.debit(userId, amount, reference)) {
+            return;
+        }
+        // The wallet does not say why the debit was refused; only failures pay for this lookup.
+        if (!userRepository.existsById(userId)) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "User not found");
+        }
+        throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Insufficient balance");
+    }
 
-        return betMapper.toResponse(savedBet);
+    public Optional<PlaceBetResponse> getBetByReference(String reference) {
+        return betRepository.findByReference(reference).map(betMapper::toResponse);
     }
 
-    public List<PlaceBetResponse> getBetsByEventId(String eventId) {
-        List<Bet> bets = betRepository.findByEventId(eventId);
+    public Optional<Bet> findByIdempotencyKey(Long userId, String idempotencyKey) {
+        return betRepository.findByUserIdAndIdempotencyKey(userId, idempotencyKey);
+    }
+
+    public List<PlaceBetResponse> getBetsByEventId(String eventId, long afterId, int limit) {
+        int safeLimit = Math.max(1, Math.min(MAX_PAGE_SIZE, limit));
+        List<Bet> bets = betRepository.findByEventIdAndIdGreaterThanOrderByIdAsc(eventId, afterId, Limit.of(safeLimit));
         return bets.stream()
                 .map(betMapper::toResponse)
                 .collect(Collectors.toList());
     }
+
+    /**
+     * Hands every bet of the event to {@code sink} in id order while it is read from a
+     * database cursor. Each bet is detached once mapped so the persistence context does not
+     * grow with the event.
+     */
+    @Transactional(readOnly = true)
+    public void streamBetsByEventId(String eventId, Consumer<PlaceBetResponse> sink) {
+        try (Stream<Bet> bets = betRepository.streamByEventIdOrderByIdAsc(eventId)) {
+            bets.forEach(bet -> {
+                sink.accept(betMapper.toResponse(bet));
+                entityManager.detach(bet);
+            });
+        }
+    }
 }
\ No newline at end of file
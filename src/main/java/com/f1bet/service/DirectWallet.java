@@ -0,0 +1,33 @@
+package com.f1bet.service;
+
+import com.f1bet.model.Money;
+import com.f1bet.repository.UserPayout;
+import com.f1bet.repository.UserRepository;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+
+/**
+ * {@link Wallet} that updates {@code users.balance} in place with conditional UPDATE statements.
+ */
+@Service
+@ConditionalOnProperty(name = "f1bet.wallet.mode", havingValue = "direct", matchIfMissing = true)
+public class DirectWallet implements Wallet {
+
+    private final UserRepository userRepository;
+
+    public DirectWallet(UserRepository userRepository) {
+        this.userRepository = userRepository;
+    }
+
+    @Override
+    public boolean debit(Long userId, Money amount, String reference) {
+        return userRepository.debit(userId, amount);
+    }
+
+    @Override
+    public int[] creditAll(List<UserPayout> payouts, String reference) {
+        return userRepository.creditAll(payouts);
+    }
+}
@@ -0,0 +1,162 @@
+package com.f1bet.service;
+
+import com.f1bet.cache.SingleFlight;
+import com.f1bet.integration.F1APIClient;
+import com.f1bet.integration.OpenF1SessionResult;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.LongSupplier;
+import java.util.stream.IntStream;
+
+/**
+ * Answers "may this driver be bet on in this session?" from memory. The first lookup of a
+ * session loads its results from OpenF1 and indexes every driver number and driver id; later
+ * lookups never leave the process, and a background job reloads the indexed sessions so the
+ * answers follow OpenF1 as results come in.
+ */
+@Component
+public class DriverEligibilityIndex {
+
+    private static final Logger log = LoggerFactory.getLogger(DriverEligibilityIndex.class);
+
+    private final F1APIClient f1APIClient;
+    private final int maxSessions;
+    private final LongSupplier nanoClock;
+
+    private final Map<Integer, Entry> sessions = new ConcurrentHashMap<>();
+    private final SingleFlight<Integer, Eligibility> loads = new SingleFlight<>();
+
+    @Autowired
+    public DriverEligibilityIndex(F1APIClient f1APIClient, DriverEligibilityProperties properties) {
+        this(f1APIClient, properties, System::nanoTime);
+    }
+
+    DriverEligibilityIndex(F1APIClient f1APIClient, DriverEligibilityProperties properties, LongSupplier nanoClock) {
+        this.f1APIClient = f1APIClient;
+        this.maxSessions = properties.maxSessions();
+        this.nanoClock = nanoClock;
+    }
+
+    /**
+     * Returns the eligible drivers of the session, loading them on first use, or {@code null}
+     * when OpenF1 has no results for it. Unknown sessions are not remembered, so they are
+     * looked up again on the next call.
+     */
+    public Eligibility forSession(int sessionKey) {
+        Entry entry = sessions.get(sessionKey);
+        if (entry != null) {
+            entry.lastAccess = nanoClock.getAsLong();
+            return entry.eligibility;
+        }
+        Eligibility loaded = loads.execute(sessionKey, () -> load(sessionKey));
+        if (loaded != null) {
+            sessions.put(sessionKey, new Entry(loaded, nanoClock.getAsLong()));
+            evictIfFull();
+        }
+        return loaded;
+    }
+
+    @Scheduled(fixedDelayString = "${f1bet.eligibility.refresh-interval}",
+            initialDelayString = "${f1bet.eligibility.refresh-interval}")
+    public void refresh() {
+        for (Map.Entry<Integer, Entry> session : sessions.entrySet()) {
+            try {
+                Eligibility reloaded = load(session.getKey());
+                if (reloaded != null) {
+                    session.getValue().eligibility = reloaded;
+                }
+            } catch (RuntimeException e) {
+                log.warn("Refreshing driver eligibility of session {} failed: {}", session.getKey(), e.getMessage());
+            }
+        }
+    }
+
+    public int size() {
+        return sessions.size();
+    }
+
+    private Eligibility load(int sessionKey) {
+        List<OpenF1SessionResult> results = f1APIClient.getSessionResults(sessionKey);
+        if (results == null || results.isEmpty()) {
+            return null;
+        }
+        return Eligibility.of(results);
+    }
+
+    private void evictIfFull() {
+        while (sessions.size() > maxSessions) {
+            sessions.entrySet().stream()
+                    .min(Comparator.comparingLong(session -> session.getValue().lastAccess))
+                    .ifPresent(oldest -> sessions.remove(oldest.getKey(), oldest.getValue()));
+        }
+    }
+
+    private static final class Entry {
+        private volatile Eligibility eligibility;
+        private volatile long lastAccess;
+
+        private Entry(Eligibility eligibility, long lastAccess) {
+            this.eligibility = eligibility;
+            this.lastAccess = lastAccess;
+        }
+    }
+
+    /**
+     * Immutable set of the driver numbers and ids that appear in a session's results. Small
+     * values, which covers every driver number, live in a bit set; anything larger falls back
+     * to a sorted array.
+     */
+    public static final class Eligibility {
+
+        private static final int BITSET_LIMIT = 1 << 12;
+
+        private final BitSet small;
+        private final int[] large;
+
+        private Eligibility(BitSet small, int[] large) {
+            this.small = small;
+            this.large = large;
+        }
+
+        static Eligibility of(List<OpenF1SessionResult> results) {
+            BitSet small = new BitSet();
+            IntStream.Builder large = IntStream.builder();
+            for (OpenF1SessionResult result : results) {
+                add(result.driver_number(), small, large);
+                add(result.driver_id(), small, large);
+            }
+            return new Eligibility(small, large.build().sorted().distinct().toArray());
+        }
+
+        private static void add(Integer id, BitSet small, IntStream.Builder large) {
+            if (id == null || id < 0) {
+                return;
+            }
+            if (id < BITSET_LIMIT) {
+                small.set(id);
+            } else {
+                large.add(id);
+            }
+        }
+
+        public boolean contains(Integer driverId) {
+            if (driverId == null || driverId < 0) {
+                return false;
+            }
+            if (driverId < BITSET_LIMIT) {
+                return small.get(driverId);
+            }
+            return Arrays.binarySearch(large, driverId) >= 0;
+        }
+    }
+}
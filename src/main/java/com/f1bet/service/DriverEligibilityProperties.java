@@ -0,0 +1,13 @@
+package com.f1bet.service;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * @param refreshInterval how often the indexed sessions are reloaded in the background
+ * @param maxSessions     sessions kept in the index; the least recently used one is dropped beyond that
+ */
+@ConfigurationProperties("f1bet.eligibility")
+public record DriverEligibilityProperties(Duration refreshInterval, int maxSessions) {
+}
@@ -0,0 +1,116 @@
+package com.f1bet.service;
+
+import com.f1bet.integration.F1APIClient;
+import com.f1bet.model.Driver;
+import com.f1bet.model.Event;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Fills in the driver market of a page of events by fetching every missing market
+ * concurrently, on virtual threads unless {@code spring.threads.virtual.enabled} is off, in
+ * which case a platform pool the size of the concurrency cap is used. The number of lookups
+ * in flight is capped globally so a burst of page requests queues here instead of piling up
+ * on the OpenF1 rate limiter, and each page only waits until its deadline: markets that are
+ * not back by then are returned empty and flagged as still loading.
+ */
+@Component
+public class DriverMarketLoader {
+
+    private final F1APIClient f1APIClient;
+    private final Semaphore inFlight;
+    private final Duration deadline;
+    private final ExecutorService executor;
+
+    @Autowired
+    public DriverMarketLoader(F1APIClient f1APIClient, DriverMarketProperties properties, Environment environment) {
+        this(f1APIClient, properties, Threading.VIRTUAL.isActive(environment)
+                ? Executors.newVirtualThreadPerTaskExecutor()
+                : Executors.newFixedThreadPool(properties.maxConcurrency(),
+                        Thread.ofPlatform().name("driver-market-", 0).daemon().factory()));
+    }
+
+    public DriverMarketLoader(F1APIClient f1APIClient, DriverMarketProperties properties) {
+        this(f1APIClient, properties, Executors.newVirtualThreadPerTaskExecutor());
+    }
+
+    private DriverMarketLoader(F1APIClient f1APIClient, DriverMarketProperties properties, ExecutorService executor) {
+        this.f1APIClient = f1APIClient;
+        // A Semaphore parks through AbstractQueuedSynchronizer, so waiting here never pins a carrier thread.
+        this.inFlight = new Semaphore(properties.maxConcurrency(), true);
+        this.deadline = properties.deadline();
+        this.executor = executor;
+    }
+
+    public void loadMarkets(List<Event> events) {
+        long deadlineAt = System.nanoTime() + deadline.toNanos();
+
+        List<PendingMarket> pending = new ArrayList<>();
+        for (Event event : events) {
+            boolean needsFetch = event.getDriverMarket() == null || event.getDriverMarket().isEmpty();
+            if (needsFetch && event.getSessionKey() != null) {
+                Integer sessionKey = event.getSessionKey();
+                pending.add(new PendingMarket(event, executor.submit(() -> fetchDrivers(sessionKey))));
+            }
+        }
+
+        try {
+            for (PendingMarket market : pending) {
+                awaitMarket(market, deadlineAt - System.nanoTime());
+            }
+        } finally {
+            // Lookups past the deadline are left to finish, and fill the caches for the next page:
+            // interrupting one would fail every request coalesced onto it, and burn its rate limit permit.
+            pending.forEach(market -> market.drivers().cancel(false));
+        }
+    }
+
+    private void awaitMarket(PendingMarket market, long remainingNanos) {
+        try {
+            market.event().setDriverMarket(market.drivers().get(Math.max(0, remainingNanos), TimeUnit.NANOSECONDS));
+            market.event().setMarketLoading(false);
+        } catch (TimeoutException e) {
+            market.event().setDriverMarket(List.of());
+            market.event().setMarketLoading(true);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException("Failed to load driver market", e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while loading driver markets", e);
+        }
+    }
+
+    private List<Driver> fetchDrivers(Integer sessionKey) throws InterruptedException {
+        inFlight.acquire();
+        try {
+            return f1APIClient.getDriversForSession(sessionKey);
+        } finally {
+            inFlight.release();
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private record PendingMarket(Event event, Future<List<Driver>> drivers) {
+    }
+}
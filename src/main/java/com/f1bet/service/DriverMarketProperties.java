@@ -0,0 +1,13 @@
+package com.f1bet.service;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * @param maxConcurrency how many driver lookups may be in flight at once across all requests
+ * @param deadline       how long a page waits for its driver markets before returning without them
+ */
+@ConfigurationProperties("f1bet.events.driver-market")
+public record DriverMarketProperties(int maxConcurrency, Duration deadline) {
+}
@@ -0,0 +1,93 @@
+package com.f1bet.service;
+
+import com.f1bet.cache.CacheStats;
+import com.f1bet.cache.TtlCache;
+import com.f1bet.controller.response.EventResponse;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.stereotype.Service;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.List;
+
+/**
+ * Keeps event pages as serialized JSON together with a strong ETag, so repeated listings
+ * skip mapping and serialization and pollers can be answered with 304 Not Modified.
+ * <p>
+ * Each page remembers the catalog version and the number of market publications it was
+ * built from and is rebuilt as soon as either moves; the TTL bounds how long pages built
+ * from OpenF1 directly, which report no changes, are served. Pages with a market still
+ * loading are never kept since they are about to change.
+ */
+@Service
+public class EventListingCache {
+
+    private final EventService eventService;
+    private final SessionCatalogService sessionCatalog;
+    private final MarketEngine marketEngine;
+    private final ObjectMapper objectMapper;
+    private final EventListingCacheProperties properties;
+    private final TtlCache<Query, Page> pages;
+
+    public EventListingCache(EventService eventService, SessionCatalogService sessionCatalog, MarketEngine marketEngine,
+                             ObjectMapper objectMapper, EventListingCacheProperties properties) {
+        this.eventService = eventService;
+        this.sessionCatalog = sessionCatalog;
+        this.marketEngine = marketEngine;
+        this.objectMapper = objectMapper;
+        this.properties = properties;
+        this.pages = new TtlCache<>(properties.maxEntries());
+    }
+
+    public Page getEvents(String sessionType, Integer year, String country, int page, int size) {
+        Query query = new Query(sessionType, year, country, page, size);
+        // Read before building, so a change that lands while the page is built leaves it stale rather than hidden.
+        long catalogVersion = sessionCatalog.version();
+        long marketPublications = marketEngine.publications();
+
+        Page cached = pages.get(query);
+        if (cached != null && cached.catalogVersion() == catalogVersion && cached.marketPublications() == marketPublications) {
+            return cached;
+        }
+
+        List<EventResponse> events = eventService.getEvents(sessionType, year, country, page, size);
+        byte[] json = serialize(events);
+        Page built = new Page(json, etag(json), catalogVersion, marketPublications);
+        if (events.stream().noneMatch(EventResponse::marketLoading)) {
+            pages.put(query, built, properties.ttl());
+        }
+        return built;
+    }
+
+    public CacheStats stats() {
+        return pages.stats();
+    }
+
+    private byte[] serialize(List<EventResponse> events) {
+        try {
+            return objectMapper.writeValueAsBytes(events);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize events", e);
+        }
+    }
+
+    private static String etag(byte[] json) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(json);
+            return "\"" + HexFormat.of().formatHex(digest, 0, 16) + "\"";
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * A serialized page and the strong ETag of its bytes.
+     */
+    public record Page(byte[] json, String etag, long catalogVersion, long marketPublications) {
+    }
+
+    private record Query(String sessionType, Integer year, String country, int page, int size) {
+    }
+}
@@ -0,0 +1,13 @@
+package com.f1bet.service;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * @param ttl        longest a serialized page is served before it is rebuilt, even if no change was seen
+ * @param maxEntries pages kept; the least recently used one is dropped beyond that
+ */
+@ConfigurationProperties("f1bet.events.listing-cache")
+public record EventListingCacheProperties(Duration ttl, int maxEntries) {
+}
@@ -3,51 +3,167 @@ package com.f1bet.service;
 import com.f1bet.controller.request.ProcessEventOutcomeRequest;
 import com.f1bet.model.Bet;
 import com.f1bet.model.BetStatus;
-import com.f1bet.model.User;
+import com.f1bet.model.Money;
 import com.f1bet.repository.BetRepository;
-import com.f1bet.repository.UserRepository;
+import com.f1bet.repository.DriverSettlement;
+import com.f1bet.repository.UserPayout;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.persistence.EntityManager;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.Limit;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.server.ResponseStatusException;
 
-import java.math.BigDecimal;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
 
 @Service
 public class EventOutcomeService {
 
+    private static final Logger log = LoggerFactory.getLogger(EventOutcomeService.class);
+
     private final BetRepository betRepository;
-    private final UserRepository userRepository;
+    private final Wallet wallet;
+    private final EntityManager entityManager;
+    private final SettlementProperties settlementProperties;
+    private final ExposureTracker exposureTracker;
+    private final Timer duration;
+    private final Counter wonBets;
+    private final Counter lostBets;
 
-    public EventOutcomeService(BetRepository betRepository, UserRepository userRepository) {
+    public EventOutcomeService(BetRepository betRepository, Wallet wallet,
+                               EntityManager entityManager, SettlementProperties settlementProperties,
+                               ExposureTracker exposureTracker, MeterRegistry meterRegistry) {
         this.betRepository = betRepository;
-        this.userRepository = userRepository;
+        this.wallet = wallet;
+        this.entityManager = entityManager;
+        this.settlementProperties = settlementProperties;
+        this.exposureTracker = exposureTracker;
+        String mode = settlementProperties.mode().name().toLowerCase();
+        this.duration = Timer.builder("settlement.duration")
+                .description("Time taken to settle all pending bets of an event")
+                .tag("mode", mode)
+                .register(meterRegistry);
+        this.wonBets = settledBets(meterRegistry, mode, "won");
+        this.lostBets = settledBets(meterRegistry, mode, "lost");
+    }
+
+    private static Counter settledBets(MeterRegistry meterRegistry, String mode, String result) {
+        return Counter.builder("settlement.bets")
+                .description("Bets settled by event outcomes")
+                .tag("mode", mode)
+                .tag("result", result)
+                .register(meterRegistry);
     }
 
+    /**
+     * Settles the event and records its duration and the number of bets won and lost. The
+     * duration covers the settlement statements, not the commit that follows them.
+     */
     @Transactional
     public void processEventOutcome(ProcessEventOutcomeRequest request) {
-        List<Bet> bets = betRepository.findByEventIdAndStatus(request.eventId(), BetStatus.PENDING.name());
-
-        bets.forEach(bet -> {
-            if (bet.getDriverId() != null && bet.getDriverId().equals(request.winningDriverId())) {
-                bet.setStatus(BetStatus.WON.name());
-                BigDecimal prize = bet.getAmount().multiply(BigDecimal.valueOf(bet.getOdds()));
-                bet.setTotalAwarded(prize);
-                updateUserBalance(bet.getUserId(), prize);
-            } else {
-                bet.setStatus(BetStatus.LOST.name());
-                bet.setTotalAwarded(BigDecimal.ZERO);
+        long start = System.nanoTime();
+        Settled settled;
+        if (settlementProperties.mode() == SettlementMode.CHUNKED) {
+            settled = settleInChunks(request.eventId(), request.winningDriverId());
+        } else {
+            settled = settleInBulk(request.eventId(), request.winningDriverId());
+        }
+        exposureTracker.onSettled(request.eventId(), settled.drivers());
+
+        long elapsed = System.nanoTime() - start;
+        duration.record(elapsed, TimeUnit.NANOSECONDS);
+        wonBets.increment(settled.won());
+        lostBets.increment(settled.lost());
+        log.info("Settled event {}: {} won, {} lost in {} ms", request.eventId(), settled.won(), settled.lost(),
+                TimeUnit.NANOSECONDS.toMillis(elapsed));
+    }
+
+    /**
+     * Settles all pending bets of the event with set-based statements: winners and losers are
+     * flipped with one bulk update apiece, then payouts are summed per user and credited in
+     * one JDBC batch. No bet or user entity is loaded.
+     * <p>
+     * The updates tag every row they change with a run id, and the payouts are summed from the
+     * tagged rows only, so exactly the bets flipped to won are credited. A bet committed after
+     * the updates is left pending for the next settlement.
+     */
+    private Settled settleInBulk(String eventId, Integer winningDriverId) {
+        String run = UUID.randomUUID().toString();
+        int won = 0;
+        if (winningDriverId != null) {
+            won = betRepository.settleWinners(eventId, BetStatus.PENDING.name(), winningDriverId, run, BetStatus.WON.name());
+        }
+        int lost = betRepository.settleLosers(eventId, BetStatus.PENDING.name(), winningDriverId, run, BetStatus.LOST.name());
+        if (won > 0) {
+            creditPayouts(betRepository.sumPayoutsByUser(eventId, run, BetStatus.WON.name()), eventId);
+        }
+        List<DriverSettlement> drivers = won + lost > 0 ? betRepository.sumSettledByDriver(eventId, run) : List.of();
+        return new Settled(won, lost, drivers);
+    }
+
+    /**
+     * Settles pending bets in id order, {@code chunkSize} at a time. Each chunk's payouts are
+     * credited per user, its changes flushed, and the persistence context cleared before the
+     * next chunk is read, so at most one chunk of bets is ever on the heap.
+     */
+    private Settled settleInChunks(String eventId, Integer winningDriverId) {
+        int chunkSize = settlementProperties.chunkSize();
+        int won = 0;
+        int lost = 0;
+        Map<Integer, DriverSettlement> drivers = new LinkedHashMap<>();
+        long lastId = 0;
+        List<Bet> chunk;
+        do {
+            chunk = betRepository.findByEventIdAndStatusAndIdGreaterThanOrderByIdAsc(
+                    eventId, BetStatus.PENDING.name(), lastId, Limit.of(chunkSize));
+            if (chunk.isEmpty()) {
+                break;
+            }
+
+            Map<Long, Money> payouts = new LinkedHashMap<>();
+            for (Bet bet : chunk) {
+                drivers.merge(bet.getDriverId(), DriverSettlement.of(bet), DriverSettlement::plus);
+                if (bet.getDriverId() != null && bet.getDriverId().equals(winningDriverId)) {
+                    Money prize = bet.getAmount().times(bet.getOdds());
+                    bet.setStatus(BetStatus.WON.name());
+                    bet.setTotalAwarded(prize);
+                    payouts.merge(bet.getUserId(), prize, Money::plus);
+                    won++;
+                } else {
+                    bet.setStatus(BetStatus.LOST.name());
+                    bet.setTotalAwarded(Money.ZERO);
+                    lost++;
+                }
             }
-            betRepository.save(bet);
-        });
+            creditPayouts(payouts.entrySet().stream()
+                    .map(payout -> new UserPayout(payout.getKey(), payout.getValue()))
+                    .toList(), eventId);
+
+            lastId = chunk.getLast().getId();
+            entityManager.flush();
+            entityManager.clear();
+        } while (chunk.size() == chunkSize);
+        return new Settled(won, lost, List.copyOf(drivers.values()));
     }
 
-    private void updateUserBalance(Long userId, BigDecimal prize) {
-        User user = userRepository.findById(userId)
-                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "User not found"));
+    private void creditPayouts(List<UserPayout> payouts, String eventId) {
+        int[] updated = wallet.creditAll(payouts, "payout:" + eventId);
+        for (int rows : updated) {
+            if (rows == 0) {
+                throw new ResponseStatusException(HttpStatus.NOT_FOUND, "User not found");
+            }
+        }
+    }
 
-        user.setBalance(user.getBalance().add(prize));
-        userRepository.save(user);
+    private record Settled(int won, int lost, List<DriverSettlement> drivers) {
     }
 }
@@ -3,7 +3,9 @@ package com.f1bet.service;
 import com.f1bet.controller.response.EventResponse;
 import com.f1bet.integration.F1APIClient;
 import com.f1bet.mapper.EventMapper;
+import com.f1bet.model.Driver;
 import com.f1bet.model.Event;
+import com.f1bet.model.Market;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
@@ -16,17 +18,65 @@ public class EventService {
 
     private final F1APIClient f1APIClient;
     private final EventMapper eventMapper;
+    private final DriverMarketLoader driverMarketLoader;
+    private final SessionCatalogService sessionCatalog;
+    private final MarketEngine marketEngine;
 
     @Autowired
-    public EventService(F1APIClient f1APIClient, EventMapper eventMapper) {
+    public EventService(F1APIClient f1APIClient, EventMapper eventMapper, DriverMarketLoader driverMarketLoader,
+                        SessionCatalogService sessionCatalog, MarketEngine marketEngine) {
         this.f1APIClient = f1APIClient;
         this.eventMapper = eventMapper;
+        this.driverMarketLoader = driverMarketLoader;
+        this.sessionCatalog = sessionCatalog;
+        this.marketEngine = marketEngine;
     }
 
     public List<EventResponse> getEvents(String sessionType, Integer year, String country, int page, int size) {
         int safeSize = Math.max(1, Math.min(30, size));
         int safePage = Math.max(0, page);
 
+        List<Event> pageItems;
+        if (sessionCatalog.isReady()) {
+            pageItems = sessionCatalog.findEvents(sessionType, year, country, safePage, safeSize);
+            loadUnsyncedMarkets(pageItems);
+        } else {
+            pageItems = fetchPage(sessionType, year, country, safePage, safeSize);
+            driverMarketLoader.loadMarkets(pageItems);
+        }
+
+        return pageItems.stream()
+                .map(event -> eventMapper.toResponse(event, market(event)))
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Fetches the markets the catalog has not synced yet, under the same deadline as an
+     * uncatalogued page, and stores the ones that came back so the next listing of them is
+     * served locally and can be cached.
+     */
+    private void loadUnsyncedMarkets(List<Event> pageItems) {
+        List<Event> unsynced = pageItems.stream().filter(Event::isMarketLoading).toList();
+        if (unsynced.isEmpty()) {
+            return;
+        }
+        driverMarketLoader.loadMarkets(unsynced);
+        for (Event event : unsynced) {
+            if (!event.isMarketLoading()) {
+                List<Driver> drivers = event.getDriverMarket() == null ? List.of() : event.getDriverMarket();
+                sessionCatalog.storeDriversIfUnsynced(event.getSessionKey(), drivers);
+            }
+        }
+    }
+
+    private Market market(Event event) {
+        if (event.getSessionKey() == null || event.getDriverMarket() == null || event.getDriverMarket().isEmpty()) {
+            return null;
+        }
+        return marketEngine.price(event.getSessionKey(), event.getDriverMarket().stream().map(Driver::getDriverNumber).toList());
+    }
+
+    private List<Event> fetchPage(String sessionType, Integer year, String country, int safePage, int safeSize) {
         List<Event> sessions = f1APIClient.getSessions(sessionType, year, country);
         if (sessions == null || sessions.isEmpty()) {
             return Collections.emptyList();
@@ -37,16 +87,6 @@ public class EventService {
         }
         int toIndex = Math.min(fromIndex + safeSize, sessions.size());
 
-        List<Event> pageItems = sessions.subList(fromIndex, toIndex);
-        pageItems.forEach(session -> {
-            boolean needsFetch = session.getDriverMarket() == null || session.getDriverMarket().isEmpty();
-            if (needsFetch && session.getSessionKey() != null) {
-                session.setDriverMarket(f1APIClient.getDriversForSession(session.getSessionKey()));
-            }
-        });
-
-        return pageItems.stream()
-                .map(eventMapper::toResponse)
-                .collect(Collectors.toList());
+        return sessions.subList(fromIndex, toIndex);
     }
 }
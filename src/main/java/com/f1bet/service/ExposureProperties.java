@@ -0,0 +1,12 @@
+package com.f1bet.service;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * @param flushInterval pause between two writes of the changed exposure counters to the database
+ */
+@ConfigurationProperties("f1bet.exposure")
+public record ExposureProperties(Duration flushInterval) {
+}
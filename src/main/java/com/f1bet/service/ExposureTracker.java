@@ -0,0 +1,187 @@
+package com.f1bet.service;
+
+import com.f1bet.controller.response.DriverExposureResponse;
+import com.f1bet.controller.response.EventExposureResponse;
+import com.f1bet.model.Bet;
+import com.f1bet.model.BetStatus;
+import com.f1bet.model.EventExposure;
+import com.f1bet.model.Money;
+import com.f1bet.repository.DriverSettlement;
+import com.f1bet.repository.EventExposureRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Keeps the stake total, bet count and potential payout of the open bets on every (event,
+ * driver) in memory, so exposure is read without touching the bets table. Placements add to
+ * the counters and settlements take off exactly the bets they closed, both once their
+ * transaction has committed, so bets a settlement left open keep being counted.
+ * Counters are {@link LongAdder}s, so concurrent bets on the same driver never contend on a lock.
+ * <p>
+ * Changed events are written to {@code event_exposure} every {@code f1bet.exposure.flush-interval}
+ * and on shutdown, and read back on startup. After an unclean shutdown the bets placed since
+ * the last write are missing from the counters.
+ */
+@Service
+public class ExposureTracker {
+
+    private static final Logger log = LoggerFactory.getLogger(ExposureTracker.class);
+
+    private final EventExposureRepository exposureRepository;
+    private final Clock clock = Clock.systemUTC();
+
+    private final Map<String, Map<Integer, Counters>> events = new ConcurrentHashMap<>();
+    private final Set<String> dirtyEvents = ConcurrentHashMap.newKeySet();
+
+    public ExposureTracker(EventExposureRepository exposureRepository) {
+        this.exposureRepository = exposureRepository;
+    }
+
+    @PostConstruct
+    public void load() {
+        for (EventExposure stored : exposureRepository.findAll()) {
+            counters(stored.getEventId(), stored.getDriverId())
+                    .add(stored.getStakeTotal().cents(), stored.getBetCount(), stored.getPotentialPayout().cents());
+        }
+    }
+
+    /**
+     * Counts the {@code PENDING} bets among {@code bets} once the current transaction commits.
+     */
+    public void onPlaced(Collection<Bet> bets) {
+        List<Bet> open = bets.stream()
+                .filter(bet -> BetStatus.PENDING.name().equals(bet.getStatus()))
+                .toList();
+        if (!open.isEmpty()) {
+            afterCommit(() -> open.forEach(this::add));
+        }
+    }
+
+    /**
+     * Takes the settled bets of each driver off the event once the current transaction commits.
+     */
+    public void onSettled(String eventId, Collection<DriverSettlement> settled) {
+        List<DriverSettlement> drivers = settled.stream()
+                .filter(driver -> driver.driverId() != null)
+                .toList();
+        if (drivers.isEmpty()) {
+            return;
+        }
+        afterCommit(() -> {
+            drivers.forEach(driver -> counters(eventId, driver.driverId())
+                    .add(-driver.stake().cents(), -driver.bets(), -driver.payout().cents()));
+            dirtyEvents.add(eventId);
+        });
+    }
+
+    public EventExposureResponse exposure(String eventId) {
+        List<DriverExposureResponse> drivers = new ArrayList<>();
+        long stakeTotal = 0;
+        long betCount = 0;
+        for (Map.Entry<Integer, Counters> driver : events.getOrDefault(eventId, Map.of()).entrySet()) {
+            Counters counters = driver.getValue();
+            long stake = counters.stakeCents.sum();
+            long bets = counters.bets.sum();
+            drivers.add(new DriverExposureResponse(driver.getKey(), Money.ofCents(stake).toBigDecimal(), bets,
+                    Money.ofCents(counters.payoutCents.sum()).toBigDecimal()));
+            stakeTotal += stake;
+            betCount += bets;
+        }
+        return new EventExposureResponse(eventId, Money.ofCents(stakeTotal).toBigDecimal(), betCount, drivers);
+    }
+
+    @Scheduled(fixedDelayString = "${f1bet.exposure.flush-interval}")
+    public void scheduledFlush() {
+        try {
+            flush();
+        } catch (RuntimeException e) {
+            log.warn("Exposure flush failed: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Writes the counters of every event changed since the last flush.
+     *
+     * @return the number of (event, driver) rows written
+     */
+    public int flush() {
+        Instant now = clock.instant();
+        List<String> flushed = new ArrayList<>();
+        List<EventExposure> rows = new ArrayList<>();
+        // Unmarked before reading, so a bet counted meanwhile marks the event again for the next flush.
+        for (Iterator<String> it = dirtyEvents.iterator(); it.hasNext(); ) {
+            String eventId = it.next();
+            it.remove();
+            flushed.add(eventId);
+            events.getOrDefault(eventId, Map.of()).forEach((driverId, counters) -> rows.add(new EventExposure(eventId, driverId,
+                    Money.ofCents(counters.stakeCents.sum()), counters.bets.sum(), Money.ofCents(counters.payoutCents.sum()), now)));
+        }
+        try {
+            exposureRepository.upsertAll(rows);
+        } catch (RuntimeException e) {
+            dirtyEvents.addAll(flushed);
+            throw e;
+        }
+        return rows.size();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        scheduledFlush();
+    }
+
+    private void add(Bet bet) {
+        long stake = bet.getAmount().cents();
+        counters(bet.getEventId(), bet.getDriverId()).add(stake, 1, Math.multiplyExact(stake, bet.getOdds()));
+        dirtyEvents.add(bet.getEventId());
+    }
+
+    private Counters counters(String eventId, Integer driverId) {
+        return events.computeIfAbsent(eventId, id -> new ConcurrentSkipListMap<>())
+                .computeIfAbsent(driverId, id -> new Counters());
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
+    private static final class Counters {
+
+        private final LongAdder stakeCents = new LongAdder();
+        private final LongAdder bets = new LongAdder();
+        private final LongAdder payoutCents = new LongAdder();
+
+        void add(long stake, long count, long payout) {
+            stakeCents.add(stake);
+            bets.add(count);
+            payoutCents.add(payout);
+        }
+    }
+}
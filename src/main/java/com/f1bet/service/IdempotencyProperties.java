@@ -0,0 +1,13 @@
+package com.f1bet.service;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * @param ttl        how long the answer to a keyed request is replayed from memory
+ * @param maxEntries upper bound on remembered keys before LRU eviction kicks in
+ */
+@ConfigurationProperties("f1bet.bets.idempotency")
+public record IdempotencyProperties(Duration ttl, int maxEntries) {
+}
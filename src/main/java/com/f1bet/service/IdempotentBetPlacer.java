@@ -0,0 +1,135 @@
+package com.f1bet.service;
+
+import com.f1bet.cache.SingleFlight;
+import com.f1bet.cache.TtlCache;
+import com.f1bet.controller.request.PlaceBetRequest;
+import com.f1bet.controller.response.PlaceBetResponse;
+import com.f1bet.mapper.BetMapper;
+import com.f1bet.model.Bet;
+import com.f1bet.model.BetStatus;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.Objects;
+import java.util.Optional;
+import java.util.function.BiFunction;
+
+/**
+ * Makes bet placement safe to retry under an {@code Idempotency-Key}. The answer to the first
+ * request of a (user, key) pair is kept in a size- and time-bounded cache and replayed to
+ * retries without validating, pricing, debiting or inserting again; retries arriving while
+ * the first request is still running wait for its answer. Once the key has left the cache,
+ * the bet still queued under it by the asynchronous intake, or else the key stored on the
+ * bet and its unique constraint, answer the retry instead.
+ * <p>
+ * Failed placements are not remembered, so retrying one runs it again. That includes a bet
+ * the asynchronous intake accepted but then stored as {@code FAILED}: its queued answer is
+ * dropped, and the next retry places it anew.
+ */
+@Service
+public class IdempotentBetPlacer {
+
+    private static final int MAX_KEY_LENGTH = 255;
+
+    private final BetService betService;
+    private final Optional<AsyncBetIntake> asyncIntake;
+    private final BetMapper betMapper;
+    private final IdempotencyProperties properties;
+
+    private final TtlCache<Key, Placed> placed;
+    private final SingleFlight<Key, Placed> inFlight = new SingleFlight<>();
+
+    public IdempotentBetPlacer(BetService betService, Optional<AsyncBetIntake> asyncIntake, BetMapper betMapper,
+                               IdempotencyProperties properties) {
+        this.betService = betService;
+        this.asyncIntake = asyncIntake;
+        this.betMapper = betMapper;
+        this.properties = properties;
+        this.placed = new TtlCache<>(properties.maxEntries());
+        asyncIntake.ifPresent(intake -> intake.onFailed((userId, idempotencyKey) -> placed.invalidate(new Key(userId, idempotencyKey))));
+    }
+
+    /**
+     * Runs {@code placement} once per (user, key) and answers every later call with its result.
+     *
+     * @throws ResponseStatusException 400 if the key is blank or too long, 422 if it was already used for a different bet
+     */
+    public PlaceBetResponse place(PlaceBetRequest request, String idempotencyKey,
+                                  BiFunction<PlaceBetRequest, String, PlaceBetResponse> placement) {
+        if (idempotencyKey.isBlank() || idempotencyKey.length() > MAX_KEY_LENGTH) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Idempotency-Key must be 1 to " + MAX_KEY_LENGTH + " characters");
+        }
+        Key key = new Key(request.userId(), idempotencyKey);
+        Placed answer = placed.get(key);
+        if (answer == null) {
+            answer = inFlight.execute(key, () -> {
+                // A call for the key may have finished between the lookup above and joining the flight.
+                Placed finished = placed.get(key);
+                if (finished != null) {
+                    return finished;
+                }
+                Placed first = placeOnce(key, request, placement);
+                placed.put(key, first, properties.ttl());
+                if (leftTheQueue(key, first)) {
+                    // The bet was written or failed before its answer was cached; a failure may have been reported already.
+                    placed.invalidate(key);
+                }
+                return first;
+            });
+        }
+        if (!answer.matches(request)) {
+            throw new ResponseStatusException(HttpStatus.UNPROCESSABLE_ENTITY, "Idempotency-Key was already used for a different bet");
+        }
+        return answer.response();
+    }
+
+    private Placed placeOnce(Key key, PlaceBetRequest request, BiFunction<PlaceBetRequest, String, PlaceBetResponse> placement) {
+        Placed earlier = queuedOrStored(key);
+        if (earlier != null) {
+            return earlier;
+        }
+        try {
+            return new Placed(request.eventId(), request.driverId(), request.stake().cents(), placement.apply(request, key.idempotencyKey()));
+        } catch (DataIntegrityViolationException e) {
+            // Another instance placed the bet under the same key first; its insert won the unique constraint.
+            Bet winner = betService.findByIdempotencyKey(key.userId(), key.idempotencyKey()).orElseThrow(() -> e);
+            return Placed.of(winner, betMapper.toResponse(winner));
+        }
+    }
+
+    // The queue is checked first: a queued bet only leaves it once committed, so it cannot slip between the two lookups.
+    private Placed queuedOrStored(Key key) {
+        Optional<Placed> queued = asyncIntake.flatMap(intake -> intake.findQueued(key.userId(), key.idempotencyKey())
+                .flatMap(bet -> intake.findQueued(bet.getReference()).map(accepted -> Placed.of(bet, accepted))));
+        return queued.or(() -> betService.findByIdempotencyKey(key.userId(), key.idempotencyKey())
+                        .map(stored -> Placed.of(stored, betMapper.toResponse(stored))))
+                .orElse(null);
+    }
+
+    private boolean leftTheQueue(Key key, Placed answer) {
+        return BetStatus.QUEUED.name().equals(answer.response().status())
+                && asyncIntake.flatMap(intake -> intake.findQueued(key.userId(), key.idempotencyKey())).isEmpty();
+    }
+
+    public int size() {
+        return placed.size();
+    }
+
+    private record Key(Long userId, String idempotencyKey) {
+    }
+
+    private record Placed(String eventId, Integer driverId, long stakeCents, PlaceBetResponse response) {
+
+        static Placed of(Bet bet, PlaceBetResponse response) {
+            return new Placed(bet.getEventId(), bet.getDriverId(), bet.getAmount().cents(), response);
+        }
+
+        boolean matches(PlaceBetRequest request) {
+            return Objects.equals(eventId, request.eventId())
+                    && Objects.equals(driverId, request.driverId())
+                    && stakeCents == request.stake().cents();
+        }
+    }
+}
@@ -0,0 +1,228 @@
+package com.f1bet.service;
+
+import com.f1bet.model.LedgerEntryType;
+import com.f1bet.model.Money;
+import com.f1bet.repository.LedgerBalance;
+import com.f1bet.repository.LedgerEntryRepository;
+import com.f1bet.repository.UserPayout;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Clock;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.IntConsumer;
+
+/**
+ * {@link Wallet} that appends every balance change to the wallet ledger instead of updating
+ * the user row, so concurrent bets of one user are plain inserts. The balance checked by a
+ * debit is a running total cached per user, loaded once as the compacted balance plus the
+ * ledger entries not folded into it yet; {@link WalletLedgerCompactor} does the folding.
+ * <p>
+ * A debit takes its amount off the running total as soon as it is appended, under a per-user
+ * lock held only for the check and the insert, and gives it back if its transaction rolls
+ * back. Credits are added once committed; a total loaded in between counts the committed
+ * ones itself, and those are not added again. Totals and locks live in this JVM: running
+ * several instances against one database requires {@link WalletMode#DIRECT}.
+ */
+@Service
+@ConditionalOnProperty(name = "f1bet.wallet.mode", havingValue = "ledger")
+public class LedgerWallet implements Wallet {
+
+    private static final int LOCK_STRIPES = 256;
+
+    private final LedgerEntryRepository ledgerRepository;
+    private final Clock clock = Clock.systemUTC();
+
+    private final Map<Long, Money> runningTotals = new ConcurrentHashMap<>();
+    /** Ledger ids of credits appended but not yet added to their user's running total, per user. */
+    private final Map<Long, Set<Long>> pendingCredits = new ConcurrentHashMap<>();
+    private final ReentrantLock[] locks = new ReentrantLock[LOCK_STRIPES];
+
+    public LedgerWallet(LedgerEntryRepository ledgerRepository) {
+        this.ledgerRepository = ledgerRepository;
+        for (int i = 0; i < locks.length; i++) {
+            locks[i] = new ReentrantLock();
+        }
+    }
+
+    @Override
+    public boolean debit(Long userId, Money amount, String reference) {
+        ReentrantLock lock = lockFor(userId);
+        lock.lock();
+        try {
+            Money total = runningTotal(userId);
+            if (total == null || !total.isAtLeast(amount)) {
+                return false;
+            }
+            ledgerRepository.appendAll(List.of(new UserPayout(userId, amount.negate())),
+                    LedgerEntryType.DEBIT, reference, clock.instant());
+            runningTotals.computeIfPresent(userId, (id, current) -> current.minus(amount));
+        } finally {
+            lock.unlock();
+        }
+        refundOnRollback(new UserPayout(userId, amount));
+        return true;
+    }
+
+    /**
+     * Credits only reach the running totals once committed, so a debit can never spend money
+     * that a rolled-back settlement did not pay. The users' locks are held while the entries
+     * are appended and registered as pending, so no total is loaded in between.
+     */
+    @Override
+    public int[] creditAll(List<UserPayout> payouts, String reference) {
+        List<PendingCredit> credited = new ArrayList<>(payouts.size());
+        int[] appended = new int[payouts.size()];
+        List<ReentrantLock> userLocks = locksFor(payouts);
+        userLocks.forEach(ReentrantLock::lock);
+        try {
+            long[] entryIds = ledgerRepository.appendAll(payouts, LedgerEntryType.CREDIT, reference, clock.instant());
+            for (int i = 0; i < entryIds.length; i++) {
+                if (entryIds[i] > 0) {
+                    UserPayout payout = payouts.get(i);
+                    credited.add(new PendingCredit(payout, entryIds[i]));
+                    pendingCredits.computeIfAbsent(payout.userId(), id -> ConcurrentHashMap.newKeySet()).add(entryIds[i]);
+                    appended[i] = 1;
+                }
+            }
+        } finally {
+            userLocks.forEach(ReentrantLock::unlock);
+        }
+        afterCompletion(status -> credited.forEach(credit -> completeCredit(credit, status)));
+        return appended;
+    }
+
+    /**
+     * Cached balance of the user, or {@code null} if the user does not exist.
+     */
+    public Money balance(Long userId) {
+        ReentrantLock lock = lockFor(userId);
+        lock.lock();
+        try {
+            return runningTotal(userId);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Callers hold the user's lock. A total is only loaded before the user's first debit and
+     * then kept for good, so the load can never miss a debit that is still uncommitted.
+     * Pending credits the load already counts are dropped, so their commit does not add them
+     * a second time.
+     */
+    private Money runningTotal(Long userId) {
+        Money cached = runningTotals.get(userId);
+        if (cached != null) {
+            return cached;
+        }
+        Set<Long> pending = pendingCredits.get(userId);
+        LedgerBalance loaded = ledgerRepository.balanceOf(userId, pending == null ? List.of() : List.copyOf(pending))
+                .orElse(null);
+        if (loaded == null) {
+            return null;
+        }
+        if (pending != null) {
+            pending.removeAll(loaded.countedEntryIds());
+        }
+        runningTotals.put(userId, loaded.balance());
+        return loaded.balance();
+    }
+
+    /**
+     * Adds a committed credit unless a total loaded since already counted it. An unknown
+     * outcome drops the total so it is reloaded from the ledger.
+     */
+    private void completeCredit(PendingCredit credit, int status) {
+        Long userId = credit.payout().userId();
+        ReentrantLock lock = lockFor(userId);
+        lock.lock();
+        try {
+            Set<Long> pending = pendingCredits.get(userId);
+            boolean stillPending = pending != null && pending.remove(credit.entryId());
+            if (pending != null && pending.isEmpty()) {
+                pendingCredits.remove(userId, pending);
+            }
+            if (status == TransactionSynchronization.STATUS_COMMITTED && stillPending) {
+                runningTotals.computeIfPresent(userId, (id, current) -> current.plus(credit.payout().amount()));
+            } else if (status == TransactionSynchronization.STATUS_UNKNOWN) {
+                runningTotals.remove(userId);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void applyCredit(UserPayout payout) {
+        ReentrantLock lock = lockFor(payout.userId());
+        lock.lock();
+        try {
+            runningTotals.computeIfPresent(payout.userId(), (id, current) -> current.plus(payout.amount()));
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * The running total already excludes the debit; if the surrounding transaction rolls back
+     * the entry is gone, so the amount is given back. An unknown outcome drops the total so it
+     * is reloaded from the ledger.
+     */
+    private void refundOnRollback(UserPayout refund) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status == STATUS_ROLLED_BACK) {
+                    applyCredit(refund);
+                } else if (status == STATUS_UNKNOWN) {
+                    runningTotals.remove(refund.userId());
+                }
+            }
+        });
+    }
+
+    private static void afterCompletion(IntConsumer action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.accept(TransactionSynchronization.STATUS_COMMITTED);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                action.accept(status);
+            }
+        });
+    }
+
+    private ReentrantLock lockFor(Long userId) {
+        return locks[stripeOf(userId)];
+    }
+
+    /**
+     * The distinct locks of the payouts' users in stripe order, so that two callers locking
+     * several of them can never deadlock.
+     */
+    private List<ReentrantLock> locksFor(List<UserPayout> payouts) {
+        Set<Integer> stripes = new TreeSet<>();
+        payouts.forEach(payout -> stripes.add(stripeOf(payout.userId())));
+        return stripes.stream().map(stripe -> locks[stripe]).toList();
+    }
+
+    private int stripeOf(Long userId) {
+        return Math.floorMod(userId.hashCode(), locks.length);
+    }
+
+    private record PendingCredit(UserPayout payout, long entryId) {
+    }
+}
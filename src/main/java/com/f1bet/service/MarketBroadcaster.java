@@ -0,0 +1,240 @@
+package com.f1bet.service;
+
+import com.f1bet.controller.response.MarketOddsResponse;
+import com.f1bet.controller.response.MarketUpdateResponse;
+import com.f1bet.model.Market;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Queue;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Pushes market changes to Server-Sent Events subscribers of a session. A subscriber first
+ * gets a {@code snapshot} event with every priced driver, then a {@code delta} event with the
+ * drivers added by each newly published {@link Market} version. Event ids are market versions.
+ * <p>
+ * Subscriptions and publications are handled in order on one dispatcher thread, so no version
+ * is missed or sent twice between a subscriber's snapshot and its first delta. Each update is
+ * serialized once for all subscribers. Every subscriber has its own queue drained on a virtual
+ * thread, so a slow connection only holds up itself; one that falls {@code maxPending} updates
+ * behind is disconnected and can reconnect for a fresh snapshot.
+ */
+@Service
+public class MarketBroadcaster {
+
+    private static final Logger log = LoggerFactory.getLogger(MarketBroadcaster.class);
+
+    private final MarketEngine marketEngine;
+    private final ObjectMapper objectMapper;
+    private final MarketStreamProperties properties;
+
+    private final Map<Integer, Set<Subscriber>> subscribers = new ConcurrentHashMap<>();
+    private final AtomicInteger subscriberCount = new AtomicInteger();
+    private final ExecutorService dispatcher = Executors.newSingleThreadExecutor(
+            Thread.ofPlatform().name("market-broadcaster").daemon().factory());
+    private final ExecutorService senders = Executors.newVirtualThreadPerTaskExecutor();
+
+    public MarketBroadcaster(MarketEngine marketEngine, ObjectMapper objectMapper, MarketStreamProperties properties,
+                             MeterRegistry meterRegistry) {
+        this.marketEngine = marketEngine;
+        this.objectMapper = objectMapper;
+        this.properties = properties;
+        marketEngine.onPublish((previous, next) -> dispatcher.execute(() -> broadcast(previous, next)));
+        Gauge.builder("markets.stream.subscribers", subscriberCount, AtomicInteger::get)
+                .description("Open market stream connections")
+                .register(meterRegistry);
+    }
+
+    public SseEmitter subscribe(int sessionKey) {
+        // No timeout: the stream stays open until the client leaves or falls too far behind.
+        SseEmitter emitter = new SseEmitter(0L);
+        subscribe(sessionKey, emitter);
+        return emitter;
+    }
+
+    void subscribe(int sessionKey, SseEmitter emitter) {
+        Subscriber subscriber = new Subscriber(sessionKey, emitter);
+        emitter.onCompletion(() -> remove(subscriber));
+        emitter.onTimeout(() -> remove(subscriber));
+        emitter.onError(failure -> remove(subscriber));
+        dispatcher.execute(() -> {
+            try {
+                if (!add(subscriber)) {
+                    return;
+                }
+                Market current = marketEngine.current(sessionKey);
+                subscriber.lastVersion = current == null ? 0 : current.version();
+                subscriber.offer(new Frame("snapshot", subscriber.lastVersion,
+                        serialize(sessionKey, subscriber.lastVersion, current == null ? Map.of() : current.odds())));
+            } catch (RuntimeException e) {
+                log.warn("Could not open market stream for session {}: {}", sessionKey, e.getMessage());
+                remove(subscriber);
+                emitter.completeWithError(e);
+            }
+        });
+    }
+
+    public int subscriberCount() {
+        return subscriberCount.get();
+    }
+
+    private void broadcast(Market previous, Market next) {
+        Set<Subscriber> sessionSubscribers = subscribers.get(next.sessionKey());
+        if (sessionSubscribers == null || sessionSubscribers.isEmpty()) {
+            return;
+        }
+        Map<Integer, Integer> before = previous == null ? Map.of() : previous.odds();
+        Map<Integer, Integer> added = new TreeMap<>();
+        next.odds().forEach((driverNumber, odds) -> {
+            if (!Objects.equals(before.get(driverNumber), odds)) {
+                added.put(driverNumber, odds);
+            }
+        });
+        Frame delta = new Frame("delta", next.version(), serialize(next.sessionKey(), next.version(), added));
+        for (Subscriber subscriber : sessionSubscribers) {
+            // Versions already covered by the subscriber's snapshot are skipped.
+            if (next.version() > subscriber.lastVersion) {
+                subscriber.lastVersion = next.version();
+                subscriber.offer(delta);
+            }
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${f1bet.markets.stream.heartbeat}")
+    public void heartbeat() {
+        subscribers.values().forEach(sessionSubscribers -> sessionSubscribers.forEach(subscriber -> subscriber.offer(Frame.HEARTBEAT)));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        dispatcher.shutdownNow();
+        subscribers.values().forEach(sessionSubscribers -> sessionSubscribers.forEach(subscriber -> subscriber.emitter.complete()));
+        senders.shutdownNow();
+    }
+
+    /**
+     * Registers the subscriber unless it was closed before getting here, e.g. by the client
+     * leaving right away.
+     */
+    private boolean add(Subscriber subscriber) {
+        subscribers.compute(subscriber.sessionKey, (sessionKey, sessionSubscribers) -> {
+            Set<Subscriber> set = sessionSubscribers != null ? sessionSubscribers : ConcurrentHashMap.newKeySet();
+            if (!subscriber.closed.get() && set.add(subscriber)) {
+                subscriberCount.incrementAndGet();
+            }
+            return set.isEmpty() ? null : set;
+        });
+        return !subscriber.closed.get();
+    }
+
+    private void remove(Subscriber subscriber) {
+        if (subscriber.closed.compareAndSet(false, true)) {
+            subscribers.computeIfPresent(subscriber.sessionKey, (sessionKey, sessionSubscribers) -> {
+                if (sessionSubscribers.remove(subscriber)) {
+                    subscriberCount.decrementAndGet();
+                }
+                return sessionSubscribers.isEmpty() ? null : sessionSubscribers;
+            });
+        }
+    }
+
+    private String serialize(int sessionKey, int version, Map<Integer, Integer> odds) {
+        List<MarketOddsResponse> drivers = odds.entrySet().stream()
+                .sorted(Map.Entry.comparingByKey())
+                .map(entry -> new MarketOddsResponse(entry.getKey(), entry.getValue()))
+                .toList();
+        try {
+            return objectMapper.writeValueAsString(new MarketUpdateResponse(sessionKey, version, drivers));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize market of session " + sessionKey, e);
+        }
+    }
+
+    /**
+     * One event as sent on the wire; {@code json} is shared by every subscriber it goes to.
+     */
+    private record Frame(String name, int version, String json) {
+
+        static final Frame HEARTBEAT = new Frame(null, 0, null);
+
+        SseEmitter.SseEventBuilder toEvent() {
+            if (this == HEARTBEAT) {
+                return SseEmitter.event().comment("heartbeat");
+            }
+            return SseEmitter.event().name(name).id(String.valueOf(version)).data(json, MediaType.APPLICATION_JSON);
+        }
+    }
+
+    private final class Subscriber {
+
+        private final int sessionKey;
+        private final SseEmitter emitter;
+        private final Queue<Frame> pending = new ConcurrentLinkedQueue<>();
+        private final AtomicInteger pendingCount = new AtomicInteger();
+        private final AtomicBoolean draining = new AtomicBoolean();
+        private final AtomicBoolean closed = new AtomicBoolean();
+
+        /** Last market version queued for this subscriber; only touched on the dispatcher thread. */
+        private int lastVersion;
+
+        Subscriber(int sessionKey, SseEmitter emitter) {
+            this.sessionKey = sessionKey;
+            this.emitter = emitter;
+        }
+
+        void offer(Frame frame) {
+            if (closed.get()) {
+                return;
+            }
+            if (pendingCount.incrementAndGet() > properties.maxPending()) {
+                log.info("Disconnecting market stream subscriber of session {}: {} updates behind", sessionKey, properties.maxPending());
+                remove(this);
+                emitter.complete();
+                return;
+            }
+            pending.add(frame);
+            if (draining.compareAndSet(false, true)) {
+                senders.execute(this::drain);
+            }
+        }
+
+        private void drain() {
+            do {
+                Frame frame;
+                while ((frame = pending.poll()) != null) {
+                    pendingCount.decrementAndGet();
+                    try {
+                        emitter.send(frame.toEvent());
+                    } catch (IOException | IllegalStateException e) {
+                        // The client went away; the emitter's completion callbacks may not fire for a dead socket.
+                        remove(this);
+                        return;
+                    }
+                }
+                draining.set(false);
+                // Re-check in case a frame was queued after the poll above but before the flag was cleared.
+            } while (!pending.isEmpty() && draining.compareAndSet(false, true));
+        }
+    }
+}
@@ -0,0 +1,157 @@
+package com.f1bet.service;
+
+import com.f1bet.model.Market;
+import com.f1bet.model.MarketPrice;
+import com.f1bet.model.MarketSnapshot;
+import com.f1bet.repository.MarketPriceRepository;
+import com.f1bet.repository.MarketSnapshotRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Clock;
+import java.util.Collection;
+import java.util.List;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.BiConsumer;
+import java.util.function.IntSupplier;
+
+/**
+ * Prices each (session, driver) pair once and publishes the result as versioned, immutable
+ * {@link Market} snapshots. Listings and bets read the latest snapshot from memory; a new
+ * version is only written when a driver without odds shows up, and it carries over every
+ * price of the previous version unchanged.
+ */
+@Service
+public class MarketEngine {
+
+    private final MarketSnapshotRepository snapshotRepository;
+    private final MarketPriceRepository priceRepository;
+    private final TransactionTemplate requiresNew;
+    private final IntSupplier oddsModel;
+    private final Clock clock = Clock.systemUTC();
+
+    private final Map<Integer, Market> markets = new ConcurrentHashMap<>();
+    private final ReentrantLock publishLock = new ReentrantLock();
+    private final AtomicLong publications = new AtomicLong();
+    private final List<BiConsumer<Market, Market>> publishListeners = new CopyOnWriteArrayList<>();
+
+    @Autowired
+    public MarketEngine(MarketSnapshotRepository snapshotRepository, MarketPriceRepository priceRepository,
+                        PlatformTransactionManager transactionManager) {
+        this(snapshotRepository, priceRepository, transactionManager, () -> ThreadLocalRandom.current().nextInt(2, 5));
+    }
+
+    MarketEngine(MarketSnapshotRepository snapshotRepository, MarketPriceRepository priceRepository,
+                 PlatformTransactionManager transactionManager, IntSupplier oddsModel) {
+        this.snapshotRepository = snapshotRepository;
+        this.priceRepository = priceRepository;
+        this.requiresNew = new TransactionTemplate(transactionManager);
+        this.requiresNew.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.oddsModel = oddsModel;
+    }
+
+    /**
+     * Latest snapshot of the session, or {@code null} if none of its drivers was priced yet.
+     */
+    public Market current(int sessionKey) {
+        Market cached = markets.get(sessionKey);
+        if (cached != null) {
+            return cached;
+        }
+        Market stored = load(sessionKey);
+        if (stored != null) {
+            markets.merge(sessionKey, stored, MarketEngine::newer);
+        }
+        return stored;
+    }
+
+    /**
+     * Returns a snapshot that prices every given driver, publishing a new version first if
+     * some of them have no odds yet. The new version is committed in a transaction of its own,
+     * so callers must not hold one: waiting on the publish lock, and then on a second pooled
+     * connection, while already holding a connection can exhaust the pool and deadlock it.
+     *
+     * @throws IllegalStateException if a version has to be published while a transaction is active
+     */
+    public Market price(int sessionKey, Collection<Integer> driverNumbers) {
+        Market current = current(sessionKey);
+        if (current != null && current.prices(driverNumbers)) {
+            return current;
+        }
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            throw new IllegalStateException("Market of session " + sessionKey + " must be published outside a transaction");
+        }
+
+        publishLock.lock();
+        try {
+            // Every publish goes through this lock, so the map holds anything published since the read above.
+            current = markets.getOrDefault(sessionKey, current);
+            if (current != null && current.prices(driverNumbers)) {
+                return current;
+            }
+            Map<Integer, Integer> odds = current == null ? new HashMap<>() : new HashMap<>(current.odds());
+            driverNumbers.stream()
+                    .filter(Objects::nonNull)
+                    .forEach(driverNumber -> odds.computeIfAbsent(driverNumber, ignored -> oddsModel.getAsInt()));
+            Market next = new Market(sessionKey, current == null ? 1 : current.version() + 1, odds);
+            requiresNew.executeWithoutResult(status -> persist(next));
+            markets.put(sessionKey, next);
+            publications.incrementAndGet();
+            for (BiConsumer<Market, Market> listener : publishListeners) {
+                listener.accept(current, next);
+            }
+            return next;
+        } finally {
+            publishLock.unlock();
+        }
+    }
+
+    /**
+     * Calls {@code listener} with the previous version, or {@code null}, and the new one each
+     * time a market version is published. Listeners run under the publish lock, in publication
+     * order, and must only hand the versions off.
+     */
+    public void onPublish(BiConsumer<Market, Market> listener) {
+        publishListeners.add(listener);
+    }
+
+    /**
+     * Number of market versions this engine has published, across all sessions.
+     */
+    public long publications() {
+        return publications.get();
+    }
+
+    private Market load(int sessionKey) {
+        return snapshotRepository.findFirstBySessionKeyOrderByVersionDesc(sessionKey)
+                .map(snapshot -> {
+                    Map<Integer, Integer> odds = new HashMap<>();
+                    priceRepository.findBySnapshotId(snapshot.getId())
+                            .forEach(price -> odds.put(price.getDriverNumber(), price.getOdds()));
+                    return new Market(sessionKey, snapshot.getVersion(), odds);
+                })
+                .orElse(null);
+    }
+
+    private void persist(Market market) {
+        MarketSnapshot snapshot = snapshotRepository.save(new MarketSnapshot(market.sessionKey(), market.version(), clock.instant()));
+        priceRepository.saveAll(market.odds().entrySet().stream()
+                .map(price -> new MarketPrice(snapshot.getId(), price.getKey(), price.getValue()))
+                .toList());
+    }
+
+    private static Market newer(Market a, Market b) {
+        return a.version() >= b.version() ? a : b;
+    }
+}
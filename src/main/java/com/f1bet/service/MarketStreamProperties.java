@@ -0,0 +1,13 @@
+package com.f1bet.service;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * @param heartbeat  how often idle market streams get a comment line, so proxies keep them open and dead clients are noticed
+ * @param maxPending updates queued for one subscriber before it is considered too slow and disconnected
+ */
+@ConfigurationProperties("f1bet.markets.stream")
+public record MarketStreamProperties(Duration heartbeat, int maxPending) {
+}
@@ -0,0 +1,14 @@
+package com.f1bet.service;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * @param enabled            serve event listings from the local catalog and keep it refreshed
+ * @param refreshInterval    delay between two incremental refreshes
+ * @param driversPerRefresh  upper bound on driver lookups one refresh may spend from the OpenF1 budget
+ */
+@ConfigurationProperties("f1bet.catalog")
+public record SessionCatalogProperties(boolean enabled, Duration refreshInterval, int driversPerRefresh) {
+}
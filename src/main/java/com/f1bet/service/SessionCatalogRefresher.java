@@ -0,0 +1,69 @@
+package com.f1bet.service;
+
+import com.f1bet.integration.F1APIClient;
+import com.f1bet.model.Driver;
+import com.f1bet.model.Event;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.Year;
+import java.util.List;
+
+/**
+ * Keeps the {@link SessionCatalogService} in sync with OpenF1. The first run backfills the
+ * whole session list; later runs only pull the current season, add new sessions, and load
+ * a bounded number of driver markets so the refresh never starves live traffic of rate budget.
+ */
+@Component
+@ConditionalOnProperty(name = "f1bet.catalog.enabled", havingValue = "true")
+public class SessionCatalogRefresher {
+
+    private static final Logger log = LoggerFactory.getLogger(SessionCatalogRefresher.class);
+
+    private final F1APIClient f1APIClient;
+    private final SessionCatalogService catalogService;
+    private final SessionCatalogProperties properties;
+    private final MarketEngine marketEngine;
+    private final Clock clock = Clock.systemUTC();
+
+    public SessionCatalogRefresher(F1APIClient f1APIClient, SessionCatalogService catalogService,
+                                   SessionCatalogProperties properties, MarketEngine marketEngine) {
+        this.f1APIClient = f1APIClient;
+        this.catalogService = catalogService;
+        this.properties = properties;
+        this.marketEngine = marketEngine;
+    }
+
+    @Scheduled(initialDelay = 0, fixedDelayString = "${f1bet.catalog.refresh-interval}")
+    public void scheduledRefresh() {
+        try {
+            refresh();
+        } catch (RuntimeException e) {
+            log.warn("Session catalog refresh failed: {}", e.getMessage());
+        }
+    }
+
+    public void refresh() {
+        Integer season = catalogService.isReady() ? Year.now(clock).getValue() : null;
+        List<Event> sessions = f1APIClient.getSessions(null, season, null);
+        if (sessions == null || sessions.isEmpty()) {
+            return;
+        }
+        List<Integer> added = catalogService.upsertSessions(sessions);
+
+        List<Event> current = season == null ? List.of() : sessions;
+        List<Integer> needingDrivers = catalogService.sessionsNeedingDrivers(current, properties.driversPerRefresh());
+        for (Integer sessionKey : needingDrivers) {
+            List<Driver> drivers = f1APIClient.getDriversForSession(sessionKey);
+            List<Driver> synced = drivers == null ? List.of() : drivers;
+            catalogService.replaceDrivers(sessionKey, synced);
+            marketEngine.price(sessionKey, synced.stream().map(Driver::getDriverNumber).toList());
+        }
+        log.info("Session catalog refreshed: {} sessions fetched, {} added, {} driver markets synced",
+                sessions.size(), added.size(), needingDrivers.size());
+    }
+}
@@ -0,0 +1,235 @@
+package com.f1bet.service;
+
+import com.f1bet.model.CatalogDriver;
+import com.f1bet.model.CatalogSession;
+import com.f1bet.model.Driver;
+import com.f1bet.model.Event;
+import com.f1bet.repository.CatalogDriverRepository;
+import com.f1bet.repository.CatalogSessionRepository;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Local copy of the OpenF1 session list and driver markets. Once it holds data, event
+ * listings are answered from it with filtered, paginated queries instead of going to
+ * OpenF1; {@link SessionCatalogRefresher} keeps it up to date in the background and
+ * sessions whose drivers it has not loaded yet are reported with their market loading, for
+ * the listing to fetch and store through {@link #storeDriversIfUnsynced}.
+ */
+@Service
+public class SessionCatalogService {
+
+    private final CatalogSessionRepository sessionRepository;
+    private final CatalogDriverRepository driverRepository;
+    private final SessionCatalogProperties properties;
+    private final Clock clock;
+
+    private final AtomicLong version = new AtomicLong();
+
+    private volatile boolean ready;
+
+    public SessionCatalogService(CatalogSessionRepository sessionRepository, CatalogDriverRepository driverRepository,
+                                 SessionCatalogProperties properties) {
+        this.sessionRepository = sessionRepository;
+        this.driverRepository = driverRepository;
+        this.properties = properties;
+        this.clock = Clock.systemUTC();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void detectExistingCatalog() {
+        ready = properties.enabled() && sessionRepository.count() > 0;
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    /**
+     * Grows every time a change to the catalog's sessions or drivers is committed, so readers
+     * can tell whether what they derived from it is still current.
+     */
+    public long version() {
+        return version.get();
+    }
+
+    @Transactional(readOnly = true)
+    public List<Event> findEvents(String sessionType, Integer year, String country, int page, int size) {
+        List<CatalogSession> sessions = sessionRepository.search(sessionType, year, country, PageRequest.of(page, size));
+        if (sessions.isEmpty()) {
+            return List.of();
+        }
+        Map<Integer, List<CatalogDriver>> drivers = driverRepository
+                .findBySessionKeyInOrderByIdAsc(sessions.stream().map(CatalogSession::getSessionKey).toList())
+                .stream()
+                .collect(Collectors.groupingBy(CatalogDriver::getSessionKey));
+
+        return sessions.stream()
+                .map(session -> toEvent(session, drivers.getOrDefault(session.getSessionKey(), List.of())))
+                .toList();
+    }
+
+    /**
+     * Inserts sessions that are not in the catalog yet and refreshes the ones that changed.
+     *
+     * @return the keys of the sessions that were added
+     */
+    @Transactional
+    public List<Integer> upsertSessions(Collection<Event> events) {
+        List<Integer> keys = events.stream().map(Event::getSessionKey).filter(Objects::nonNull).toList();
+        Map<Integer, CatalogSession> existing = sessionRepository.findAllById(keys).stream()
+                .collect(Collectors.toMap(CatalogSession::getSessionKey, Function.identity()));
+
+        List<Integer> added = new ArrayList<>();
+        List<CatalogSession> changed = new ArrayList<>();
+        for (Event event : events) {
+            if (event.getSessionKey() == null) {
+                continue;
+            }
+            CatalogSession session = existing.get(event.getSessionKey());
+            if (session == null) {
+                session = new CatalogSession();
+                session.setSessionKey(event.getSessionKey());
+                added.add(event.getSessionKey());
+            } else if (sameSession(session, event)) {
+                continue;
+            }
+            session.setSessionName(event.getSessionName());
+            session.setSessionType(event.getSessionType());
+            session.setYear(event.getYear());
+            session.setCountry(event.getCountry());
+            session.setDateEnd(event.getDateEnd());
+            changed.add(session);
+        }
+        sessionRepository.saveAll(changed);
+        boolean wasReady = ready;
+        if (!keys.isEmpty() && properties.enabled()) {
+            ready = true;
+        }
+        if (!changed.isEmpty() || ready != wasReady) {
+            changed();
+        }
+        return added;
+    }
+
+    /**
+     * Sessions whose driver market should be (re)loaded. Half the limit is kept for sessions
+     * that have not ended yet, since their line-up can still change, so a backlog of sessions
+     * never synced (taken newest first) cannot crowd them out; either side uses what the other
+     * leaves over.
+     */
+    @Transactional(readOnly = true)
+    public List<Integer> sessionsNeedingDrivers(Collection<Event> currentSessions, int limit) {
+        Instant now = clock.instant();
+        List<Integer> running = currentSessions.stream()
+                .filter(event -> event.getSessionKey() != null)
+                .filter(event -> event.getDateEnd() == null || event.getDateEnd().toInstant().isAfter(now))
+                .map(Event::getSessionKey)
+                .distinct()
+                .toList();
+        int reserved = Math.min(running.size(), Math.max(1, limit / 2));
+
+        Set<Integer> keys = new LinkedHashSet<>(running.subList(0, reserved));
+        for (CatalogSession session : sessionRepository.findByDriversSyncedAtIsNullOrderBySessionKeyDesc(PageRequest.of(0, limit))) {
+            if (keys.size() == limit) {
+                break;
+            }
+            keys.add(session.getSessionKey());
+        }
+        for (Integer key : running.subList(reserved, running.size())) {
+            if (keys.size() == limit) {
+                break;
+            }
+            keys.add(key);
+        }
+        return new ArrayList<>(keys);
+    }
+
+    @Transactional
+    public void replaceDrivers(Integer sessionKey, List<Driver> drivers) {
+        sessionRepository.findForUpdate(sessionKey).ifPresent(session -> storeDrivers(session, drivers));
+    }
+
+    /**
+     * Stores a driver market a listing fetched live, unless the session was synced meanwhile.
+     * The session row is locked first, so this and {@link #replaceDrivers} never interleave
+     * and leave a session with its drivers twice.
+     */
+    @Transactional
+    public void storeDriversIfUnsynced(Integer sessionKey, List<Driver> drivers) {
+        sessionRepository.findForUpdate(sessionKey)
+                .filter(session -> session.getDriversSyncedAt() == null)
+                .ifPresent(session -> storeDrivers(session, drivers));
+    }
+
+    private void storeDrivers(CatalogSession session, List<Driver> drivers) {
+        Integer sessionKey = session.getSessionKey();
+        driverRepository.deleteBySessionKey(sessionKey);
+        driverRepository.saveAll(drivers.stream()
+                .map(driver -> new CatalogDriver(sessionKey, driver.getDriverNumber(), driver.getFullName()))
+                .toList());
+        session.setDriversSyncedAt(clock.instant());
+        changed();
+    }
+
+    private void changed() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            version.incrementAndGet();
+            return;
+        }
+        // Bumped once the change is visible, so nobody caches pre-commit data under the new version.
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                version.incrementAndGet();
+            }
+        });
+    }
+
+    private boolean sameSession(CatalogSession session, Event event) {
+        return Objects.equals(session.getSessionName(), event.getSessionName())
+                && Objects.equals(session.getSessionType(), event.getSessionType())
+                && Objects.equals(session.getYear(), event.getYear())
+                && Objects.equals(session.getCountry(), event.getCountry())
+                && Objects.equals(session.getDateEnd() == null ? null : session.getDateEnd().toInstant(),
+                event.getDateEnd() == null ? null : event.getDateEnd().toInstant());
+    }
+
+    private Event toEvent(CatalogSession session, List<CatalogDriver> drivers) {
+        Event event = new Event();
+        event.setSessionKey(session.getSessionKey());
+        event.setSessionName(session.getSessionName());
+        event.setSessionType(session.getSessionType());
+        event.setYear(session.getYear());
+        event.setCountry(session.getCountry());
+        event.setDateEnd(session.getDateEnd());
+        event.setDriverMarket(drivers.stream().map(this::toDriver).collect(Collectors.toList()));
+        event.setMarketLoading(session.getDriversSyncedAt() == null);
+        return event;
+    }
+
+    private Driver toDriver(CatalogDriver catalogDriver) {
+        Driver driver = new Driver();
+        driver.setFullName(catalogDriver.getFullName());
+        driver.setDriverNumber(catalogDriver.getDriverNumber());
+        return driver;
+    }
+}
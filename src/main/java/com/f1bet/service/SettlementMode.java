@@ -0,0 +1,13 @@
+package com.f1bet.service;
+
+public enum SettlementMode {
+    /**
+     * Settles the whole event with a handful of set-based statements.
+     */
+    BULK,
+    /**
+     * Walks the pending bets in keyset-paginated chunks, so memory and lock footprint per
+     * step stay bounded no matter how many bets the event has.
+     */
+    CHUNKED
+}
@@ -0,0 +1,11 @@
+package com.f1bet.service;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * @param mode      how pending bets are settled
+ * @param chunkSize bets read and written per step in {@link SettlementMode#CHUNKED} mode
+ */
+@ConfigurationProperties("f1bet.settlement")
+public record SettlementProperties(SettlementMode mode, int chunkSize) {
+}
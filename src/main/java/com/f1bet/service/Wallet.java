@@ -0,0 +1,30 @@
+package com.f1bet.service;
+
+import com.f1bet.model.Money;
+import com.f1bet.repository.UserPayout;
+
+import java.util.List;
+
+/**
+ * Moves money in and out of user balances. The implementation is selected with
+ * {@code f1bet.wallet.mode}; see {@link WalletMode}.
+ */
+public interface Wallet {
+
+    /**
+     * Takes {@code amount} from the user if the balance covers it. Concurrent debits for the
+     * same user can never overdraw the account.
+     *
+     * @param reference what the money was taken for, kept with the balance change
+     * @return {@code false} if the user does not exist or the balance is insufficient
+     */
+    boolean debit(Long userId, Money amount, String reference);
+
+    /**
+     * Pays every payout into its user's balance.
+     *
+     * @param reference what the money was paid for, kept with the balance change
+     * @return the number of balance changes applied per payout, in the same order; 0 means the user does not exist
+     */
+    int[] creditAll(List<UserPayout> payouts, String reference);
+}
@@ -0,0 +1,61 @@
+package com.f1bet.service;
+
+import com.f1bet.repository.LedgerEntryRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Periodically folds the wallet ledger back into {@code users.balance}, so loading a balance
+ * only ever sums the entries written since the last run. Compacted entries stay in the ledger
+ * as the audit trail. Balances as seen by {@link LedgerWallet} do not change.
+ */
+@Component
+@ConditionalOnProperty(name = "f1bet.wallet.mode", havingValue = "ledger")
+public class WalletLedgerCompactor {
+
+    private static final Logger log = LoggerFactory.getLogger(WalletLedgerCompactor.class);
+
+    private final LedgerEntryRepository ledgerRepository;
+    private final WalletProperties properties;
+    private final TransactionTemplate transactionTemplate;
+
+    public WalletLedgerCompactor(LedgerEntryRepository ledgerRepository, WalletProperties properties,
+                                 PlatformTransactionManager transactionManager) {
+        this.ledgerRepository = ledgerRepository;
+        this.properties = properties;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @Scheduled(fixedDelayString = "${f1bet.wallet.compaction-interval}")
+    public void scheduledCompaction() {
+        try {
+            int compacted = compact();
+            if (compacted > 0) {
+                log.info("Wallet ledger compacted: {} entries folded into balances", compacted);
+            }
+        } catch (RuntimeException e) {
+            log.warn("Wallet ledger compaction failed: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Compacts the ledger one batch per transaction until a batch comes back short.
+     *
+     * @return the number of entries compacted
+     */
+    public int compact() {
+        int batchSize = properties.compactionBatchSize();
+        int total = 0;
+        int compacted;
+        do {
+            compacted = transactionTemplate.execute(status -> ledgerRepository.compact(batchSize));
+            total += compacted;
+        } while (compacted == batchSize);
+        return total;
+    }
+}
@@ -0,0 +1,13 @@
+package com.f1bet.service;
+
+public enum WalletMode {
+    /**
+     * Every debit and credit updates the {@code users.balance} row in place.
+     */
+    DIRECT,
+    /**
+     * Debits and credits are appended to the wallet ledger and periodically compacted into
+     * {@code users.balance}, so balance changes never contend on the user row.
+     */
+    LEDGER
+}
@@ -0,0 +1,14 @@
+package com.f1bet.service;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * @param mode                where balance changes are written
+ * @param compactionInterval  pause between two ledger compactions in {@link WalletMode#LEDGER} mode
+ * @param compactionBatchSize ledger entries folded into balances per transaction
+ */
+@ConfigurationProperties("f1bet.wallet")
+public record WalletProperties(WalletMode mode, Duration compactionInterval, int compactionBatchSize) {
+}
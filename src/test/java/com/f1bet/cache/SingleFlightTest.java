@@ -0,0 +1,144 @@
+package com.f1bet.cache;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SingleFlightTest {
+
+    private final SingleFlight<String, String> singleFlight = new SingleFlight<>();
+
+    @Test
+    void execute_concurrentCallersForSameKeyShareOneCall() throws Exception {
+        AtomicInteger calls = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+        int callers = 20;
+
+        List<Future<String>> results = new ArrayList<>();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < callers; i++) {
+                results.add(executor.submit(() -> singleFlight.execute("/drivers?session_key=1", () -> {
+                    calls.incrementAndGet();
+                    await(release);
+                    return "drivers";
+                })));
+            }
+            while (singleFlight.executions() + singleFlight.shared() < callers) {
+                Thread.onSpinWait();
+            }
+            release.countDown();
+            for (Future<String> result : results) {
+                assertEquals("drivers", result.get(5, TimeUnit.SECONDS));
+            }
+        }
+
+        assertEquals(1, calls.get());
+        assertEquals(callers - 1, singleFlight.shared());
+        assertEquals(0, singleFlight.inFlight());
+    }
+
+    @Test
+    void execute_concurrentCallersShareTheLeadersResultAndFailure() throws Exception {
+        Object drivers = new Object();
+        IllegalStateException boom = new IllegalStateException("boom");
+        SingleFlight<String, Object> flight = new SingleFlight<>();
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            CountDownLatch release = new CountDownLatch(1);
+            Future<Object> leader = executor.submit(() -> flight.execute("k", () -> {
+                await(release);
+                return drivers;
+            }));
+            awaitExecutions(flight, 1);
+            Future<Object> follower = executor.submit(() -> flight.execute("k", Object::new));
+            awaitShared(flight, 1);
+            release.countDown();
+            assertSame(drivers, leader.get(5, TimeUnit.SECONDS));
+            assertSame(drivers, follower.get(5, TimeUnit.SECONDS));
+
+            CountDownLatch fail = new CountDownLatch(1);
+            Future<Object> failingLeader = executor.submit(() -> flight.execute("k", () -> {
+                await(fail);
+                throw boom;
+            }));
+            awaitExecutions(flight, 2);
+            Future<Object> failingFollower = executor.submit(() -> flight.execute("k", Object::new));
+            awaitShared(flight, 2);
+            fail.countDown();
+            assertSame(boom, assertThrows(ExecutionException.class, () -> failingLeader.get(5, TimeUnit.SECONDS)).getCause());
+            assertSame(boom, assertThrows(ExecutionException.class, () -> failingFollower.get(5, TimeUnit.SECONDS)).getCause());
+        }
+
+        assertEquals(2, flight.executions());
+        assertEquals(0, flight.inFlight());
+    }
+
+    @Test
+    void execute_leaderInterrupted_followerRunsTheCallInsteadOfSharingTheFailure() throws Exception {
+        AtomicInteger calls = new AtomicInteger();
+        CountDownLatch never = new CountDownLatch(1);
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            Future<String> leader = executor.submit(() -> singleFlight.execute("k", () -> {
+                calls.incrementAndGet();
+                await(never);
+                return "stale";
+            }));
+            awaitExecutions(singleFlight, 1);
+            Future<String> follower = executor.submit(() -> singleFlight.execute("k", () -> {
+                calls.incrementAndGet();
+                return "drivers";
+            }));
+            awaitShared(singleFlight, 1);
+
+            leader.cancel(true);
+
+            assertEquals("drivers", follower.get(5, TimeUnit.SECONDS));
+        }
+
+        assertEquals(2, calls.get());
+        assertEquals(2, singleFlight.executions());
+        assertEquals(0, singleFlight.inFlight());
+    }
+
+    @Test
+    void execute_failureIsSharedAndNotRemembered() {
+        assertThrows(IllegalStateException.class, () -> singleFlight.execute("k", () -> {
+            throw new IllegalStateException("boom");
+        }));
+
+        assertEquals("ok", singleFlight.execute("k", () -> "ok"));
+        assertEquals(2, singleFlight.executions());
+    }
+
+    private static void awaitExecutions(SingleFlight<?, ?> flight, long executions) {
+        while (flight.executions() < executions) {
+            Thread.onSpinWait();
+        }
+    }
+
+    private static void awaitShared(SingleFlight<?, ?> flight, long shared) {
+        while (flight.shared() < shared) {
+            Thread.onSpinWait();
+        }
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package com.f1bet.exception;
+
+import com.f1bet.integration.RateLimitExceededException;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.RestClientResponseException;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GlobalExceptionHandlerTest {
+
+    private final GlobalExceptionHandler handler = new GlobalExceptionHandler();
+    private final MockHttpServletRequest request = new MockHttpServletRequest("POST", "/bets");
+
+    @Test
+    void handleUpstreamResponse_openF1TooManyRequests_answers503LikeTheLocalLimiter() {
+        HttpHeaders headers = new HttpHeaders();
+        headers.set(HttpHeaders.RETRY_AFTER, "3");
+        HttpClientErrorException tooManyRequests = HttpClientErrorException.create(HttpStatus.TOO_MANY_REQUESTS,
+                "Too Many Requests", headers, new byte[0], StandardCharsets.UTF_8);
+
+        ResponseEntity<ApiError> upstream = handler.handleUpstreamResponse(tooManyRequests, request);
+        ResponseEntity<ApiError> local = handler.handleRateLimitExceeded(new RateLimitExceededException("Rate limit exceeded"), request);
+
+        assertEquals(HttpStatus.SERVICE_UNAVAILABLE, upstream.getStatusCode());
+        assertEquals(local.getStatusCode(), upstream.getStatusCode());
+        assertEquals("3", upstream.getHeaders().getFirst(HttpHeaders.RETRY_AFTER));
+        assertEquals("/bets", upstream.getBody().path());
+    }
+
+    @Test
+    void handleUpstreamResponse_tooManyRequestsWithoutUsableRetryAfter_defaultsToOneSecond() {
+        HttpHeaders headers = new HttpHeaders();
+        headers.set(HttpHeaders.RETRY_AFTER, "Wed, 21 Oct 2026 07:28:00 GMT");
+        RestClientResponseException dated = new RestClientResponseException("failed with status 429",
+                HttpStatusCode.valueOf(429), "", headers, new byte[0], StandardCharsets.UTF_8);
+        RestClientResponseException bare = new RestClientResponseException("failed with status 429",
+                HttpStatusCode.valueOf(429), "", null, new byte[0], StandardCharsets.UTF_8);
+
+        assertEquals("1", handler.handleUpstreamResponse(dated, request).getHeaders().getFirst(HttpHeaders.RETRY_AFTER));
+        assertEquals("1", handler.handleUpstreamResponse(bare, request).getHeaders().getFirst(HttpHeaders.RETRY_AFTER));
+    }
+
+    @Test
+    void handleUpstreamResponse_otherStatus_isAnInternalError() {
+        RestClientResponseException serverError = new RestClientResponseException("failed with status 502",
+                HttpStatusCode.valueOf(502), "", null, new byte[0], StandardCharsets.UTF_8);
+
+        ResponseEntity<ApiError> response = handler.handleUpstreamResponse(serverError, request);
+
+        assertEquals(HttpStatus.INTERNAL_SERVER_ERROR, response.getStatusCode());
+        assertNull(response.getHeaders().getFirst(HttpHeaders.RETRY_AFTER));
+    }
+}
@@ -0,0 +1,90 @@
+package com.f1bet.integration;
+
+import com.f1bet.cache.CacheStats;
+import com.f1bet.model.Driver;
+import com.f1bet.model.Event;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class CachingF1APIClientTest {
+
+    private F1APIClient delegate;
+    private CachingF1APIClient client;
+
+    @BeforeEach
+    void setup() {
+        delegate = Mockito.mock(F1APIClient.class);
+        OpenF1CacheProperties properties = new OpenF1CacheProperties(
+                new OpenF1CacheProperties.Policy(Duration.ofMinutes(1), Duration.ofHours(1), 2),
+                new OpenF1CacheProperties.Policy(Duration.ofMinutes(1), Duration.ofHours(1), 1),
+                new OpenF1CacheProperties.Policy(Duration.ofMinutes(1), Duration.ofHours(1), 2)
+        );
+        Clock clock = Clock.fixed(Instant.parse("2024-09-01T12:00:00Z"), ZoneOffset.UTC);
+        client = new CachingF1APIClient(delegate, properties, clock);
+    }
+
+    @Test
+    void getSessions_secondCallIsServedFromCache() {
+        Event event = new Event();
+        event.setSessionKey(9590);
+        event.setDateEnd(OffsetDateTime.parse("2024-08-25T15:00:00Z"));
+        when(delegate.getSessions("R", 2024, null)).thenReturn(List.of(event));
+
+        client.getSessions("R", 2024, null);
+        List<Event> second = client.getSessions("R", 2024, null);
+
+        assertEquals(1, second.size());
+        assertEquals(9590, second.getFirst().getSessionKey());
+        verify(delegate, times(1)).getSessions("R", 2024, null);
+
+        CacheStats stats = client.sessionsStats();
+        assertEquals(1, stats.hits());
+        assertEquals(1, stats.misses());
+    }
+
+    @Test
+    void getSessions_returnsCopiesSoCallersCannotMutateTheCache() {
+        Event event = new Event();
+        event.setSessionKey(1);
+        when(delegate.getSessions(null, null, null)).thenReturn(List.of(event));
+
+        client.getSessions(null, null, null).getFirst().setDriverMarket(List.of(new Driver()));
+
+        assertNull(client.getSessions(null, null, null).getFirst().getDriverMarket());
+    }
+
+    @Test
+    void getDriversForSession_evictsLeastRecentlyUsedWhenFull() {
+        when(delegate.getDriversForSession(anyInt())).thenReturn(List.of(new Driver()));
+
+        client.getDriversForSession(1);
+        client.getDriversForSession(2);
+        client.getDriversForSession(1);
+
+        verify(delegate, times(2)).getDriversForSession(1);
+        assertEquals(2, client.driversStats().evictions());
+        assertEquals(1, client.driversStats().size());
+    }
+
+    @Test
+    void getSessionResults_doesNotCacheNullPayloads() {
+        when(delegate.getSessionResults(7)).thenReturn(null);
+
+        assertNull(client.getSessionResults(7));
+        assertNull(client.getSessionResults(7));
+
+        verify(delegate, times(2)).getSessionResults(7);
+        assertEquals(0, client.sessionResultsStats().size());
+    }
+}
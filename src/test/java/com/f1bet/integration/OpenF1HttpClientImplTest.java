@@ -0,0 +1,158 @@
+package com.f1bet.integration;
+
+import com.f1bet.model.Driver;
+import com.f1bet.model.Event;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.client.ResourceAccessException;
+import org.springframework.web.client.RestClientResponseException;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.GZIPOutputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class OpenF1HttpClientImplTest {
+
+    private HttpServer server;
+    private final Map<String, String> bodies = new ConcurrentHashMap<>();
+    private final AtomicInteger requests = new AtomicInteger();
+    private volatile CountDownLatch release = new CountDownLatch(0);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private OpenF1HttpClientImpl client;
+
+    @BeforeEach
+    void setup() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/", this::handle);
+        server.setExecutor(Executors.newCachedThreadPool());
+        server.start();
+        client = newClient(Duration.ofSeconds(5));
+    }
+
+    @AfterEach
+    void tearDown() {
+        client.shutdown();
+        server.stop(0);
+    }
+
+    @Test
+    void getSessions_decodesGzipPayloadIntoEvents() {
+        bodies.put("/v1/sessions", """
+                [{"session_key":9158,"session_name":"Race","session_type":"Race","year":2023,
+                  "country_name":"Italy","date_end":"2023-09-03T15:00:00+00:00"}]
+                """);
+
+        List<Event> events = client.getSessions("Race", 2023, "Italy");
+
+        assertEquals(1, events.size());
+        assertEquals(9158, events.get(0).getSessionKey());
+        assertEquals("Italy", events.get(0).getCountry());
+        assertNotNull(events.get(0).getDateEnd());
+    }
+
+    @Test
+    void getDriversForSessionAsync_concurrentCallsShareOneRequest() throws Exception {
+        bodies.put("/v1/drivers", "[{\"full_name\":\"Max VERSTAPPEN\",\"driver_number\":1}]");
+        release = new CountDownLatch(1);
+
+        CompletableFuture<List<Driver>> first = client.getDriversForSessionAsync(9158);
+        CompletableFuture<List<Driver>> second = client.getDriversForSessionAsync(9158);
+        release.countDown();
+
+        assertEquals(1, first.get(5, TimeUnit.SECONDS).get(0).getDriverNumber());
+        assertEquals("Max VERSTAPPEN", second.get(5, TimeUnit.SECONDS).get(0).getFullName());
+        assertEquals(1, requests.get());
+        assertEquals(1, client.coalescedRequests());
+    }
+
+    @Test
+    void getSessionResults_errorStatus_throwsRestClientResponseException() {
+        RestClientResponseException ex = assertThrows(RestClientResponseException.class, () -> client.getSessionResults(1));
+        assertEquals(404, ex.getStatusCode().value());
+    }
+
+    @Test
+    void getSessionResults_recordsRequestTimerPerEndpointAndStatus() {
+        bodies.put("/v1/session_result", "[]");
+
+        client.getSessionResults(1);
+        assertThrows(RestClientResponseException.class, () -> client.getDriversForSession(2));
+
+        assertEquals(1, meterRegistry.get("openf1.client.requests")
+                .tags("endpoint", "session_result", "status", "200").timer().count());
+        assertEquals(1, meterRegistry.get("openf1.client.requests")
+                .tags("endpoint", "drivers", "status", "404").timer().count());
+    }
+
+    @Test
+    void getSessionResults_slowServer_timesOutAsResourceAccessException() {
+        OpenF1HttpClientImpl impatient = newClient(Duration.ofMillis(200));
+        bodies.put("/v1/session_result", "[]");
+        release = new CountDownLatch(1);
+        try {
+            assertThrows(ResourceAccessException.class, () -> impatient.getSessionResults(1));
+        } finally {
+            release.countDown();
+            impatient.shutdown();
+        }
+    }
+
+    private OpenF1HttpClientImpl newClient(Duration readTimeout) {
+        OpenF1ClientProperties properties = new OpenF1ClientProperties(
+                "http://127.0.0.1:" + server.getAddress().getPort() + "/v1",
+                OpenF1ClientType.HTTP_CLIENT, Duration.ofSeconds(1), readTimeout);
+        TokenBucketRateLimiter limiter = new TokenBucketRateLimiter(1000, 1000, Duration.ofSeconds(1), false);
+        return new OpenF1HttpClientImpl(limiter, properties, new ObjectMapper().registerModule(new JavaTimeModule()),
+                meterRegistry);
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        requests.incrementAndGet();
+        try {
+            release.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        String body = bodies.get(exchange.getRequestURI().getPath());
+        if (body == null) {
+            exchange.sendResponseHeaders(404, -1);
+            exchange.close();
+            return;
+        }
+        byte[] payload = body.getBytes(StandardCharsets.UTF_8);
+        String acceptEncoding = exchange.getRequestHeaders().getFirst("Accept-Encoding");
+        if (acceptEncoding != null && acceptEncoding.contains("gzip")) {
+            ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+            try (GZIPOutputStream gzip = new GZIPOutputStream(compressed)) {
+                gzip.write(payload);
+            }
+            payload = compressed.toByteArray();
+            exchange.getResponseHeaders().set("Content-Encoding", "gzip");
+        }
+        exchange.getResponseHeaders().set("Content-Type", "application/json");
+        exchange.sendResponseHeaders(200, payload.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(payload);
+        }
+    }
+}
@@ -0,0 +1,103 @@
+package com.f1bet.integration;
+
+import com.f1bet.model.Driver;
+import com.f1bet.model.Event;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.time.OffsetDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ReplayF1APIClientTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void replaysRecordedSessionsWithOpenF1Filters() {
+        OpenF1SnapshotRecorder recorder = new OpenF1SnapshotRecorder(directory);
+        recorder.recordSessions(List.of(
+                event(9158, "Race", 2023, "Italy", OffsetDateTime.parse("2023-09-03T15:00:00.5+02:00")),
+                event(9157, "Qualifying", 2023, "Italy", null),
+                event(9472, "Race", 2024, "Bahrain", OffsetDateTime.parse("2024-03-02T17:00:00+03:00"))));
+
+        ReplayF1APIClient replay = replay();
+
+        List<Event> races = replay.getSessions("Race", null, null);
+        assertEquals(List.of(9158, 9472), races.stream().map(Event::getSessionKey).toList());
+        Event monza = races.get(0);
+        assertEquals("Race", monza.getSessionName());
+        assertEquals(2023, monza.getYear());
+        assertEquals("Italy", monza.getCountry());
+        assertEquals(OffsetDateTime.parse("2023-09-03T15:00:00.5+02:00"), monza.getDateEnd());
+
+        assertEquals(List.of(9157, 9158), replay.getSessions(null, 2023, "Italy").stream().map(Event::getSessionKey).toList());
+        assertNull(replay.getSessions("Qualifying", null, null).get(0).getDateEnd());
+        assertTrue(replay.getSessions("Sprint", null, null).isEmpty());
+    }
+
+    @Test
+    void replaysDriversAndResultsBySessionKey() {
+        OpenF1SnapshotRecorder recorder = new OpenF1SnapshotRecorder(directory);
+        recorder.recordDrivers(9158, List.of(driver(1, "Max VERSTAPPEN"), driver(44, null)));
+        recorder.recordSessionResults(9158, List.of(new OpenF1SessionResult(9158, 1, null), new OpenF1SessionResult(9158, 44, 7)));
+
+        ReplayF1APIClient replay = replay();
+
+        List<Driver> drivers = replay.getDriversForSession(9158);
+        assertEquals(2, drivers.size());
+        assertEquals("Max VERSTAPPEN", drivers.get(0).getFullName());
+        assertEquals(44, drivers.get(1).getDriverNumber());
+        assertNull(drivers.get(1).getFullName());
+        assertEquals(List.of(new OpenF1SessionResult(9158, 1, null), new OpenF1SessionResult(9158, 44, 7)),
+                replay.getSessionResults(9158));
+        assertTrue(replay.getDriversForSession(1).isEmpty());
+        assertTrue(replay.getSessionResults(null).isEmpty());
+    }
+
+    @Test
+    void laterRecordingsAddToTheSnapshotAndReplaceRepeatedKeys() {
+        new OpenF1SnapshotRecorder(directory).recordDrivers(1, List.of(driver(1, "Old")));
+        OpenF1SnapshotRecorder next = new OpenF1SnapshotRecorder(directory);
+        next.recordDrivers(2, List.of(driver(2, "Two")));
+        next.recordDrivers(1, List.of(driver(1, "New")));
+
+        ReplayF1APIClient replay = replay();
+
+        assertEquals("New", replay.getDriversForSession(1).get(0).getFullName());
+        assertEquals("Two", replay.getDriversForSession(2).get(0).getFullName());
+    }
+
+    @Test
+    void emptyDirectoryReplaysNothing() {
+        ReplayF1APIClient replay = replay();
+
+        assertTrue(replay.getSessions(null, null, null).isEmpty());
+        assertTrue(replay.getDriversForSession(9158).isEmpty());
+    }
+
+    private ReplayF1APIClient replay() {
+        return new ReplayF1APIClient(new OpenF1SnapshotProperties(directory, false));
+    }
+
+    private static Event event(int sessionKey, String sessionType, int year, String country, OffsetDateTime dateEnd) {
+        Event event = new Event();
+        event.setSessionKey(sessionKey);
+        event.setSessionName(sessionType);
+        event.setSessionType(sessionType);
+        event.setYear(year);
+        event.setCountry(country);
+        event.setDateEnd(dateEnd);
+        return event;
+    }
+
+    private static Driver driver(int number, String name) {
+        Driver driver = new Driver();
+        driver.setDriverNumber(number);
+        driver.setFullName(name);
+        return driver;
+    }
+}
@@ -0,0 +1,92 @@
+package com.f1bet.integration;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TokenBucketRateLimiterTest {
+
+    private final AtomicLong now = new AtomicLong();
+
+    @Test
+    void tryAcquire_allowsBurstThenRefillsOnePermitPerInterval() {
+        TokenBucketRateLimiter limiter = new TokenBucketRateLimiter(2, 2, Duration.ofSeconds(1), false, now::get);
+
+        assertTrue(limiter.tryAcquire());
+        assertTrue(limiter.tryAcquire());
+        assertFalse(limiter.tryAcquire());
+
+        now.addAndGet(TimeUnit.MILLISECONDS.toNanos(250));
+        assertFalse(limiter.tryAcquire());
+
+        now.addAndGet(TimeUnit.MILLISECONDS.toNanos(250));
+        assertTrue(limiter.tryAcquire());
+        assertFalse(limiter.tryAcquire());
+    }
+
+    @Test
+    void acquire_rejectsWhenWaitWouldExceedTimeout() {
+        TokenBucketRateLimiter limiter = new TokenBucketRateLimiter(1, 1, Duration.ofMillis(500), false, now::get);
+
+        limiter.acquire();
+
+        assertThrows(RateLimitExceededException.class, limiter::acquire);
+        assertEquals(1, limiter.stats().rejected());
+        assertEquals(1, limiter.stats().acquired());
+    }
+
+    @Test
+    void acquireAsync_reportsEveryGrantedWaitToTheRecorder() {
+        List<Long> waits = new ArrayList<>();
+        TokenBucketRateLimiter limiter = new TokenBucketRateLimiter(2, 1, Duration.ofMillis(600), false, now::get, waits::add);
+
+        limiter.acquireAsync();
+        limiter.acquireAsync();
+        assertThrows(RateLimitExceededException.class, limiter::acquire);
+
+        assertEquals(List.of(0L, TimeUnit.MILLISECONDS.toNanos(500)), waits);
+    }
+
+    @Test
+    void acquire_failFastRejectsAsSoonAsTheBucketIsEmpty() {
+        TokenBucketRateLimiter limiter = new TokenBucketRateLimiter(100, 1, Duration.ofSeconds(10), true, now::get);
+
+        limiter.acquire();
+
+        assertThrows(RateLimitExceededException.class, limiter::acquire);
+    }
+
+    @Test
+    void acquireAsync_completesAfterTheReservedDelay() throws ExecutionException, InterruptedException {
+        TokenBucketRateLimiter limiter = new TokenBucketRateLimiter(20, 1, Duration.ofSeconds(1), false);
+
+        assertTrue(limiter.acquireAsync().isDone());
+        CompletableFuture<Void> delayed = limiter.acquireAsync();
+        assertFalse(delayed.isDone());
+        assertEquals(1, limiter.stats().queueDepth());
+
+        delayed.get();
+        assertEquals(0, limiter.stats().queueDepth());
+        assertEquals(1, limiter.stats().delayed());
+    }
+
+    @Test
+    void acquireAsync_returnsFailedFutureInsteadOfThrowing() {
+        TokenBucketRateLimiter limiter = new TokenBucketRateLimiter(1, 1, Duration.ZERO, false, now::get);
+
+        limiter.acquire();
+        CompletableFuture<Void> rejected = limiter.acquireAsync();
+
+        assertTrue(rejected.isCompletedExceptionally());
+        ExecutionException ex = assertThrows(ExecutionException.class, rejected::get);
+        assertInstanceOf(RateLimitExceededException.class, ex.getCause());
+    }
+}
@@ -0,0 +1,34 @@
+package com.f1bet.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MoneyTest {
+
+    @Test
+    void of_convertsToCentsAndBackWithTwoDecimals() {
+        assertEquals(1_050, Money.of(new BigDecimal("10.5")).cents());
+        assertEquals(new BigDecimal("10.50"), Money.ofCents(1_050).toBigDecimal());
+        assertEquals(Money.ZERO, Money.of(new BigDecimal("0.000")));
+    }
+
+    @Test
+    void of_rejectsFractionsOfACent() {
+        assertThrows(ArithmeticException.class, () -> Money.of(new BigDecimal("0.001")));
+    }
+
+    @Test
+    void arithmetic_isExact() {
+        Money stake = Money.ofCents(1_050);
+
+        assertEquals(Money.ofCents(3_150), stake.times(3));
+        assertEquals(Money.ofCents(1_051), stake.plus(Money.ofCents(1)));
+        assertEquals(Money.ofCents(-50), stake.minus(Money.ofCents(1_100)));
+        assertTrue(stake.isAtLeast(Money.ofCents(1_050)));
+        assertFalse(stake.isAtLeast(Money.ofCents(1_051)));
+        assertThrows(ArithmeticException.class, () -> Money.ofCents(Long.MAX_VALUE).times(2));
+    }
+}
@@ -0,0 +1,136 @@
+package com.f1bet.repository;
+
+import com.f1bet.model.Bet;
+import com.f1bet.model.BetStatus;
+import com.f1bet.model.Money;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+class BetRepositoryTest {
+
+    @Autowired
+    private BetRepository betRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    void settleAndSumPayouts_doMoneyArithmeticInSql() {
+        Bet first = betRepository.save(new Bet(10L, "9158", 44, Money.ofCents(1_050), 3, BetStatus.PENDING.name()));
+        betRepository.save(new Bet(10L, "9158", 44, Money.ofCents(1), 2, BetStatus.PENDING.name()));
+        betRepository.save(new Bet(11L, "9158", 44, Money.ofCents(2_000), 4, BetStatus.PENDING.name()));
+        Bet loser = betRepository.save(new Bet(12L, "9158", 16, Money.ofCents(500), 2, BetStatus.PENDING.name()));
+        Bet settledEarlier = new Bet(13L, "9158", 44, Money.ofCents(700), 2, BetStatus.WON.name());
+        settledEarlier.setTotalAwarded(Money.ofCents(1_400));
+        settledEarlier.setSettlementRun("run-0");
+        betRepository.save(settledEarlier);
+
+        assertEquals(3, betRepository.settleWinners("9158", BetStatus.PENDING.name(), 44, "run-1", BetStatus.WON.name()));
+        assertEquals(1, betRepository.settleLosers("9158", BetStatus.PENDING.name(), 44, "run-1", BetStatus.LOST.name()));
+        entityManager.clear();
+
+        List<UserPayout> payouts = betRepository.sumPayoutsByUser("9158", "run-1", BetStatus.WON.name()).stream()
+                .sorted(Comparator.comparing(UserPayout::userId))
+                .toList();
+        assertEquals(List.of(new UserPayout(10L, Money.ofCents(3_152)), new UserPayout(11L, Money.ofCents(8_000))), payouts);
+        List<DriverSettlement> drivers = betRepository.sumSettledByDriver("9158", "run-1").stream()
+                .sorted(Comparator.comparing(DriverSettlement::driverId))
+                .toList();
+        assertEquals(List.of(new DriverSettlement(16, Money.ofCents(500), 1, Money.ofCents(1_000)),
+                new DriverSettlement(44, Money.ofCents(3_051), 3, Money.ofCents(11_152))), drivers);
+        assertEquals(Money.ofCents(3_150), betRepository.findById(first.getId()).orElseThrow().getTotalAwarded());
+        assertEquals(Money.ZERO, betRepository.findById(loser.getId()).orElseThrow().getTotalAwarded());
+    }
+
+    @Test
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    void settle_lowerIdBetCommittedBetweenTheUpdateAndTheSum_isLeftPendingAndUncredited() throws Exception {
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        CountDownLatch inserted = new CountDownLatch(1);
+        CountDownLatch commit = new CountDownLatch(1);
+        List<Bet> bets = new ArrayList<>();
+        try (ExecutorService executor = Executors.newSingleThreadExecutor()) {
+            Future<Bet> late = executor.submit(() -> transactionTemplate.execute(status -> {
+                Bet bet = betRepository.saveAndFlush(new Bet(20L, "7001", 44, Money.ofCents(5_000), 3, BetStatus.PENDING.name()));
+                inserted.countDown();
+                awaitUninterruptibly(commit);
+                return bet;
+            }));
+            assertTrue(inserted.await(5, TimeUnit.SECONDS));
+            Bet committed = transactionTemplate.execute(status ->
+                    betRepository.saveAndFlush(new Bet(21L, "7001", 44, Money.ofCents(1_000), 3, BetStatus.PENDING.name())));
+            bets.add(committed);
+
+            try {
+                List<UserPayout> payouts = transactionTemplate.execute(status -> {
+                    assertEquals(1, betRepository.settleWinners("7001", BetStatus.PENDING.name(), 44, "run-1", BetStatus.WON.name()));
+                    commit.countDown();
+                    bets.add(get(late));
+                    return betRepository.sumPayoutsByUser("7001", "run-1", BetStatus.WON.name());
+                });
+
+                assertTrue(bets.get(1).getId() < committed.getId());
+                assertEquals(List.of(new UserPayout(21L, Money.ofCents(3_000))), payouts);
+                Bet stillPending = betRepository.findById(bets.get(1).getId()).orElseThrow();
+                assertEquals(BetStatus.PENDING.name(), stillPending.getStatus());
+                assertNull(stillPending.getTotalAwarded());
+            } finally {
+                commit.countDown();
+                betRepository.deleteAll(bets);
+            }
+        }
+    }
+
+    @Test
+    void idempotencyKey_isUniquePerUser() {
+        betRepository.saveAndFlush(keyedBet(10L, "key-1"));
+        betRepository.saveAndFlush(keyedBet(11L, "key-1"));
+
+        assertTrue(betRepository.findByUserIdAndIdempotencyKey(10L, "key-1").isPresent());
+        assertThrows(DataIntegrityViolationException.class, () -> betRepository.saveAndFlush(keyedBet(10L, "key-1")));
+    }
+
+    private static <T> T get(Future<T> future) {
+        try {
+            return future.get(5, TimeUnit.SECONDS);
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static void awaitUninterruptibly(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static Bet keyedBet(Long userId, String idempotencyKey) {
+        Bet bet = new Bet(userId, "9158", 44, Money.ofCents(1_000), 3, BetStatus.PENDING.name());
+        bet.setIdempotencyKey(idempotencyKey);
+        return bet;
+    }
+}
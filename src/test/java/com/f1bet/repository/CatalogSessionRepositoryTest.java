@@ -0,0 +1,70 @@
+package com.f1bet.repository;
+
+import com.f1bet.model.CatalogSession;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.PageRequest;
+
+import java.time.Instant;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+class CatalogSessionRepositoryTest {
+
+    @Autowired
+    private CatalogSessionRepository repository;
+
+    @BeforeEach
+    void setup() {
+        repository.saveAll(List.of(
+                session(9100, "R", 2023, "Italy", true),
+                session(9200, "Q", 2024, "Italy", true),
+                session(9300, "R", 2024, "Italy", false),
+                session(9400, "R", 2024, "Belgium", false)
+        ));
+    }
+
+    @Test
+    void search_appliesOnlyTheFiltersThatAreSet() {
+        assertEquals(List.of(9300, 9400), keys(repository.search("R", 2024, null, PageRequest.of(0, 10))));
+        assertEquals(List.of(9100, 9200, 9300), keys(repository.search(null, null, "Italy", PageRequest.of(0, 10))));
+        assertEquals(4, repository.search(null, null, null, PageRequest.of(0, 10)).size());
+    }
+
+    @Test
+    void search_paginatesInSessionKeyOrder() {
+        assertEquals(List.of(9100, 9200), keys(repository.search(null, null, null, PageRequest.of(0, 2))));
+        assertEquals(List.of(9300, 9400), keys(repository.search(null, null, null, PageRequest.of(1, 2))));
+        assertTrue(repository.search(null, null, null, PageRequest.of(2, 2)).isEmpty());
+    }
+
+    @Test
+    void findByDriversSyncedAtIsNull_returnsNewestUnsyncedFirst() {
+        assertEquals(List.of(9400, 9300), keys(repository.findByDriversSyncedAtIsNullOrderBySessionKeyDesc(PageRequest.of(0, 5))));
+    }
+
+    @Test
+    void findForUpdate_locksAndReturnsTheSession() {
+        assertEquals(9300, repository.findForUpdate(9300).orElseThrow().getSessionKey());
+        assertTrue(repository.findForUpdate(9999).isEmpty());
+    }
+
+    private static CatalogSession session(int key, String type, int year, String country, boolean driversSynced) {
+        CatalogSession session = new CatalogSession();
+        session.setSessionKey(key);
+        session.setSessionName(type + " " + key);
+        session.setSessionType(type);
+        session.setYear(year);
+        session.setCountry(country);
+        session.setDriversSyncedAt(driversSynced ? Instant.now() : null);
+        return session;
+    }
+
+    private static List<Integer> keys(List<CatalogSession> sessions) {
+        return sessions.stream().map(CatalogSession::getSessionKey).toList();
+    }
+}
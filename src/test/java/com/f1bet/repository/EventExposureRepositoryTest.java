@@ -0,0 +1,37 @@
+package com.f1bet.repository;
+
+import com.f1bet.model.EventExposure;
+import com.f1bet.model.Money;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+
+import java.time.Instant;
+import java.util.Comparator;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+class EventExposureRepositoryTest {
+
+    @Autowired
+    private EventExposureRepository exposureRepository;
+
+    @Test
+    void upsertAll_insertsNewPairsAndOverwritesExistingOnes() {
+        exposureRepository.upsertAll(List.of(
+                new EventExposure("9158", 44, Money.ofCents(1_000), 1, Money.ofCents(3_000), Instant.now()),
+                new EventExposure("9158", 1, Money.ofCents(500), 1, Money.ofCents(1_000), Instant.now())));
+        exposureRepository.upsertAll(List.of(
+                new EventExposure("9158", 44, Money.ofCents(1_500), 2, Money.ofCents(4_500), Instant.now())));
+
+        List<EventExposure> stored = exposureRepository.findAll().stream()
+                .sorted(Comparator.comparing(EventExposure::getDriverId))
+                .toList();
+        assertEquals(2, stored.size());
+        assertEquals(1, stored.get(0).getBetCount());
+        assertEquals(2, stored.get(1).getBetCount());
+        assertEquals(Money.ofCents(4_500), stored.get(1).getPotentialPayout());
+    }
+}
@@ -0,0 +1,81 @@
+package com.f1bet.repository;
+
+import com.f1bet.model.LedgerEntry;
+import com.f1bet.model.LedgerEntryType;
+import com.f1bet.model.Money;
+import com.f1bet.model.User;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+class LedgerEntryRepositoryTest {
+
+    @Autowired
+    private LedgerEntryRepository ledgerRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @BeforeEach
+    void setup() {
+        User user = new User();
+        user.setId(100L);
+        user.setBalance(Money.ofCents(10_000));
+        userRepository.saveAndFlush(user);
+    }
+
+    @Test
+    void appendAll_skipsUnknownUsersAndBalanceAddsUncompactedEntries() {
+        long[] appended = ledgerRepository.appendAll(List.of(
+                        new UserPayout(100L, Money.ofCents(2_550)),
+                        new UserPayout(999L, Money.ofCents(100))),
+                LedgerEntryType.CREDIT, "payout:9158", Instant.now());
+        long[] debited = ledgerRepository.appendAll(List.of(new UserPayout(100L, Money.ofCents(-1_000))),
+                LedgerEntryType.DEBIT, "stake:9158", Instant.now());
+
+        assertTrue(appended[0] > 0);
+        assertEquals(0, appended[1]);
+        assertTrue(debited[0] > appended[0]);
+        assertEquals(Optional.of(Money.ofCents(11_550)), ledgerRepository.balanceOf(100L));
+        assertEquals(Optional.empty(), ledgerRepository.balanceOf(999L));
+        assertEquals(Optional.of(new LedgerBalance(Money.ofCents(11_550), Set.of(appended[0]))),
+                ledgerRepository.balanceOf(100L, List.of(appended[0], debited[0] + 1_000)));
+    }
+
+    @Test
+    void compact_foldsEntriesIntoBalanceAndKeepsThemAsAuditTrail() {
+        ledgerRepository.appendAll(List.of(new UserPayout(100L, Money.ofCents(-1_000))),
+                LedgerEntryType.DEBIT, "stake:9158", Instant.now());
+        ledgerRepository.appendAll(List.of(new UserPayout(100L, Money.ofCents(3_000))),
+                LedgerEntryType.CREDIT, "payout:9158", Instant.now());
+        ledgerRepository.appendAll(List.of(new UserPayout(100L, Money.ofCents(-500))),
+                LedgerEntryType.DEBIT, "stake:9159", Instant.now());
+
+        assertEquals(2, ledgerRepository.compact(2));
+        entityManager.clear();
+
+        assertEquals(Money.ofCents(12_000), userRepository.findById(100L).orElseThrow().getBalance());
+        assertEquals(Optional.of(Money.ofCents(11_500)), ledgerRepository.balanceOf(100L));
+
+        List<LedgerEntry> entries = ledgerRepository.findByUserIdOrderByIdAsc(100L);
+        assertEquals(List.of(true, true, false), entries.stream().map(LedgerEntry::isCompacted).toList());
+        assertEquals(List.of("stake:9158", "payout:9158", "stake:9159"), entries.stream().map(LedgerEntry::getReference).toList());
+
+        assertEquals(1, ledgerRepository.compact(2));
+        assertEquals(0, ledgerRepository.compact(2));
+        assertEquals(Optional.of(Money.ofCents(11_500)), ledgerRepository.balanceOf(100L));
+    }
+}
@@ -0,0 +1,87 @@
+package com.f1bet.repository;
+
+import com.f1bet.model.Money;
+import com.f1bet.model.User;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class UserRepositoryConcurrencyTest {
+
+    private static final long USER_ID = 100L;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private TransactionTemplate transactionTemplate;
+
+    @BeforeEach
+    void setup() {
+        transactionTemplate = new TransactionTemplate(transactionManager);
+        User user = new User();
+        user.setId(USER_ID);
+        user.setBalance(Money.ofCents(10_000));
+        userRepository.save(user);
+    }
+
+    @AfterEach
+    void cleanup() {
+        userRepository.deleteById(USER_ID);
+    }
+
+    @Test
+    void debit_concurrentDebitsNeverOverdrawTheBalance() throws Exception {
+        int attempts = 50;
+        Money amount = Money.ofCents(1_000);
+        CountDownLatch start = new CountDownLatch(1);
+
+        List<Future<Boolean>> results = new ArrayList<>();
+        try (ExecutorService executor = Executors.newFixedThreadPool(16)) {
+            for (int i = 0; i < attempts; i++) {
+                results.add(executor.submit(() -> {
+                    start.await();
+                    return transactionTemplate.execute(status -> userRepository.debit(USER_ID, amount));
+                }));
+            }
+            start.countDown();
+
+            int succeeded = 0;
+            for (Future<Boolean> result : results) {
+                if (result.get(30, TimeUnit.SECONDS)) {
+                    succeeded++;
+                }
+            }
+            assertEquals(10, succeeded);
+        }
+
+        assertEquals(Money.ZERO, userRepository.findById(USER_ID).orElseThrow().getBalance());
+    }
+
+    @Test
+    void debit_unknownUserReturnsFalse() {
+        Boolean debited = transactionTemplate.execute(status -> userRepository.debit(999L, Money.ofCents(100)));
+
+        assertEquals(Boolean.FALSE, debited);
+    }
+}
@@ -0,0 +1,171 @@
+package com.f1bet.service;
+
+import com.f1bet.controller.request.PlaceBetRequest;
+import com.f1bet.controller.response.PlaceBetResponse;
+import com.f1bet.mapper.BetMapper;
+import com.f1bet.model.Bet;
+import com.f1bet.model.BetStatus;
+import com.f1bet.model.Money;
+import com.f1bet.repository.BetRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mockito;
+import org.springframework.http.HttpStatus;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+class AsyncBetIntakeTest {
+
+    private BetService betService;
+    private Wallet wallet;
+    private BetRepository betRepository;
+
+    @BeforeEach
+    void setup() {
+        betService = Mockito.mock(BetService.class);
+        wallet = Mockito.mock(Wallet.class);
+        betRepository = Mockito.mock(BetRepository.class);
+        when(betService.quote(any())).thenAnswer(invocation -> {
+            PlaceBetRequest request = invocation.getArgument(0);
+            Bet bet = new Bet(request.userId(), request.eventId(), request.driverId(), request.stake(), 3, BetStatus.PENDING.name());
+            bet.setMarketVersion(1);
+            bet.setReference(UUID.randomUUID().toString());
+            return bet;
+        });
+    }
+
+    @Test
+    void submit_queuesBetUntilWrittenWithItsWalletOutcome() throws InterruptedException {
+        AsyncBetIntake intake = newIntake(10);
+        when(wallet.debit(2L, Money.ofCents(1_000), "stake:9158")).thenReturn(true);
+        when(wallet.debit(1L, Money.ofCents(500), "stake:9158")).thenReturn(false);
+
+        PlaceBetResponse accepted = intake.submit(new PlaceBetRequest(2L, "9158", 44, BigDecimal.TEN));
+        intake.submit(new PlaceBetRequest(1L, "9158", 1, BigDecimal.valueOf(5)));
+
+        assertEquals(BetStatus.QUEUED.name(), accepted.status());
+        assertNull(accepted.betId());
+        assertEquals(accepted, intake.findQueued(accepted.reference()).orElseThrow());
+        assertEquals(2, intake.backlog());
+        verifyNoInteractions(wallet, betRepository);
+
+        List<Bet> batch = drainQueue(intake);
+        intake.write(batch);
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<Bet>> inserted = ArgumentCaptor.forClass(List.class);
+        verify(betRepository, times(1)).saveAll(inserted.capture());
+        assertEquals(List.of(1L, 2L), inserted.getValue().stream().map(Bet::getUserId).toList());
+        assertEquals(List.of(BetStatus.REJECTED.name(), BetStatus.PENDING.name()),
+                inserted.getValue().stream().map(Bet::getStatus).toList());
+    }
+
+    @Test
+    void submit_queueFull_throws503() {
+        AsyncBetIntake intake = newIntake(1);
+        intake.submit(new PlaceBetRequest(1L, "9158", 44, BigDecimal.TEN));
+
+        ResponseStatusException ex = assertThrows(ResponseStatusException.class,
+                () -> intake.submit(new PlaceBetRequest(2L, "9158", 44, BigDecimal.TEN)));
+        assertEquals(HttpStatus.SERVICE_UNAVAILABLE, HttpStatus.valueOf(ex.getStatusCode().value()));
+        assertEquals(1, intake.backlog());
+    }
+
+    @Test
+    void submit_withIdempotencyKey_isFoundByUserAndKeyWhileQueued() {
+        AsyncBetIntake intake = newIntake(1);
+        PlaceBetResponse accepted = intake.submit(new PlaceBetRequest(1L, "9158", 44, BigDecimal.TEN), "key-1");
+        assertThrows(ResponseStatusException.class, () -> intake.submit(new PlaceBetRequest(1L, "9158", 44, BigDecimal.TEN), "key-2"));
+
+        assertEquals(accepted.reference(), intake.findQueued(1L, "key-1").orElseThrow().getReference());
+        assertTrue(intake.findQueued(2L, "key-1").isEmpty());
+        assertTrue(intake.findQueued(1L, "key-2").isEmpty());
+    }
+
+    @Test
+    void write_failedBatch_retriesEachBetOnItsOwn() throws InterruptedException {
+        AsyncBetIntake intake = newIntake(10);
+        when(wallet.debit(any(), any(), any())).thenReturn(true);
+        List<List<Long>> attempts = new ArrayList<>();
+        doAnswer(invocation -> {
+            List<Bet> bets = invocation.getArgument(0);
+            attempts.add(bets.stream().map(Bet::getUserId).toList());
+            if (bets.size() > 1 || bets.getFirst().getUserId() == 2L) {
+                throw new IllegalStateException("constraint violated");
+            }
+            return bets;
+        }).when(betRepository).saveAll(anyList());
+
+        for (long userId = 1; userId <= 3; userId++) {
+            intake.submit(new PlaceBetRequest(userId, "9158", 44, BigDecimal.TEN), "key-" + userId);
+        }
+        intake.write(drainQueue(intake));
+
+        assertEquals(List.of(List.of(1L, 2L, 3L), List.of(1L), List.of(2L), List.of(3L)), attempts);
+        ArgumentCaptor<Bet> failed = ArgumentCaptor.forClass(Bet.class);
+        verify(betRepository).save(failed.capture());
+        assertEquals(2L, failed.getValue().getUserId());
+        assertEquals(BetStatus.FAILED.name(), failed.getValue().getStatus());
+        assertNotNull(failed.getValue().getReason());
+        assertNull(failed.getValue().getIdempotencyKey());
+        assertNotNull(failed.getValue().getReference());
+    }
+
+    @Test
+    void write_keyedBetStoredAsFailed_retryUnderTheKeyIsPlacedAgain() throws InterruptedException {
+        AsyncBetIntake intake = newIntake(10);
+        IdempotentBetPlacer placer = new IdempotentBetPlacer(betService, Optional.of(intake), new BetMapper(),
+                new IdempotencyProperties(Duration.ofHours(1), 100));
+        when(betService.findByIdempotencyKey(any(), any())).thenReturn(Optional.empty());
+        when(wallet.debit(any(), any(), any())).thenReturn(true);
+        doThrow(new IllegalStateException("constraint violated")).when(betRepository).saveAll(anyList());
+        PlaceBetRequest request = new PlaceBetRequest(1L, "9158", 44, BigDecimal.TEN);
+
+        PlaceBetResponse first = placer.place(request, "key-1", intake::submit);
+        assertSame(first, placer.place(request, "key-1", intake::submit));
+        assertEquals(1, intake.backlog());
+
+        intake.write(drainQueue(intake));
+        assertTrue(intake.findQueued(first.reference()).isEmpty());
+        assertTrue(intake.findQueued(1L, "key-1").isEmpty());
+
+        PlaceBetResponse retry = placer.place(request, "key-1", intake::submit);
+        assertEquals(BetStatus.QUEUED.name(), retry.status());
+        assertNotEquals(first.reference(), retry.reference());
+        assertEquals(1, intake.backlog());
+    }
+
+    @Test
+    void submit_afterShutdown_throws503WithoutQueueing() throws InterruptedException {
+        AsyncBetIntake intake = newIntake(10);
+        intake.shutdown();
+
+        ResponseStatusException ex = assertThrows(ResponseStatusException.class,
+                () -> intake.submit(new PlaceBetRequest(1L, "9158", 44, BigDecimal.TEN)));
+        assertEquals(HttpStatus.SERVICE_UNAVAILABLE, HttpStatus.valueOf(ex.getStatusCode().value()));
+        assertEquals(0, intake.backlog());
+    }
+
+    private AsyncBetIntake newIntake(int capacity) {
+        return new AsyncBetIntake(betService, wallet, betRepository, new BetMapper(), Mockito.mock(ExposureTracker.class),
+                Mockito.mock(PlatformTransactionManager.class),
+                new BetIntakeProperties(BetIntakeMode.ASYNC, capacity, 0, 500));
+    }
+
+    private static List<Bet> drainQueue(AsyncBetIntake intake) throws InterruptedException {
+        return intake.pollBatch(0);
+    }
+}
@@ -1,28 +1,42 @@
 package com.f1bet.service;
 
 import com.f1bet.controller.request.PlaceBetRequest;
+import com.f1bet.controller.response.PlaceBetBatchItemResponse;
 import com.f1bet.controller.response.PlaceBetResponse;
 import com.f1bet.integration.F1APIClient;
 import com.f1bet.integration.OpenF1SessionResult;
 import com.f1bet.mapper.BetMapper;
 import com.f1bet.model.Bet;
 import com.f1bet.model.BetStatus;
+import com.f1bet.model.Market;
+import com.f1bet.model.Money;
 import com.f1bet.model.User;
 import com.f1bet.repository.BetRepository;
 import com.f1bet.repository.UserRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManager;
+import jakarta.validation.Validation;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
 import org.mockito.Mockito;
+import org.springframework.data.domain.Limit;
 import org.springframework.http.HttpStatus;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.web.server.ResponseStatusException;
 
 import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.ArrayList;
 import java.util.List;
-import java.util.Optional;
+import java.util.Map;
+import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.Mockito.*;
 
 class BetServiceTest {
@@ -32,25 +46,37 @@ class BetServiceTest {
     private F1APIClient f1APIClient;
     private BetService betService;
     private BetMapper betMapper;
+    private EntityManager entityManager;
+    private MarketEngine marketEngine;
+    private ExposureTracker exposureTracker;
+    private SimpleMeterRegistry meterRegistry;
+    private PlatformTransactionManager transactionManager;
 
     @BeforeEach
     void setUp() {
         betRepository = Mockito.mock(BetRepository.class);
         userRepository = Mockito.mock(UserRepository.class);
         f1APIClient = Mockito.mock(F1APIClient.class);
-        betService = new BetService(betRepository, userRepository, f1APIClient, betMapper);
+        betMapper = new BetMapper();
+        entityManager = Mockito.mock(EntityManager.class);
+        marketEngine = Mockito.mock(MarketEngine.class);
+        exposureTracker = Mockito.mock(ExposureTracker.class);
+        meterRegistry = new SimpleMeterRegistry();
+        transactionManager = Mockito.mock(PlatformTransactionManager.class);
+        when(marketEngine.price(anyInt(), any())).thenAnswer(invocation ->
+                new Market(invocation.getArgument(0), 1, Map.of(1, 2, 44, 3)));
+        betService = new BetService(betRepository, userRepository, new DirectWallet(userRepository),
+                new DriverEligibilityIndex(f1APIClient, new DriverEligibilityProperties(Duration.ofMinutes(1), 100)),
+                marketEngine, betMapper, entityManager, Validation.buildDefaultValidatorFactory().getValidator(),
+                exposureTracker, transactionManager, meterRegistry);
     }
 
     @Test
-    void placeBet_success_persistsBetAndUpdatesBalance() {
+    void placeBet_success_persistsBetAndDebitsAtomically() {
         long userId = 1L;
-        User user = new User();
-        user.setId(userId);
-        user.setBalance(BigDecimal.valueOf(100.0));
+        when(userRepository.debit(userId, Money.ofCents(2500))).thenReturn(true);
 
-        when(userRepository.findById(userId)).thenReturn(Optional.of(user));
-
-        when(betRepository.save(any(Bet.class))).thenAnswer(invocation -> {
+        when(betRepository.saveAndFlush(any(Bet.class))).thenAnswer(invocation -> {
             Bet b = invocation.getArgument(0);
             b.setId(10L);
             return b;
@@ -65,23 +91,51 @@ class BetServiceTest {
         assertEquals(10L, response.betId());
         assertEquals(BetStatus.PENDING.name(), response.status());
 
-        verify(userRepository, times(1)).save(any(User.class));
+        verify(userRepository, times(1)).debit(userId, Money.ofCents(2500));
+        verify(userRepository, never()).findById(anyLong());
+        verify(userRepository, never()).save(any(User.class));
 
         ArgumentCaptor<Bet> betCaptor = ArgumentCaptor.forClass(Bet.class);
-        verify(betRepository, times(1)).save(betCaptor.capture());
+        verify(betRepository, times(1)).saveAndFlush(betCaptor.capture());
         Bet persisted = betCaptor.getValue();
         assertEquals(userId, persisted.getUserId());
         assertEquals("7782", persisted.getEventId());
         assertEquals(Integer.valueOf(44), persisted.getDriverId());
-        assertEquals(0, persisted.getAmount().compareTo(BigDecimal.valueOf(25.0)));
-        assertTrue(persisted.getOdds() >= 2 && persisted.getOdds() <= 4);
+        assertEquals(Money.ofCents(2_500), persisted.getAmount());
+        assertEquals(3, persisted.getOdds());
+        assertEquals(1, persisted.getMarketVersion());
+        assertEquals(1, response.marketVersion());
+        verify(marketEngine).price(7782, List.of(44));
         assertEquals(BetStatus.PENDING.name(), persisted.getStatus());
+        assertNotNull(persisted.getReference());
+        assertEquals(persisted.getReference(), response.reference());
+        verify(exposureTracker).onPlaced(List.of(persisted));
+        for (String phase : List.of("eligibility", "pricing", "debit", "insert")) {
+            assertEquals(1, meterRegistry.get("bets.placement.phase").tag("phase", phase).timer().count(), phase);
+        }
+        assertEquals(1, meterRegistry.get("bets.placement").tag("outcome", "placed").timer().count());
+    }
+
+    @Test
+    void placeBet_pricesBeforeTheTransactionOpens() {
+        when(userRepository.debit(1L, Money.ofCents(2500))).thenReturn(true);
+        when(betRepository.saveAndFlush(any(Bet.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        when(f1APIClient.getSessionResults(7782)).thenReturn(List.of(new OpenF1SessionResult(7782, 44, null)));
+
+        betService.placeBet(new PlaceBetRequest(1L, "7782", 44, BigDecimal.valueOf(25.0)));
+
+        InOrder inOrder = inOrder(marketEngine, transactionManager, userRepository);
+        inOrder.verify(marketEngine).price(7782, List.of(44));
+        inOrder.verify(transactionManager).getTransaction(any());
+        inOrder.verify(userRepository).debit(1L, Money.ofCents(2500));
     }
 
     @Test
     void placeBet_userNotFound_throws404() {
         long userId = 99L;
-        when(userRepository.findById(userId)).thenReturn(Optional.empty());
+        when(f1APIClient.getSessionResults(1)).thenReturn(List.of(new OpenF1SessionResult(1, 1, null)));
+        when(userRepository.debit(userId, Money.ofCents(1000))).thenReturn(false);
+        when(userRepository.existsById(userId)).thenReturn(false);
         PlaceBetRequest request = new PlaceBetRequest(userId, "1", 1, BigDecimal.valueOf(10.0));
 
         ResponseStatusException ex = assertThrows(ResponseStatusException.class, () -> betService.placeBet(request));
@@ -94,10 +148,8 @@ class BetServiceTest {
     @Test
     void placeBet_insufficientBalance_throws400() {
         long userId = 1L;
-        User user = new User();
-        user.setId(userId);
-        user.setBalance(BigDecimal.valueOf(5.0));
-        when(userRepository.findById(userId)).thenReturn(Optional.of(user));
+        when(userRepository.debit(userId, Money.ofCents(1000))).thenReturn(false);
+        when(userRepository.existsById(userId)).thenReturn(true);
 
         when(f1APIClient.getSessionResults(1)).thenReturn(List.of(new OpenF1SessionResult(1, 1, null)));
         PlaceBetRequest request = new PlaceBetRequest(userId, "1", 1, BigDecimal.valueOf(10.0));
@@ -106,7 +158,9 @@ class BetServiceTest {
         assertEquals(HttpStatus.BAD_REQUEST, HttpStatus.valueOf(ex.getStatusCode().value()));
         assertNotNull(ex.getReason());
         assertTrue(ex.getReason().toLowerCase().contains("insufficient balance"));
-        verify(betRepository, never()).save(any());
+        verify(betRepository, never()).saveAndFlush(any());
+        assertEquals(1, meterRegistry.get("bets.placement").tag("outcome", "rejected").timer().count());
+        assertEquals(0, meterRegistry.get("bets.placement.phase").tag("phase", "insert").timer().count());
         verify(userRepository, never()).save(any());
     }
 
@@ -114,11 +168,6 @@ class BetServiceTest {
     @Test
     void placeBet_eventNotFound_throws404() {
         long userId = 1L;
-        User user = new User();
-        user.setId(userId);
-        user.setBalance(BigDecimal.valueOf(100));
-        when(userRepository.findById(userId)).thenReturn(Optional.of(user));
-
         when(f1APIClient.getSessionResults(1234)).thenReturn(List.of());
 
         PlaceBetRequest request = new PlaceBetRequest(userId, "1234", 44, BigDecimal.TEN);
@@ -126,17 +175,13 @@ class BetServiceTest {
         assertEquals(HttpStatus.NOT_FOUND, HttpStatus.valueOf(ex.getStatusCode().value()));
         assertNotNull(ex.getReason());
         assertTrue(ex.getReason().toLowerCase().contains("event not found"));
-        verify(betRepository, never()).save(any());
+        verify(betRepository, never()).saveAndFlush(any());
+        verify(userRepository, never()).debit(anyLong(), any());
     }
 
     @Test
     void placeBet_driverNotInEvent_throws400() {
         long userId = 1L;
-        User user = new User();
-        user.setId(userId);
-        user.setBalance(BigDecimal.valueOf(100));
-        when(userRepository.findById(userId)).thenReturn(Optional.of(user));
-
         when(f1APIClient.getSessionResults(5000)).thenReturn(List.of(new OpenF1SessionResult(5000, 99, 999)));
 
         PlaceBetRequest request = new PlaceBetRequest(userId, "5000", 44, BigDecimal.TEN);
@@ -144,18 +189,87 @@ class BetServiceTest {
         assertEquals(HttpStatus.BAD_REQUEST, HttpStatus.valueOf(ex.getStatusCode().value()));
         assertNotNull(ex.getReason());
         assertTrue(ex.getReason().toLowerCase().contains("driver not part"));
-        verify(betRepository, never()).save(any());
+        verify(betRepository, never()).saveAndFlush(any());
+        verify(userRepository, never()).debit(anyLong(), any());
+    }
+
+    @Test
+    void placeBets_sharesEventLookupsAggregatesDebitsAndReportsEachItem() {
+        when(f1APIClient.getSessionResults(7782)).thenReturn(List.of(
+                new OpenF1SessionResult(7782, 1, null), new OpenF1SessionResult(7782, 44, null)));
+        when(f1APIClient.getSessionResults(1234)).thenReturn(List.of());
+        when(userRepository.debit(1L, Money.ofCents(3_500))).thenReturn(true);
+        when(userRepository.debit(2L, Money.ofCents(50_000))).thenReturn(false);
+        when(userRepository.existsById(2L)).thenReturn(true);
+        when(betRepository.saveAll(any())).thenAnswer(invocation -> invocation.getArgument(0));
+
+        List<PlaceBetBatchItemResponse> results = betService.placeBets(List.of(
+                new PlaceBetRequest(1L, "7782", 44, BigDecimal.valueOf(25)),
+                new PlaceBetRequest(1L, "7782", 1, BigDecimal.TEN),
+                new PlaceBetRequest(1L, "7782", 16, BigDecimal.TEN),
+                new PlaceBetRequest(1L, "1234", 44, BigDecimal.TEN),
+                new PlaceBetRequest(1L, "7782", 44, BigDecimal.valueOf(-1)),
+                new PlaceBetRequest(2L, "7782", 44, BigDecimal.valueOf(500))));
+
+        assertEquals(List.of(0, 1, 2, 3, 4, 5), results.stream().map(PlaceBetBatchItemResponse::index).toList());
+        assertEquals(List.of(200, 200, 400, 404, 400, 400), results.stream().map(PlaceBetBatchItemResponse::status).toList());
+        assertEquals(3, results.get(0).bet().odds());
+        assertEquals(BetStatus.PENDING.name(), results.get(1).bet().status());
+        assertTrue(results.get(2).error().toLowerCase().contains("driver not part"));
+        assertTrue(results.get(3).error().toLowerCase().contains("event not found"));
+        assertTrue(results.get(4).error().startsWith("amount:"));
+        assertTrue(results.get(5).error().toLowerCase().contains("insufficient balance"));
+
+        verify(f1APIClient, times(1)).getSessionResults(7782);
+        verify(marketEngine, times(1)).price(7782, List.of(44, 1));
+        verify(userRepository, times(1)).debit(1L, Money.ofCents(3_500));
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<Bet>> saved = ArgumentCaptor.forClass(List.class);
+        verify(betRepository).saveAll(saved.capture());
+        assertEquals(List.of(44, 1), saved.getValue().stream().map(Bet::getDriverId).toList());
+    }
+
+    @Test
+    void placeBets_debitsEachUserOncePerEventUnderItsStakeReference() {
+        Wallet wallet = Mockito.mock(Wallet.class);
+        BetService service = new BetService(betRepository, userRepository, wallet,
+                new DriverEligibilityIndex(f1APIClient, new DriverEligibilityProperties(Duration.ofMinutes(1), 100)),
+                marketEngine, betMapper, entityManager, Validation.buildDefaultValidatorFactory().getValidator(),
+                exposureTracker, transactionManager, meterRegistry);
+        when(f1APIClient.getSessionResults(anyInt())).thenReturn(List.of(new OpenF1SessionResult(7782, 44, null)));
+        when(wallet.debit(1L, Money.ofCents(3_500), "stake:7782")).thenReturn(true);
+        when(wallet.debit(1L, Money.ofCents(500), "stake:9158")).thenReturn(false);
+        when(userRepository.existsById(1L)).thenReturn(true);
+        when(betRepository.saveAll(any())).thenAnswer(invocation -> invocation.getArgument(0));
+
+        List<PlaceBetBatchItemResponse> results = service.placeBets(List.of(
+                new PlaceBetRequest(1L, "7782", 44, BigDecimal.valueOf(25)),
+                new PlaceBetRequest(1L, "9158", 44, BigDecimal.valueOf(5)),
+                new PlaceBetRequest(1L, "7782", 44, BigDecimal.TEN)));
+
+        assertEquals(List.of(200, 400, 200), results.stream().map(PlaceBetBatchItemResponse::status).toList());
+        verify(wallet).debit(1L, Money.ofCents(3_500), "stake:7782");
+        verify(wallet).debit(1L, Money.ofCents(500), "stake:9158");
+        verifyNoMoreInteractions(wallet);
+    }
+
+    @Test
+    void placeBets_emptyBatch_throws400() {
+        ResponseStatusException ex = assertThrows(ResponseStatusException.class, () -> betService.placeBets(List.of()));
+        assertEquals(HttpStatus.BAD_REQUEST, HttpStatus.valueOf(ex.getStatusCode().value()));
+        verifyNoInteractions(betRepository, userRepository);
     }
 
     @Test
     void getBetsByEventId_mapsAllFields() {
-        Bet bet = new Bet(1L, "e1", 44, BigDecimal.valueOf(12.5), 3, "PENDING");
+        Bet bet = new Bet(1L, "e1", 44, Money.ofCents(1_250), 3, "PENDING");
         bet.setId(77L);
-        bet.setTotalAwarded(BigDecimal.ZERO);
+        bet.setTotalAwarded(Money.ZERO);
 
-        when(betRepository.findByEventId("e1")).thenReturn(List.of(bet));
+        when(betRepository.findByEventIdAndIdGreaterThanOrderByIdAsc("e1", 0L, Limit.of(100))).thenReturn(List.of(bet));
 
-        var responses = betService.getBetsByEventId("e1");
+        var responses = betService.getBetsByEventId("e1", 0L, 100);
         assertEquals(1, responses.size());
         PlaceBetResponse r = responses.getFirst();
         assertEquals(1L, r.userId());
@@ -165,4 +279,29 @@ class BetServiceTest {
         assertEquals(3, r.odds());
         assertEquals(0, r.totalAwarded().compareTo(BigDecimal.ZERO));
     }
+
+    @Test
+    void getBetsByEventId_capsLimitAndPassesKeysetCursor() {
+        when(betRepository.findByEventIdAndIdGreaterThanOrderByIdAsc("e1", 77L, Limit.of(1000))).thenReturn(List.of());
+
+        assertTrue(betService.getBetsByEventId("e1", 77L, 50_000).isEmpty());
+
+        verify(betRepository).findByEventIdAndIdGreaterThanOrderByIdAsc("e1", 77L, Limit.of(1000));
+    }
+
+    @Test
+    void streamBetsByEventId_mapsAndDetachesEachRow() {
+        Bet first = new Bet(1L, "e1", 44, Money.ofCents(100), 2, "PENDING");
+        first.setId(1L);
+        Bet second = new Bet(2L, "e1", 16, Money.ofCents(1_000), 3, "PENDING");
+        second.setId(2L);
+        when(betRepository.streamByEventIdOrderByIdAsc("e1")).thenReturn(Stream.of(first, second));
+
+        List<PlaceBetResponse> streamed = new ArrayList<>();
+        betService.streamBetsByEventId("e1", streamed::add);
+
+        assertEquals(List.of(1L, 2L), streamed.stream().map(PlaceBetResponse::betId).toList());
+        verify(entityManager).detach(first);
+        verify(entityManager).detach(second);
+    }
 }
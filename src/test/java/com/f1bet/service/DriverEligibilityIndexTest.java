@@ -0,0 +1,93 @@
+package com.f1bet.service;
+
+import com.f1bet.integration.F1APIClient;
+import com.f1bet.integration.OpenF1SessionResult;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class DriverEligibilityIndexTest {
+
+    private final AtomicLong now = new AtomicLong();
+    private F1APIClient f1APIClient;
+    private DriverEligibilityIndex index;
+
+    @BeforeEach
+    void setup() {
+        f1APIClient = Mockito.mock(F1APIClient.class);
+        index = new DriverEligibilityIndex(f1APIClient, new DriverEligibilityProperties(Duration.ofMinutes(1), 2), now::get);
+    }
+
+    @Test
+    void forSession_loadsOnceThenAnswersFromMemory() {
+        when(f1APIClient.getSessionResults(9158)).thenReturn(List.of(
+                new OpenF1SessionResult(9158, 1, null),
+                new OpenF1SessionResult(9158, 44, 100_044)));
+
+        for (int i = 0; i < 3; i++) {
+            DriverEligibilityIndex.Eligibility eligibility = index.forSession(9158);
+            assertTrue(eligibility.contains(1));
+            assertTrue(eligibility.contains(44));
+            assertTrue(eligibility.contains(100_044));
+            assertFalse(eligibility.contains(16));
+            assertFalse(eligibility.contains(100_045));
+            assertFalse(eligibility.contains(null));
+        }
+
+        verify(f1APIClient, times(1)).getSessionResults(9158);
+    }
+
+    @Test
+    void forSession_unknownSession_returnsNullAndIsNotRemembered() {
+        when(f1APIClient.getSessionResults(1234)).thenReturn(List.of());
+
+        assertNull(index.forSession(1234));
+        assertNull(index.forSession(1234));
+
+        verify(f1APIClient, times(2)).getSessionResults(1234);
+        assertEquals(0, index.size());
+    }
+
+    @Test
+    void refresh_reloadsIndexedSessionsAndKeepsOldOnFailure() {
+        when(f1APIClient.getSessionResults(1)).thenReturn(List.of(new OpenF1SessionResult(1, 44, null)));
+        when(f1APIClient.getSessionResults(2)).thenReturn(List.of(new OpenF1SessionResult(2, 16, null)));
+        index.forSession(1);
+        index.forSession(2);
+
+        when(f1APIClient.getSessionResults(1)).thenReturn(List.of(
+                new OpenF1SessionResult(1, 44, null), new OpenF1SessionResult(1, 63, null)));
+        when(f1APIClient.getSessionResults(2)).thenThrow(new IllegalStateException("OpenF1 down"));
+        index.refresh();
+
+        assertTrue(index.forSession(1).contains(63));
+        assertTrue(index.forSession(2).contains(16));
+    }
+
+    @Test
+    void forSession_beyondMaxSessions_dropsLeastRecentlyUsed() {
+        for (int session = 1; session <= 3; session++) {
+            when(f1APIClient.getSessionResults(session)).thenReturn(List.of(new OpenF1SessionResult(session, 1, null)));
+        }
+        index.forSession(1);
+        now.incrementAndGet();
+        index.forSession(2);
+        now.incrementAndGet();
+        index.forSession(1);
+        now.incrementAndGet();
+        index.forSession(3);
+
+        assertEquals(2, index.size());
+        index.forSession(1);
+        index.forSession(2);
+        verify(f1APIClient, times(1)).getSessionResults(1);
+        verify(f1APIClient, times(2)).getSessionResults(2);
+    }
+}
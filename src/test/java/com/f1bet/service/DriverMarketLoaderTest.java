@@ -0,0 +1,89 @@
+package com.f1bet.service;
+
+import com.f1bet.integration.F1APIClient;
+import com.f1bet.model.Driver;
+import com.f1bet.model.Event;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.mock.env.MockEnvironment;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.when;
+
+class DriverMarketLoaderTest {
+
+    @Test
+    void loadMarkets_virtualThreadsEnabled_fetchesOnVirtualThreads() {
+        Thread fetcher = fetchingThread(new MockEnvironment().withProperty("spring.threads.virtual.enabled", "true"));
+
+        assertTrue(fetcher.isVirtual());
+    }
+
+    @Test
+    void loadMarkets_virtualThreadsDisabled_fetchesOnPlatformPool() {
+        Thread fetcher = fetchingThread(new MockEnvironment().withProperty("spring.threads.virtual.enabled", "false"));
+
+        assertFalse(fetcher.isVirtual());
+        assertTrue(fetcher.getName().startsWith("driver-market-"));
+    }
+
+    @Test
+    void loadMarkets_pastDeadline_leavesTheLookupRunningUninterrupted() throws Exception {
+        F1APIClient client = Mockito.mock(F1APIClient.class);
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch finished = new CountDownLatch(1);
+        AtomicBoolean interrupted = new AtomicBoolean();
+        when(client.getDriversForSession(9158)).thenAnswer(invocation -> {
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                interrupted.set(true);
+            }
+            finished.countDown();
+            return List.of();
+        });
+        DriverMarketLoader loader = new DriverMarketLoader(client, new DriverMarketProperties(3, Duration.ofMillis(50)));
+        Event event = new Event();
+        event.setSessionKey(9158);
+        try {
+            loader.loadMarkets(List.of(event));
+            assertTrue(event.isMarketLoading());
+
+            release.countDown();
+            assertTrue(finished.await(5, TimeUnit.SECONDS));
+        } finally {
+            loader.shutdown();
+        }
+
+        assertFalse(interrupted.get());
+    }
+
+    private static Thread fetchingThread(MockEnvironment environment) {
+        F1APIClient client = Mockito.mock(F1APIClient.class);
+        AtomicReference<Thread> fetcher = new AtomicReference<>();
+        Driver driver = new Driver();
+        driver.setDriverNumber(1);
+        when(client.getDriversForSession(9158)).thenAnswer(invocation -> {
+            fetcher.set(Thread.currentThread());
+            return List.of(driver);
+        });
+        DriverMarketLoader loader = new DriverMarketLoader(client, new DriverMarketProperties(3, Duration.ofSeconds(2)), environment);
+        Event event = new Event();
+        event.setSessionKey(9158);
+        try {
+            loader.loadMarkets(List.of(event));
+        } finally {
+            loader.shutdown();
+        }
+
+        assertEquals(List.of(driver), event.getDriverMarket());
+        return fetcher.get();
+    }
+}
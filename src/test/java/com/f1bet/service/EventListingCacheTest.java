@@ -0,0 +1,82 @@
+package com.f1bet.service;
+
+import com.f1bet.controller.response.DriverResponse;
+import com.f1bet.controller.response.EventResponse;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class EventListingCacheTest {
+
+    private EventService eventService;
+    private SessionCatalogService sessionCatalog;
+    private MarketEngine marketEngine;
+    private EventListingCache cache;
+
+    @BeforeEach
+    void setup() {
+        eventService = Mockito.mock(EventService.class);
+        sessionCatalog = Mockito.mock(SessionCatalogService.class);
+        marketEngine = Mockito.mock(MarketEngine.class);
+        cache = new EventListingCache(eventService, sessionCatalog, marketEngine, new ObjectMapper(),
+                new EventListingCacheProperties(Duration.ofMinutes(1), 16));
+    }
+
+    @Test
+    void getEvents_servesRepeatedPagesFromTheSerializedCopy() {
+        when(eventService.getEvents("Race", 2023, null, 0, 10)).thenReturn(List.of(event(9158, false)));
+
+        EventListingCache.Page first = cache.getEvents("Race", 2023, null, 0, 10);
+        EventListingCache.Page second = cache.getEvents("Race", 2023, null, 0, 10);
+
+        assertSame(first, second);
+        assertTrue(new String(first.json(), StandardCharsets.UTF_8).contains("\"sessionKey\":9158"));
+        assertTrue(first.etag().matches("\"[0-9a-f]{32}\""));
+        verify(eventService, times(1)).getEvents("Race", 2023, null, 0, 10);
+    }
+
+    @Test
+    void getEvents_rebuildsOnceTheCatalogOrAMarketChanges() {
+        when(eventService.getEvents(null, null, null, 0, 10))
+                .thenReturn(List.of(event(9158, false)))
+                .thenReturn(List.of(event(9158, false)))
+                .thenReturn(List.of(event(9159, false)));
+
+        EventListingCache.Page first = cache.getEvents(null, null, null, 0, 10);
+        when(sessionCatalog.version()).thenReturn(1L);
+        EventListingCache.Page afterCatalogChange = cache.getEvents(null, null, null, 0, 10);
+        when(marketEngine.publications()).thenReturn(1L);
+        EventListingCache.Page afterMarketChange = cache.getEvents(null, null, null, 0, 10);
+
+        assertNotSame(first, afterCatalogChange);
+        assertEquals(first.etag(), afterCatalogChange.etag());
+        assertNotEquals(afterCatalogChange.etag(), afterMarketChange.etag());
+        verify(eventService, times(3)).getEvents(null, null, null, 0, 10);
+    }
+
+    @Test
+    void getEvents_doesNotKeepPagesWithALoadingMarket() {
+        when(eventService.getEvents(null, null, null, 0, 10)).thenReturn(List.of(event(9158, true)));
+
+        cache.getEvents(null, null, null, 0, 10);
+        cache.getEvents(null, null, null, 0, 10);
+
+        verify(eventService, times(2)).getEvents(null, null, null, 0, 10);
+        assertEquals(0, cache.stats().size());
+    }
+
+    private static EventResponse event(int sessionKey, boolean marketLoading) {
+        List<DriverResponse> market = marketLoading ? List.of() : List.of(new DriverResponse("Max VERSTAPPEN", 1, 2));
+        return new EventResponse(sessionKey, "Race", "Race", 2023, "Italy", market, marketLoading, marketLoading ? null : 1);
+    }
+}
@@ -3,20 +3,24 @@ package com.f1bet.service;
 import com.f1bet.controller.request.ProcessEventOutcomeRequest;
 import com.f1bet.model.Bet;
 import com.f1bet.model.BetStatus;
-import com.f1bet.model.User;
+import com.f1bet.model.Money;
 import com.f1bet.repository.BetRepository;
+import com.f1bet.repository.DriverSettlement;
+import com.f1bet.repository.UserPayout;
 import com.f1bet.repository.UserRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManager;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
 import org.mockito.Mockito;
+import org.springframework.data.domain.Limit;
 import org.springframework.http.HttpStatus;
 import org.springframework.web.server.ResponseStatusException;
 
-import java.math.BigDecimal;
 import java.util.Collections;
 import java.util.List;
-import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.*;
@@ -26,76 +30,52 @@ class EventOutcomeServiceTest {
 
     private BetRepository betRepository;
     private UserRepository userRepository;
+    private EntityManager entityManager;
+    private ExposureTracker exposureTracker;
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
     private EventOutcomeService service;
 
     @BeforeEach
     void setup() {
         betRepository = Mockito.mock(BetRepository.class);
         userRepository = Mockito.mock(UserRepository.class);
-        service = new EventOutcomeService(betRepository, userRepository);
+        entityManager = Mockito.mock(EntityManager.class);
+        exposureTracker = Mockito.mock(ExposureTracker.class);
+        service = new EventOutcomeService(betRepository, new DirectWallet(userRepository), entityManager,
+                new SettlementProperties(SettlementMode.BULK, 1000), exposureTracker, meterRegistry);
     }
 
     @Test
-    void processEventOutcome_updatesStatusesAndCreditsWinners() {
-        Bet betWin = new Bet();
-        betWin.setId(1L);
-        betWin.setUserId(10L);
-        betWin.setEventId("event-1");
-        betWin.setDriverId(44);
-        betWin.setAmount(BigDecimal.valueOf(20.0));
-        betWin.setOdds(3);
-        betWin.setStatus(BetStatus.PENDING.name());
-
-        Bet betLose = new Bet();
-        betLose.setId(2L);
-        betLose.setUserId(11L);
-        betLose.setEventId("event-1");
-        betLose.setDriverId(63);
-        betLose.setAmount(BigDecimal.valueOf(15.0));
-        betLose.setOdds(2);
-        betLose.setStatus(BetStatus.PENDING.name());
-
-        when(betRepository.findByEventIdAndStatus("event-1", BetStatus.PENDING.name()))
-                .thenReturn(List.of(betWin, betLose));
-
-        User winnerUser = new User();
-        winnerUser.setId(10L);
-        winnerUser.setBalance(BigDecimal.valueOf(50.0));
-        when(userRepository.findById(10L)).thenReturn(Optional.of(winnerUser));
-
-        when(betRepository.save(any(Bet.class))).thenAnswer(invocation -> invocation.getArgument(0));
-        when(userRepository.save(any(User.class))).thenAnswer(invocation -> invocation.getArgument(0));
+    void processEventOutcome_settlesInBulkThenCreditsPayoutsOfTheRowsItSettled() {
+        List<UserPayout> payouts = List.of(new UserPayout(10L, Money.ofCents(6_000)), new UserPayout(12L, Money.ofCents(800)));
+        when(betRepository.settleWinners(eq("event-1"), eq(BetStatus.PENDING.name()), eq(44), anyString(), eq(BetStatus.WON.name())))
+                .thenReturn(3);
+        when(betRepository.sumPayoutsByUser(eq("event-1"), anyString(), eq(BetStatus.WON.name()))).thenReturn(payouts);
+        when(userRepository.creditAll(payouts)).thenReturn(new int[]{1, 1});
+        List<DriverSettlement> drivers = List.of(new DriverSettlement(44, Money.ofCents(2_000), 3, Money.ofCents(6_800)));
+        when(betRepository.sumSettledByDriver(eq("event-1"), anyString())).thenReturn(drivers);
+
+        service.processEventOutcome(new ProcessEventOutcomeRequest("event-1", 44));
+
+        ArgumentCaptor<String> run = ArgumentCaptor.forClass(String.class);
+        InOrder inOrder = inOrder(betRepository, userRepository);
+        inOrder.verify(betRepository).settleWinners(eq("event-1"), eq(BetStatus.PENDING.name()), eq(44), run.capture(), eq(BetStatus.WON.name()));
+        inOrder.verify(betRepository).settleLosers("event-1", BetStatus.PENDING.name(), 44, run.getValue(), BetStatus.LOST.name());
+        inOrder.verify(betRepository).sumPayoutsByUser("event-1", run.getValue(), BetStatus.WON.name());
+        inOrder.verify(userRepository).creditAll(payouts);
+        inOrder.verify(betRepository).sumSettledByDriver("event-1", run.getValue());
+        verify(exposureTracker).onSettled("event-1", drivers);
 
-        ProcessEventOutcomeRequest request = new ProcessEventOutcomeRequest("event-1", 44);
-
-        service.processEventOutcome(request);
-
-        ArgumentCaptor<Bet> betCaptor = ArgumentCaptor.forClass(Bet.class);
-        verify(betRepository, times(2)).save(betCaptor.capture());
-        List<Bet> savedBets = betCaptor.getAllValues();
-        assertTrue(savedBets.stream().anyMatch(b -> b.getId().equals(1L) && BetStatus.WON.name().equals(b.getStatus())));
-        assertTrue(savedBets.stream().anyMatch(b -> b.getId().equals(2L) && BetStatus.LOST.name().equals(b.getStatus())));
-
-        ArgumentCaptor<User> userCaptor = ArgumentCaptor.forClass(User.class);
-        verify(userRepository, times(1)).save(userCaptor.capture());
-        assertEquals(110.0, userCaptor.getValue().getBalance().doubleValue(), 0.0001);
+        verify(userRepository, never()).findById(anyLong());
+        verify(betRepository, never()).save(any());
     }
 
     @Test
     void processEventOutcome_userMissingForWinner_throws404() {
-        Bet betWin = new Bet();
-        betWin.setId(1L);
-        betWin.setUserId(10L);
-        betWin.setEventId("event-1");
-        betWin.setDriverId(44);
-        betWin.setAmount(BigDecimal.valueOf(20.0));
-        betWin.setOdds(3);
-        betWin.setStatus(BetStatus.PENDING.name());
-
-        when(betRepository.findByEventIdAndStatus("event-1", BetStatus.PENDING.name()))
-                .thenReturn(List.of(betWin));
-
-        when(userRepository.findById(10L)).thenReturn(Optional.empty());
+        List<UserPayout> payouts = List.of(new UserPayout(10L, Money.ofCents(6_000)));
+        when(betRepository.settleWinners(any(), any(), any(), any(), any())).thenReturn(1);
+        when(betRepository.sumPayoutsByUser(eq("event-1"), anyString(), eq(BetStatus.WON.name()))).thenReturn(payouts);
+        when(userRepository.creditAll(payouts)).thenReturn(new int[]{0});
 
         ProcessEventOutcomeRequest request = new ProcessEventOutcomeRequest("event-1", 44);
 
@@ -106,40 +86,68 @@ class EventOutcomeServiceTest {
     }
 
     @Test
-    void processEventOutcome_noPendingBets_doesNothing() {
-        when(betRepository.findByEventIdAndStatus("event-x", BetStatus.PENDING.name()))
-                .thenReturn(Collections.emptyList());
-
+    void processEventOutcome_noWinningBets_onlySettlesLosers() {
         service.processEventOutcome(new ProcessEventOutcomeRequest("event-x", 99));
 
-        verify(betRepository, never()).save(any());
-        verify(userRepository, never()).save(any());
-        verify(userRepository, never()).findById(anyLong());
+        verify(betRepository).settleLosers(eq("event-x"), eq(BetStatus.PENDING.name()), eq(99), anyString(), eq(BetStatus.LOST.name()));
+        verify(betRepository, never()).sumPayoutsByUser(any(), any(), any());
+        verifyNoInteractions(userRepository);
     }
 
     @Test
-    void processEventOutcome_nullDriverId_marksLostAndSaves() {
-        Bet bet = new Bet();
-        bet.setId(7L);
-        bet.setUserId(1L);
-        bet.setEventId("event-y");
-        bet.setDriverId(null);
-        bet.setAmount(BigDecimal.valueOf(10.0));
-        bet.setOdds(2);
-        bet.setStatus(BetStatus.PENDING.name());
-
-        when(betRepository.findByEventIdAndStatus("event-y", BetStatus.PENDING.name()))
-                .thenReturn(List.of(bet));
-        when(betRepository.save(any(Bet.class))).thenAnswer(invocation -> invocation.getArgument(0));
-
-        service.processEventOutcome(new ProcessEventOutcomeRequest("event-y", 44));
-
-        ArgumentCaptor<Bet> captor = ArgumentCaptor.forClass(Bet.class);
-        verify(betRepository).save(captor.capture());
-        Bet saved = captor.getValue();
-        assertEquals(BetStatus.LOST.name(), saved.getStatus());
+    void processEventOutcome_nullWinningDriver_marksEverythingLost() {
+        service.processEventOutcome(new ProcessEventOutcomeRequest("event-y", null));
 
-        verify(userRepository, never()).findById(anyLong());
-        verify(userRepository, never()).save(any(User.class));
+        verify(betRepository, never()).sumPayoutsByUser(any(), any(), any());
+        verify(betRepository, never()).settleWinners(any(), any(), any(), any(), any());
+        verify(betRepository).settleLosers(eq("event-y"), eq(BetStatus.PENDING.name()), isNull(), anyString(), eq(BetStatus.LOST.name()));
+        verifyNoInteractions(userRepository);
+    }
+
+    @Test
+    void processEventOutcome_chunkedMode_settlesPageByPageAndClearsContext() {
+        EventOutcomeService chunked = new EventOutcomeService(betRepository, new DirectWallet(userRepository), entityManager,
+                new SettlementProperties(SettlementMode.CHUNKED, 2), exposureTracker, meterRegistry);
+
+        Bet win1 = pendingBet(1L, 10L, 44, 2_000, 3);
+        Bet lose = pendingBet(2L, 11L, 63, 1_500, 2);
+        Bet win2 = pendingBet(3L, 10L, 44, 500, 2);
+
+        when(betRepository.findByEventIdAndStatusAndIdGreaterThanOrderByIdAsc("event-1", BetStatus.PENDING.name(), 0L, Limit.of(2)))
+                .thenReturn(List.of(win1, lose));
+        when(betRepository.findByEventIdAndStatusAndIdGreaterThanOrderByIdAsc("event-1", BetStatus.PENDING.name(), 2L, Limit.of(2)))
+                .thenReturn(List.of(win2));
+        when(userRepository.creditAll(List.of(new UserPayout(10L, Money.ofCents(6_000))))).thenReturn(new int[]{1});
+        when(userRepository.creditAll(List.of(new UserPayout(10L, Money.ofCents(1_000))))).thenReturn(new int[]{1});
+
+        chunked.processEventOutcome(new ProcessEventOutcomeRequest("event-1", 44));
+
+        assertEquals(BetStatus.WON.name(), win1.getStatus());
+        assertEquals(Money.ofCents(6_000), win1.getTotalAwarded());
+        assertEquals(BetStatus.LOST.name(), lose.getStatus());
+        assertEquals(Money.ZERO, lose.getTotalAwarded());
+        assertEquals(BetStatus.WON.name(), win2.getStatus());
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<UserPayout>> payouts = ArgumentCaptor.forClass(List.class);
+        verify(userRepository, times(2)).creditAll(payouts.capture());
+        assertEquals(List.of(new UserPayout(10L, Money.ofCents(6_000))), payouts.getAllValues().get(0));
+        assertEquals(List.of(new UserPayout(10L, Money.ofCents(1_000))), payouts.getAllValues().get(1));
+
+        verify(exposureTracker).onSettled("event-1", List.of(
+                new DriverSettlement(44, Money.ofCents(2_500), 2, Money.ofCents(7_000)),
+                new DriverSettlement(63, Money.ofCents(1_500), 1, Money.ofCents(3_000))));
+        verify(entityManager, times(2)).flush();
+        verify(entityManager, times(2)).clear();
+        verify(betRepository, never()).settleLosers(any(), any(), any(), any(), any());
+        assertEquals(2, meterRegistry.get("settlement.bets").tags("mode", "chunked", "result", "won").counter().count());
+        assertEquals(1, meterRegistry.get("settlement.bets").tags("mode", "chunked", "result", "lost").counter().count());
+        assertEquals(1, meterRegistry.get("settlement.duration").tag("mode", "chunked").timer().count());
+    }
+
+    private static Bet pendingBet(Long id, Long userId, Integer driverId, long amountCents, int odds) {
+        Bet bet = new Bet(userId, "event-1", driverId, Money.ofCents(amountCents), odds, BetStatus.PENDING.name());
+        bet.setId(id);
+        return bet;
     }
 }
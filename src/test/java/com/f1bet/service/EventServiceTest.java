@@ -6,15 +6,19 @@ import com.f1bet.controller.response.EventResponse;
 import com.f1bet.mapper.EventMapper;
 import com.f1bet.model.Driver;
 import com.f1bet.model.Event;
+import com.f1bet.model.Market;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mockito;
 
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.when;
@@ -25,11 +29,17 @@ class EventServiceTest {
     private F1APIClient client;
     private EventService service;
     private EventMapper eventMapper;
+    private SessionCatalogService sessionCatalog;
+    private MarketEngine marketEngine;
 
     @BeforeEach
     void setup() {
         client = Mockito.mock(F1APIClient.class);
-        service = new EventService(client,eventMapper);
+        eventMapper = new EventMapper();
+        sessionCatalog = Mockito.mock(SessionCatalogService.class);
+        marketEngine = Mockito.mock(MarketEngine.class);
+        DriverMarketLoader loader = new DriverMarketLoader(client, new DriverMarketProperties(3, Duration.ofSeconds(2)));
+        service = new EventService(client, eventMapper, loader, sessionCatalog, marketEngine);
     }
 
     @Test
@@ -51,14 +61,13 @@ class EventServiceTest {
         Driver d1 = new Driver();
         d1.setFullName("Max Verstappen");
         d1.setDriverNumber(1);
-        d1.setOdds(3);
         Driver d2 = new Driver();
         d2.setFullName("Charles Leclerc");
         d2.setDriverNumber(16);
-        d2.setOdds(2);
         e.setDriverMarket(List.of(d1, d2));
 
         when(client.getSessions(eq("Q"), eq(2024), eq("Italy"))).thenReturn(List.of(e));
+        when(marketEngine.price(123, List.of(1, 16))).thenReturn(new Market(123, 4, Map.of(1, 3, 16, 2)));
 
         List<EventResponse> responses = service.getEvents("Q", 2024, "Italy", 0, 10);
 
@@ -69,6 +78,7 @@ class EventServiceTest {
         assertEquals("Q", eventResponse.sessionType());
         assertEquals(2024, eventResponse.year());
         assertEquals("Italy", eventResponse.country());
+        assertEquals(4, eventResponse.marketVersion());
         List<DriverResponse> market = eventResponse.driverMarket();
         assertEquals(2, market.size());
         assertEquals("Max Verstappen", market.getFirst().fullName());
@@ -113,7 +123,6 @@ class EventServiceTest {
             Driver d = new Driver();
             d.setFullName("Driver" + i);
             d.setDriverNumber(i);
-            d.setOdds(2);
             e.setDriverMarket(List.of(d));
             events.add(e);
         }
@@ -135,7 +144,6 @@ class EventServiceTest {
         Driver d = new Driver();
         d.setFullName("Fetched Driver");
         d.setDriverNumber(22);
-        d.setOdds(5);
 
         when(client.getSessions(eq(null), eq(null), eq(null))).thenReturn(List.of(e));
         when(client.getDriversForSession(999)).thenReturn(List.of(d));
@@ -145,4 +153,106 @@ class EventServiceTest {
         assertEquals(1, responses.getFirst().driverMarket().size());
         assertEquals("Fetched Driver", responses.getFirst().driverMarket().getFirst().fullName());
     }
+
+    @Test
+    void getEvents_flagsMarketsStillLoadingWhenDeadlineExpires() {
+        Event fast = new Event();
+        fast.setSessionKey(1);
+        Event slow = new Event();
+        slow.setSessionKey(2);
+
+        Driver d = new Driver();
+        d.setFullName("Fast Driver");
+        d.setDriverNumber(4);
+
+        when(client.getSessions(eq(null), eq(null), eq(null))).thenReturn(List.of(fast, slow));
+        when(client.getDriversForSession(1)).thenReturn(List.of(d));
+        when(client.getDriversForSession(2)).thenAnswer(invocation -> {
+            Thread.sleep(10_000);
+            return List.of(d);
+        });
+
+        DriverMarketLoader loader = new DriverMarketLoader(client, new DriverMarketProperties(3, Duration.ofMillis(200)));
+        EventService shortDeadline = new EventService(client, eventMapper, loader, sessionCatalog, marketEngine);
+
+        long start = System.nanoTime();
+        List<EventResponse> responses = shortDeadline.getEvents(null, null, null, 0, 10);
+        long elapsedMillis = Duration.ofNanos(System.nanoTime() - start).toMillis();
+
+        assertTrue(elapsedMillis < 5_000);
+        assertEquals(2, responses.size());
+        assertFalse(responses.get(0).marketLoading());
+        assertEquals(1, responses.get(0).driverMarket().size());
+        assertTrue(responses.get(1).marketLoading());
+        assertTrue(responses.get(1).driverMarket().isEmpty());
+    }
+
+    @Test
+    void getEvents_readyCatalog_servesSyncedSessionsWithoutCallingClient() {
+        Event e = new Event();
+        e.setSessionKey(9590);
+        e.setSessionName("Race");
+        e.setDriverMarket(List.of());
+
+        when(sessionCatalog.isReady()).thenReturn(true);
+        when(sessionCatalog.findEvents("R", 2024, null, 2, 30)).thenReturn(List.of(e));
+
+        List<EventResponse> responses = service.getEvents("R", 2024, null, 2, 50);
+
+        assertEquals(1, responses.size());
+        assertEquals(9590, responses.getFirst().sessionKey());
+        assertFalse(responses.getFirst().marketLoading());
+        Mockito.verifyNoInteractions(client);
+        Mockito.verify(sessionCatalog, never()).storeDriversIfUnsynced(anyInt(), anyList());
+    }
+
+    @Test
+    void getEvents_readyCatalog_fetchesAndStoresMarketsNotSyncedYet() {
+        Event synced = new Event();
+        synced.setSessionKey(9590);
+        synced.setDriverMarket(List.of());
+        Event unsynced = new Event();
+        unsynced.setSessionKey(9591);
+        unsynced.setDriverMarket(List.of());
+        unsynced.setMarketLoading(true);
+
+        Driver d = new Driver();
+        d.setFullName("Fetched Driver");
+        d.setDriverNumber(22);
+
+        when(sessionCatalog.isReady()).thenReturn(true);
+        when(sessionCatalog.findEvents(null, null, null, 0, 10)).thenReturn(List.of(synced, unsynced));
+        when(client.getDriversForSession(9591)).thenReturn(List.of(d));
+
+        List<EventResponse> responses = service.getEvents(null, null, null, 0, 10);
+
+        assertFalse(responses.get(1).marketLoading());
+        assertEquals("Fetched Driver", responses.get(1).driverMarket().getFirst().fullName());
+        Mockito.verify(client, never()).getDriversForSession(9590);
+        Mockito.verify(sessionCatalog).storeDriversIfUnsynced(9591, List.of(d));
+        Mockito.verify(marketEngine).price(9591, List.of(22));
+    }
+
+    @Test
+    void getEvents_readyCatalog_marketPastTheDeadline_isFlaggedAndNotStored() {
+        Event unsynced = new Event();
+        unsynced.setSessionKey(9591);
+        unsynced.setDriverMarket(List.of());
+        unsynced.setMarketLoading(true);
+
+        when(sessionCatalog.isReady()).thenReturn(true);
+        when(sessionCatalog.findEvents(null, null, null, 0, 10)).thenReturn(List.of(unsynced));
+        when(client.getDriversForSession(9591)).thenAnswer(invocation -> {
+            Thread.sleep(10_000);
+            return List.of();
+        });
+
+        DriverMarketLoader loader = new DriverMarketLoader(client, new DriverMarketProperties(3, Duration.ofMillis(200)));
+        EventService shortDeadline = new EventService(client, eventMapper, loader, sessionCatalog, marketEngine);
+
+        List<EventResponse> responses = shortDeadline.getEvents(null, null, null, 0, 10);
+
+        assertTrue(responses.getFirst().marketLoading());
+        Mockito.verify(sessionCatalog, never()).storeDriversIfUnsynced(anyInt(), anyList());
+    }
 }
@@ -0,0 +1,117 @@
+package com.f1bet.service;
+
+import com.f1bet.controller.response.DriverExposureResponse;
+import com.f1bet.controller.response.EventExposureResponse;
+import com.f1bet.model.Bet;
+import com.f1bet.model.BetStatus;
+import com.f1bet.model.EventExposure;
+import com.f1bet.model.Money;
+import com.f1bet.repository.DriverSettlement;
+import com.f1bet.repository.EventExposureRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mockito;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class ExposureTrackerTest {
+
+    private EventExposureRepository exposureRepository;
+    private ExposureTracker tracker;
+
+    @BeforeEach
+    void setup() {
+        exposureRepository = Mockito.mock(EventExposureRepository.class);
+        tracker = new ExposureTracker(exposureRepository);
+    }
+
+    @Test
+    void onPlaced_aggregatesOpenBetsPerDriver() {
+        tracker.onPlaced(List.of(
+                bet(1L, 44, 1_000, 3, BetStatus.PENDING),
+                bet(2L, 44, 250, 3, BetStatus.PENDING),
+                bet(3L, 1, 500, 2, BetStatus.PENDING),
+                bet(4L, 1, 9_999, 2, BetStatus.REJECTED)));
+
+        EventExposureResponse exposure = tracker.exposure("9158");
+
+        assertEquals(0, new BigDecimal("17.50").compareTo(exposure.stakeTotal()));
+        assertEquals(3, exposure.betCount());
+        assertEquals(List.of(1, 44), exposure.drivers().stream().map(DriverExposureResponse::driverId).toList());
+        DriverExposureResponse driver44 = exposure.drivers().get(1);
+        assertEquals(2, driver44.betCount());
+        assertEquals(0, new BigDecimal("12.50").compareTo(driver44.stakeTotal()));
+        assertEquals(0, new BigDecimal("37.50").compareTo(driver44.potentialPayout()));
+        verifyNoInteractions(exposureRepository);
+    }
+
+    @Test
+    void onSettled_takesOffTheSettledBetsAndFlushWritesOnlyChangedEvents() {
+        Bet settledBet = bet(1L, 44, 1_000, 3, BetStatus.PENDING);
+        tracker.onPlaced(List.of(settledBet));
+        Bet other = bet(2L, 16, 500, 2, BetStatus.PENDING);
+        other.setEventId("7782");
+        tracker.onPlaced(List.of(other));
+        assertEquals(2, tracker.flush());
+
+        tracker.onSettled("9158", List.of(DriverSettlement.of(settledBet)));
+
+        assertEquals(0, tracker.exposure("9158").betCount());
+        assertEquals(1, tracker.exposure("7782").betCount());
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<EventExposure>> written = ArgumentCaptor.forClass(List.class);
+        assertEquals(1, tracker.flush());
+        verify(exposureRepository, times(2)).upsertAll(written.capture());
+        EventExposure settled = written.getAllValues().get(1).getFirst();
+        assertEquals("9158", settled.getEventId());
+        assertEquals(Money.ZERO, settled.getPotentialPayout());
+        assertEquals(0, tracker.flush());
+    }
+
+    @Test
+    void onSettled_keepsBetsTheSettlementLeftOpen() {
+        Bet settledBet = bet(1L, 44, 1_000, 3, BetStatus.PENDING);
+        tracker.onPlaced(List.of(settledBet, bet(2L, 44, 400, 3, BetStatus.PENDING)));
+
+        tracker.onSettled("9158", List.of(DriverSettlement.of(settledBet)));
+        tracker.onPlaced(List.of(bet(3L, 44, 100, 2, BetStatus.PENDING)));
+
+        DriverExposureResponse driver = tracker.exposure("9158").drivers().getFirst();
+        assertEquals(2, driver.betCount());
+        assertEquals(0, new BigDecimal("5.00").compareTo(driver.stakeTotal()));
+        assertEquals(0, new BigDecimal("14.00").compareTo(driver.potentialPayout()));
+    }
+
+    @Test
+    void flush_failure_keepsEventsDirty() {
+        tracker.onPlaced(List.of(bet(1L, 44, 1_000, 3, BetStatus.PENDING)));
+        doThrow(new IllegalStateException("db down")).doNothing().when(exposureRepository).upsertAll(anyList());
+
+        assertThrows(IllegalStateException.class, () -> tracker.flush());
+        assertEquals(1, tracker.flush());
+    }
+
+    @Test
+    void load_restoresPersistedCounters() {
+        when(exposureRepository.findAll()).thenReturn(List.of(
+                new EventExposure("9158", 44, Money.ofCents(2_000), 2, Money.ofCents(6_000), Instant.now())));
+
+        tracker.load();
+        tracker.onPlaced(List.of(bet(3L, 44, 1_000, 2, BetStatus.PENDING)));
+
+        DriverExposureResponse driver = tracker.exposure("9158").drivers().getFirst();
+        assertEquals(3, driver.betCount());
+        assertEquals(0, new BigDecimal("80.00").compareTo(driver.potentialPayout()));
+    }
+
+    private static Bet bet(Long userId, Integer driverId, long amountCents, int odds, BetStatus status) {
+        return new Bet(userId, "9158", driverId, Money.ofCents(amountCents), odds, status.name());
+    }
+}
@@ -0,0 +1,151 @@
+package com.f1bet.service;
+
+import com.f1bet.controller.request.PlaceBetRequest;
+import com.f1bet.controller.response.PlaceBetResponse;
+import com.f1bet.mapper.BetMapper;
+import com.f1bet.model.Bet;
+import com.f1bet.model.BetStatus;
+import com.f1bet.model.Money;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiFunction;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class IdempotentBetPlacerTest {
+
+    private static final PlaceBetRequest REQUEST = new PlaceBetRequest(1L, "9158", 44, BigDecimal.TEN);
+
+    private BetService betService;
+    private AsyncBetIntake asyncIntake;
+    private IdempotentBetPlacer placer;
+    private final AtomicInteger placements = new AtomicInteger();
+
+    @BeforeEach
+    void setup() {
+        betService = Mockito.mock(BetService.class);
+        when(betService.findByIdempotencyKey(any(), any())).thenReturn(Optional.empty());
+        asyncIntake = Mockito.mock(AsyncBetIntake.class);
+        when(asyncIntake.findQueued(any(), any())).thenReturn(Optional.empty());
+        placer = new IdempotentBetPlacer(betService, Optional.of(asyncIntake), new BetMapper(),
+                new IdempotencyProperties(Duration.ofMinutes(5), 100));
+    }
+
+    @Test
+    void place_retryWithSameKey_replaysFirstAnswerWithoutPlacingAgain() {
+        PlaceBetResponse first = placer.place(REQUEST, "key-1", this::placeBet);
+        PlaceBetResponse retry = placer.place(REQUEST, "key-1", this::placeBet);
+
+        assertSame(first, retry);
+        assertEquals(1, placements.get());
+        verify(betService, times(1)).findByIdempotencyKey(1L, "key-1");
+
+        placer.place(REQUEST, "key-2", this::placeBet);
+        placer.place(new PlaceBetRequest(2L, "9158", 44, BigDecimal.TEN), "key-1", this::placeBet);
+        assertEquals(3, placements.get());
+    }
+
+    @Test
+    void place_sameKeyDifferentBet_throws422() {
+        placer.place(REQUEST, "key-1", this::placeBet);
+
+        PlaceBetRequest other = new PlaceBetRequest(1L, "9158", 44, new BigDecimal("10.01"));
+        ResponseStatusException ex = assertThrows(ResponseStatusException.class, () -> placer.place(other, "key-1", this::placeBet));
+        assertEquals(HttpStatus.UNPROCESSABLE_ENTITY, HttpStatus.valueOf(ex.getStatusCode().value()));
+        assertEquals(1, placements.get());
+    }
+
+    @Test
+    void place_keyOnlyInDatabase_answersFromStoredBet() {
+        Bet stored = storedBet();
+        when(betService.findByIdempotencyKey(1L, "key-1")).thenReturn(Optional.of(stored));
+
+        PlaceBetResponse response = placer.place(REQUEST, "key-1", this::placeBet);
+
+        assertEquals(stored.getId(), response.betId());
+        assertEquals(0, placements.get());
+    }
+
+    @Test
+    void place_keyStillQueued_answersWithTheQueuedBet() {
+        Bet queued = storedBet();
+        queued.setId(null);
+        queued.setStatus(BetStatus.QUEUED.name());
+        queued.setReference("ref-queued");
+        PlaceBetResponse accepted = new BetMapper().toResponse(queued);
+        when(asyncIntake.findQueued(1L, "key-1")).thenReturn(Optional.of(queued));
+        when(asyncIntake.findQueued("ref-queued")).thenReturn(Optional.of(accepted));
+
+        PlaceBetResponse response = placer.place(REQUEST, "key-1", this::placeBet);
+
+        assertSame(accepted, response);
+        assertEquals(0, placements.get());
+        verify(betService, never()).findByIdempotencyKey(any(), any());
+    }
+
+    @Test
+    void place_queuedBetLeftTheQueueBeforeItsAnswerWasCached_isNotReplayed() {
+        BiFunction<PlaceBetRequest, String, PlaceBetResponse> queue = (request, key) -> {
+            placements.incrementAndGet();
+            return new PlaceBetResponse(request.userId(), null, BetStatus.QUEUED.name(), request.amount(), 3, null, 1, "ref", null);
+        };
+
+        placer.place(REQUEST, "key-1", queue);
+        placer.place(REQUEST, "key-1", queue);
+
+        assertEquals(2, placements.get());
+    }
+
+    @Test
+    void place_lostTheRaceOnTheUniqueConstraint_answersWithTheWinner() {
+        Bet winner = storedBet();
+        when(betService.findByIdempotencyKey(1L, "key-1")).thenReturn(Optional.empty(), Optional.of(winner));
+        BiFunction<PlaceBetRequest, String, PlaceBetResponse> duplicate = (request, key) -> {
+            throw new DataIntegrityViolationException("uk_bets_user_idempotency_key");
+        };
+
+        PlaceBetResponse response = placer.place(REQUEST, "key-1", duplicate);
+
+        assertEquals(winner.getId(), response.betId());
+    }
+
+    @Test
+    void place_failedPlacement_isNotRemembered() {
+        BiFunction<PlaceBetRequest, String, PlaceBetResponse> refused = (request, key) -> {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Insufficient balance");
+        };
+
+        assertThrows(ResponseStatusException.class, () -> placer.place(REQUEST, "key-1", refused));
+        placer.place(REQUEST, "key-1", this::placeBet);
+
+        assertEquals(1, placements.get());
+    }
+
+    @Test
+    void place_blankKey_throws400() {
+        ResponseStatusException ex = assertThrows(ResponseStatusException.class, () -> placer.place(REQUEST, " ", this::placeBet));
+        assertEquals(HttpStatus.BAD_REQUEST, HttpStatus.valueOf(ex.getStatusCode().value()));
+    }
+
+    private PlaceBetResponse placeBet(PlaceBetRequest request, String idempotencyKey) {
+        int betId = placements.incrementAndGet();
+        return new PlaceBetResponse(request.userId(), (long) betId, BetStatus.PENDING.name(), request.amount(), 3, null, 1, "ref-" + betId, null);
+    }
+
+    private static Bet storedBet() {
+        Bet bet = new Bet(1L, "9158", 44, Money.ofCents(1_000), 3, BetStatus.PENDING.name());
+        bet.setId(42L);
+        bet.setIdempotencyKey("key-1");
+        return bet;
+    }
+}
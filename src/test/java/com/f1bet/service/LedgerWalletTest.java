@@ -0,0 +1,152 @@
+package com.f1bet.service;
+
+import com.f1bet.model.Money;
+import com.f1bet.model.User;
+import com.f1bet.repository.LedgerEntryRepository;
+import com.f1bet.repository.UserPayout;
+import com.f1bet.repository.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class LedgerWalletTest {
+
+    private static final long USER_ID = 100L;
+
+    @Autowired
+    private LedgerEntryRepository ledgerRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private TransactionTemplate transactionTemplate;
+    private LedgerWallet wallet;
+
+    @BeforeEach
+    void setup() {
+        transactionTemplate = new TransactionTemplate(transactionManager);
+        wallet = new LedgerWallet(ledgerRepository);
+        User user = new User();
+        user.setId(USER_ID);
+        user.setBalance(Money.ofCents(10_000));
+        userRepository.save(user);
+    }
+
+    @AfterEach
+    void cleanup() {
+        ledgerRepository.deleteAll();
+        userRepository.deleteById(USER_ID);
+    }
+
+    @Test
+    void debit_concurrentDebitsNeverOverdrawTheBalance() throws Exception {
+        int attempts = 50;
+        Money amount = Money.ofCents(1_000);
+        CountDownLatch start = new CountDownLatch(1);
+
+        List<Future<Boolean>> results = new ArrayList<>();
+        try (ExecutorService executor = Executors.newFixedThreadPool(16)) {
+            for (int i = 0; i < attempts; i++) {
+                results.add(executor.submit(() -> {
+                    start.await();
+                    return transactionTemplate.execute(status -> wallet.debit(USER_ID, amount, "stake:9158"));
+                }));
+            }
+            start.countDown();
+
+            int succeeded = 0;
+            for (Future<Boolean> result : results) {
+                if (result.get(30, TimeUnit.SECONDS)) {
+                    succeeded++;
+                }
+            }
+            assertEquals(10, succeeded);
+        }
+
+        assertEquals(Money.ZERO, wallet.balance(USER_ID));
+        assertEquals(Money.ZERO, ledgerRepository.balanceOf(USER_ID).orElseThrow());
+        assertEquals(Money.ofCents(10_000), userRepository.findById(USER_ID).orElseThrow().getBalance());
+    }
+
+    @Test
+    void debit_rolledBack_givesTheAmountBack() {
+        transactionTemplate.executeWithoutResult(status -> {
+            assertTrue(wallet.debit(USER_ID, Money.ofCents(4_000), "stake:9158"));
+            status.setRollbackOnly();
+        });
+
+        assertEquals(Money.ofCents(10_000), wallet.balance(USER_ID));
+        assertEquals(0, ledgerRepository.count());
+    }
+
+    @Test
+    void creditAll_countsOnlyOnceCommittedAndSurvivesCompaction() {
+        wallet.debit(USER_ID, Money.ofCents(1_000), "stake:9158");
+        transactionTemplate.executeWithoutResult(status -> {
+            int[] credited = wallet.creditAll(List.of(new UserPayout(USER_ID, Money.ofCents(5_000)), new UserPayout(999L, Money.ofCents(1))),
+                    "payout:9158");
+            assertArrayEquals(new int[]{1, 0}, credited);
+            assertEquals(Money.ofCents(9_000), wallet.balance(USER_ID));
+        });
+        assertEquals(Money.ofCents(14_000), wallet.balance(USER_ID));
+
+        WalletLedgerCompactor compactor = new WalletLedgerCompactor(ledgerRepository,
+                new WalletProperties(WalletMode.LEDGER, Duration.ofSeconds(30), 1), transactionManager);
+        assertEquals(2, compactor.compact());
+
+        assertEquals(Money.ofCents(14_000), userRepository.findById(USER_ID).orElseThrow().getBalance());
+        assertEquals(Money.ofCents(14_000), new LedgerWallet(ledgerRepository).balance(USER_ID));
+        assertFalse(wallet.debit(999L, Money.ofCents(1), "stake:9158"));
+    }
+
+    @Test
+    void creditAll_totalLoadedAfterCommitButBeforeTheCreditIsApplied_countsItOnce() throws Exception {
+        try (ExecutorService executor = Executors.newSingleThreadExecutor()) {
+            transactionTemplate.executeWithoutResult(status -> {
+                // Registered before the wallet's own callback, so it runs once the credit is committed
+                // but before the wallet adds it: the first debit loads a total that already has it.
+                TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                    @Override
+                    public void afterCommit() {
+                        Future<Boolean> debit = executor.submit(() ->
+                                transactionTemplate.execute(debitStatus -> wallet.debit(USER_ID, Money.ofCents(1_000), "stake:9158")));
+                        try {
+                            assertTrue(debit.get(30, TimeUnit.SECONDS));
+                        } catch (Exception e) {
+                            throw new IllegalStateException(e);
+                        }
+                    }
+                });
+                wallet.creditAll(List.of(new UserPayout(USER_ID, Money.ofCents(5_000))), "payout:9158");
+            });
+        }
+
+        assertEquals(Money.ofCents(14_000), wallet.balance(USER_ID));
+        assertEquals(Money.ofCents(14_000), ledgerRepository.balanceOf(USER_ID).orElseThrow());
+        assertFalse(wallet.debit(USER_ID, Money.ofCents(14_001), "stake:9158"));
+    }
+}
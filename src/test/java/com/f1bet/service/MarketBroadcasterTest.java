@@ -0,0 +1,130 @@
+package com.f1bet.service;
+
+import com.f1bet.model.MarketSnapshot;
+import com.f1bet.repository.MarketPriceRepository;
+import com.f1bet.repository.MarketSnapshotRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+
+class MarketBroadcasterTest {
+
+    private MarketEngine engine;
+    private MarketBroadcaster broadcaster;
+    private final AtomicInteger nextOdds = new AtomicInteger(2);
+
+    @BeforeEach
+    void setup() {
+        MarketSnapshotRepository snapshotRepository = Mockito.mock(MarketSnapshotRepository.class);
+        when(snapshotRepository.findFirstBySessionKeyOrderByVersionDesc(any())).thenReturn(Optional.empty());
+        when(snapshotRepository.save(any(MarketSnapshot.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        engine = new MarketEngine(snapshotRepository, Mockito.mock(MarketPriceRepository.class),
+                Mockito.mock(PlatformTransactionManager.class), nextOdds::getAndIncrement);
+        broadcaster = new MarketBroadcaster(engine, new ObjectMapper(), new MarketStreamProperties(Duration.ofSeconds(15), 2),
+                new SimpleMeterRegistry());
+    }
+
+    @AfterEach
+    void tearDown() {
+        broadcaster.shutdown();
+    }
+
+    @Test
+    void subscribe_sendsSnapshotThenOnlyTheDriversEachNewVersionAdds() throws InterruptedException {
+        engine.price(9158, List.of(1));
+        RecordingEmitter emitter = new RecordingEmitter();
+
+        broadcaster.subscribe(9158, emitter);
+        awaitTrue(() -> emitter.events.size() == 1);
+        engine.price(9158, List.of(1, 44));
+        engine.price(7782, List.of(16));
+        awaitTrue(() -> emitter.events.size() == 2);
+
+        assertEquals(List.of(
+                "event:snapshot\nid:1\ndata:{\"sessionKey\":9158,\"marketVersion\":1,\"drivers\":[{\"driverNumber\":1,\"odds\":2}]}\n\n",
+                "event:delta\nid:2\ndata:{\"sessionKey\":9158,\"marketVersion\":2,\"drivers\":[{\"driverNumber\":44,\"odds\":3}]}\n\n"
+        ), emitter.events);
+        assertEquals(1, broadcaster.subscriberCount());
+    }
+
+    @Test
+    void subscribe_unpricedSession_sendsEmptySnapshotAtVersionZero() throws InterruptedException {
+        RecordingEmitter emitter = new RecordingEmitter();
+
+        broadcaster.subscribe(1, emitter);
+        awaitTrue(() -> emitter.events.size() == 1);
+
+        assertEquals("event:snapshot\nid:0\ndata:{\"sessionKey\":1,\"marketVersion\":0,\"drivers\":[]}\n\n", emitter.events.get(0));
+    }
+
+    @Test
+    void slowSubscriber_isDisconnectedOnceTooFarBehind() throws InterruptedException {
+        RecordingEmitter stuck = new RecordingEmitter();
+        stuck.release = new CountDownLatch(1);
+
+        broadcaster.subscribe(9158, stuck);
+        awaitTrue(() -> stuck.sending);
+        for (int driver = 1; driver <= 4; driver++) {
+            engine.price(9158, List.of(driver));
+        }
+        awaitTrue(() -> broadcaster.subscriberCount() == 0);
+        stuck.release.countDown();
+
+        assertTrue(stuck.completed);
+    }
+
+    private static void awaitTrue(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!condition.getAsBoolean()) {
+            assertTrue(System.nanoTime() < deadline, "Condition not met within 5s");
+            Thread.sleep(10);
+        }
+    }
+
+    private static final class RecordingEmitter extends SseEmitter {
+
+        private final List<String> events = new CopyOnWriteArrayList<>();
+        private volatile CountDownLatch release = new CountDownLatch(0);
+        private volatile boolean sending;
+        private volatile boolean completed;
+
+        @Override
+        public void send(SseEventBuilder builder) throws IOException {
+            sending = true;
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IOException(e);
+            }
+            events.add(builder.build().stream()
+                    .map(data -> data.getData().toString())
+                    .collect(Collectors.joining()));
+        }
+
+        @Override
+        public synchronized void complete() {
+            completed = true;
+        }
+    }
+}
@@ -0,0 +1,113 @@
+package com.f1bet.service;
+
+import com.f1bet.model.Market;
+import com.f1bet.model.MarketPrice;
+import com.f1bet.model.MarketSnapshot;
+import com.f1bet.repository.MarketPriceRepository;
+import com.f1bet.repository.MarketSnapshotRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mockito;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class MarketEngineTest {
+
+    private MarketSnapshotRepository snapshotRepository;
+    private MarketPriceRepository priceRepository;
+    private MarketEngine engine;
+    private final AtomicInteger nextOdds = new AtomicInteger(2);
+
+    @BeforeEach
+    void setup() {
+        snapshotRepository = Mockito.mock(MarketSnapshotRepository.class);
+        priceRepository = Mockito.mock(MarketPriceRepository.class);
+        when(snapshotRepository.findFirstBySessionKeyOrderByVersionDesc(any())).thenReturn(Optional.empty());
+        when(snapshotRepository.save(any(MarketSnapshot.class))).thenAnswer(invocation -> {
+            MarketSnapshot snapshot = invocation.getArgument(0);
+            snapshot.setId(100L + snapshot.getVersion());
+            return snapshot;
+        });
+        engine = new MarketEngine(snapshotRepository, priceRepository, Mockito.mock(PlatformTransactionManager.class),
+                nextOdds::getAndIncrement);
+    }
+
+    @Test
+    void price_publishesFirstVersionThenServesItFromMemory() {
+        Market first = engine.price(9158, List.of(1, 44));
+
+        assertEquals(1, first.version());
+        assertEquals(Map.of(1, 2, 44, 3), first.odds());
+
+        Market again = engine.price(9158, List.of(44));
+        assertSame(first, again);
+        assertSame(first, engine.current(9158));
+        verify(snapshotRepository, times(1)).save(any());
+        verify(snapshotRepository, times(1)).findFirstBySessionKeyOrderByVersionDesc(9158);
+    }
+
+    @Test
+    void price_newDriver_publishesNextVersionKeepingExistingOdds() {
+        engine.price(9158, List.of(1, 44));
+
+        Market second = engine.price(9158, List.of(1, 44, 16));
+
+        assertEquals(2, second.version());
+        assertEquals(Map.of(1, 2, 44, 3, 16, 4), second.odds());
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<MarketPrice>> prices = ArgumentCaptor.forClass(List.class);
+        verify(priceRepository, times(2)).saveAll(prices.capture());
+        assertEquals(3, prices.getAllValues().get(1).size());
+        assertTrue(prices.getAllValues().get(1).stream().allMatch(price -> price.getSnapshotId() == 102L));
+        assertEquals(2, engine.publications());
+    }
+
+    @Test
+    void current_loadsLatestPersistedSnapshot() {
+        MarketSnapshot stored = new MarketSnapshot(7782, 3, Instant.now());
+        stored.setId(55L);
+        when(snapshotRepository.findFirstBySessionKeyOrderByVersionDesc(7782)).thenReturn(Optional.of(stored));
+        when(priceRepository.findBySnapshotId(55L)).thenReturn(List.of(new MarketPrice(55L, 44, 4)));
+
+        Market market = engine.current(7782);
+
+        assertEquals(3, market.version());
+        assertEquals(4, market.oddsFor(44));
+        assertNull(market.oddsFor(1));
+        assertSame(market, engine.price(7782, List.of(44)));
+        verify(snapshotRepository, never()).save(any());
+        assertEquals(0, engine.publications());
+    }
+
+    @Test
+    void price_insideTransaction_servesPricedDriversButRefusesToPublish() {
+        Market first = engine.price(9158, List.of(1));
+
+        TransactionSynchronizationManager.setActualTransactionActive(true);
+        try {
+            assertSame(first, engine.price(9158, List.of(1)));
+            assertThrows(IllegalStateException.class, () -> engine.price(9158, List.of(1, 44)));
+        } finally {
+            TransactionSynchronizationManager.setActualTransactionActive(false);
+        }
+        verify(snapshotRepository, times(1)).save(any());
+        assertEquals(1, engine.publications());
+    }
+
+    @Test
+    void current_unpricedSession_returnsNull() {
+        assertNull(engine.current(1));
+    }
+}
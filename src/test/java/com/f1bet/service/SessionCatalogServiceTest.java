@@ -0,0 +1,119 @@
+package com.f1bet.service;
+
+import com.f1bet.model.CatalogDriver;
+import com.f1bet.model.CatalogSession;
+import com.f1bet.model.Driver;
+import com.f1bet.model.Event;
+import com.f1bet.repository.CatalogDriverRepository;
+import com.f1bet.repository.CatalogSessionRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class SessionCatalogServiceTest {
+
+    private CatalogSessionRepository sessionRepository;
+    private CatalogDriverRepository driverRepository;
+    private SessionCatalogService service;
+
+    @BeforeEach
+    void setup() {
+        sessionRepository = Mockito.mock(CatalogSessionRepository.class);
+        driverRepository = Mockito.mock(CatalogDriverRepository.class);
+        service = new SessionCatalogService(sessionRepository, driverRepository,
+                new SessionCatalogProperties(true, Duration.ofMinutes(10), 4));
+    }
+
+    @Test
+    void sessionsNeedingDrivers_manyUnsynced_keepsHalfTheBudgetForRunningSessions() {
+        when(sessionRepository.findByDriversSyncedAtIsNullOrderBySessionKeyDesc(any()))
+                .thenReturn(IntStream.of(108, 107, 106, 105).mapToObj(key -> session(key, null)).toList());
+        List<Event> current = List.of(event(201, OffsetDateTime.now().plusHours(1)),
+                event(202, null),
+                event(203, OffsetDateTime.now().plusHours(2)),
+                event(200, OffsetDateTime.now().minusDays(1)));
+
+        assertEquals(List.of(201, 202, 108, 107), service.sessionsNeedingDrivers(current, 4));
+    }
+
+    @Test
+    void sessionsNeedingDrivers_eitherSideUsesWhatTheOtherLeavesOver() {
+        when(sessionRepository.findByDriversSyncedAtIsNullOrderBySessionKeyDesc(any()))
+                .thenReturn(List.of(session(108, null)));
+        List<Event> current = IntStream.of(201, 202, 203, 204).mapToObj(key -> event(key, null)).toList();
+
+        assertEquals(List.of(201, 202, 108, 203), service.sessionsNeedingDrivers(current, 4));
+
+        when(sessionRepository.findByDriversSyncedAtIsNullOrderBySessionKeyDesc(any()))
+                .thenReturn(IntStream.of(108, 107, 106, 105).mapToObj(key -> session(key, null)).toList());
+
+        assertEquals(List.of(108, 107, 106, 105), service.sessionsNeedingDrivers(List.of(), 4));
+    }
+
+    @Test
+    void sessionsNeedingDrivers_runningSessionNeverSynced_isListedOnce() {
+        when(sessionRepository.findByDriversSyncedAtIsNullOrderBySessionKeyDesc(any()))
+                .thenReturn(List.of(session(201, null), session(108, null)));
+
+        assertEquals(List.of(201, 108), service.sessionsNeedingDrivers(List.of(event(201, null)), 4));
+    }
+
+    @Test
+    void storeDriversIfUnsynced_sessionSyncedMeanwhile_leavesItsDrivers() {
+        when(sessionRepository.findForUpdate(9590)).thenReturn(Optional.of(session(9590, Instant.now())));
+
+        service.storeDriversIfUnsynced(9590, List.of(driver(1)));
+
+        verify(driverRepository, never()).deleteBySessionKey(anyInt());
+        verify(driverRepository, never()).saveAll(any());
+        assertEquals(0, service.version());
+    }
+
+    @Test
+    void storeDriversIfUnsynced_unsyncedSession_storesDriversAndMarksItSynced() {
+        CatalogSession session = session(9591, null);
+        when(sessionRepository.findForUpdate(9591)).thenReturn(Optional.of(session));
+
+        service.storeDriversIfUnsynced(9591, List.of(driver(1), driver(16)));
+
+        verify(driverRepository).deleteBySessionKey(9591);
+        verify(driverRepository).saveAll(Mockito.<List<CatalogDriver>>argThat(drivers -> drivers.size() == 2));
+        assertNotNull(session.getDriversSyncedAt());
+        assertEquals(1, service.version());
+    }
+
+    private static CatalogSession session(int key, Instant driversSyncedAt) {
+        CatalogSession session = new CatalogSession();
+        session.setSessionKey(key);
+        session.setDriversSyncedAt(driversSyncedAt);
+        return session;
+    }
+
+    private static Event event(int key, OffsetDateTime dateEnd) {
+        Event event = new Event();
+        event.setSessionKey(key);
+        event.setDateEnd(dateEnd);
+        return event;
+    }
+
+    private static Driver driver(int number) {
+        Driver driver = new Driver();
+        driver.setDriverNumber(number);
+        driver.setFullName("Driver " + number);
+        return driver;
+    }
+}